@@ -0,0 +1,81 @@
+package com.touchgrass.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.touchgrass.application.user.dto.UserResponse;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.interfaces.rest.ApiResponse;
+
+/**
+ * Building and serialising the user response envelope, with an object mapper
+ * configured the way Spring MVC configures its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private User user;
+    private UserSnapshot snapshot;
+    private ApiResponse<UserResponse> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        user = User.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("password")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .dateOfBirth(LocalDate.of(1815, 12, 10))
+                .avatarUrl("https://example.com/avatar.png")
+                .build();
+        user.setId(42L);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        user.setLastActive(LocalDateTime.of(2024, 6, 2, 12, 0));
+        snapshot = UserSnapshot.from(user);
+        response = ApiResponse.success(UserResponse.from(user));
+    }
+
+    @Benchmark
+    public UserResponse fromUser() {
+        return UserResponse.from(user);
+    }
+
+    @Benchmark
+    public UserResponse fromSnapshot() {
+        return UserResponse.from(snapshot);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] fromSnapshotAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(UserResponse.from(snapshot)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.touchgrass.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prints the score change per benchmark between two JMH JSON result files,
+ * e.g. from two commits:
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.touchgrass.benchmarks.BenchmarkDiff -Dexec.args="base.json head.json"
+ * </pre>
+ *
+ * Scores are compared in each benchmark's own unit; for average-time modes a
+ * positive change is a slowdown. Secondary metrics (e.g. {@code gc.alloc.rate.norm}
+ * from {@code -prof gc}) are included when present in both files.
+ */
+public final class BenchmarkDiff {
+    private BenchmarkDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkDiff <base.json> <head.json>");
+            System.exit(2);
+        }
+        Map<String, Score> base = read(new File(args[0]));
+        Map<String, Score> head = read(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "base", "head", "change");
+        for (String key : new TreeSet<>(head.keySet())) {
+            Score before = base.get(key);
+            Score after = head.get(key);
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", key, "-", after.value(), "new", after.unit());
+                continue;
+            }
+            double change = before.value() == 0 ? 0 : (after.value() - before.value()) / before.value() * 100;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%n",
+                    key, before.value(), after.value(), change, after.unit());
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String name = run.path("benchmark").asText() + params(run.path("params"));
+            JsonNode primary = run.path("primaryMetric");
+            scores.put(name, new Score(primary.path("score").asDouble(), primary.path("scoreUnit").asText()));
+            run.path("secondaryMetrics").fields().forEachRemaining(metric -> scores.put(name + ":" + metric.getKey(),
+                    new Score(metric.getValue().path("score").asDouble(), metric.getValue().path("scoreUnit").asText())));
+        }
+        return scores;
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder("(");
+        params.fields().forEachRemaining(param -> {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(param.getKey()).append('=').append(param.getValue().asText());
+        });
+        return result.append(')').toString();
+    }
+
+    private record Score(double value, String unit) {
+    }
+}
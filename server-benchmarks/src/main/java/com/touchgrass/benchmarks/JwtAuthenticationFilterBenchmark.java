@@ -0,0 +1,125 @@
+package com.touchgrass.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.CredentialVersionCache;
+import com.touchgrass.infrastructure.auth.JwtAuthenticationFilter;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.auth.security.RoutePolicy;
+import com.touchgrass.infrastructure.cache.InvalidationBus;
+import com.touchgrass.infrastructure.user.LastActiveTracker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * One authenticated request through the filter, with the database behind the
+ * user details service and credential-version cache mocked out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    private static final String SECRET = "gVhtCopvDJwjJ73DUh1uYH38kxHr0dO17+BoEDPSAN5F2pe2gxMY0XdbpxAlAxPljhsg7vVLKGYhOD6YhXyATA==";
+
+    @Param({ "true", "false" })
+    public boolean statelessPrincipal;
+
+    private DirectFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private MockFilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        tokenProvider.setJwtSecret(SECRET);
+        tokenProvider.setJwtExpirationInMs(TimeUnit.DAYS.toMillis(1));
+        tokenProvider.setVerifiedCacheSize(10_000);
+        tokenProvider.init();
+
+        User user = User.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("password")
+                .isAdmin(false)
+                .build();
+        user.setId(42L);
+
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("benchmark")).thenReturn(user);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findCredentialVersionById(42L)).thenReturn(Optional.of(0));
+        CredentialVersionCache credentialVersionCache = new CredentialVersionCache(userRepository,
+                mock(InvalidationBus.class));
+        ReflectionTestUtils.setField(credentialVersionCache, "ttlInMs", TimeUnit.HOURS.toMillis(1));
+
+        LastActiveTracker lastActiveTracker = new LastActiveTracker(mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(lastActiveTracker, "maxPending", Integer.MAX_VALUE);
+
+        filter = new DirectFilter(tokenProvider, userDetailsService, lastActiveTracker, credentialVersionCache);
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", statelessPrincipal);
+
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(user));
+        response = new MockHttpServletResponse();
+        chain = new MockFilterChain();
+    }
+
+    @Benchmark
+    public int doFilterInternal() throws ServletException, IOException {
+        try {
+            chain.reset();
+            filter.invoke(request, response, chain);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static final class DirectFilter extends JwtAuthenticationFilter {
+        DirectFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
+                LastActiveTracker lastActiveTracker, CredentialVersionCache credentialVersionCache) {
+            super(tokenProvider, userDetailsService, lastActiveTracker, credentialVersionCache,
+                    new SimpleMeterRegistry(), new RoutePolicy());
+        }
+
+        void invoke(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            doFilterInternal(request, response, chain);
+        }
+    }
+}
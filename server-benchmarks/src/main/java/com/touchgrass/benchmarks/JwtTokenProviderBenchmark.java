@@ -0,0 +1,108 @@
+package com.touchgrass.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.auth.ParsedToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token issue and verification. {@code legacyPath} is the old per-request
+ * handling (a fresh parser and three signature checks) kept as a baseline for
+ * {@link JwtTokenProvider#validate(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "gVhtCopvDJwjJ73DUh1uYH38kxHr0dO17+BoEDPSAN5F2pe2gxMY0XdbpxAlAxPljhsg7vVLKGYhOD6YhXyATA==";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private Key signingKey;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(10_000);
+        uncachedProvider = provider(0);
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        user = User.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("password")
+                .isAdmin(false)
+                .build();
+        user.setId(42L);
+        token = cachedProvider.generateToken(new UsernamePasswordAuthenticationToken(user, null,
+                user.getAuthorities()));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateTokenAgainstUser() {
+        return uncachedProvider.validateToken(token, user);
+    }
+
+    @Benchmark
+    public boolean legacyPath() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public ParsedToken validateUncached() {
+        return uncachedProvider.validate(token);
+    }
+
+    @Benchmark
+    public ParsedToken validateCached() {
+        return cachedProvider.validate(token);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    private static JwtTokenProvider provider(int verifiedCacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        provider.setJwtSecret(SECRET);
+        provider.setJwtExpirationInMs(TimeUnit.DAYS.toMillis(1));
+        provider.setVerifiedCacheSize(verifiedCacheSize);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,61 @@
+package com.touchgrass.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.touchgrass.infrastructure.auth.security.RoutePolicy;
+
+/**
+ * The per-request cost of deciding whether a route is public.
+ * {@code legacyPrefixList} is the old filter check (a stream over a list of
+ * prefixes) kept as a baseline for {@link RoutePolicy}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutePolicyBenchmark {
+    private static final List<String> LEGACY_PUBLIC_PATHS = List.of(
+            "/api/auth/register",
+            "/api/auth/login",
+            "/actuator/health",
+            "/actuator/prometheus");
+
+    @Param({ "/api/users/me", "/api/auth/login", "/swagger-ui/index.html", "/actuator/health" })
+    public String path;
+
+    private RoutePolicy routePolicy;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        routePolicy = new RoutePolicy();
+        request = new MockHttpServletRequest("GET", path);
+    }
+
+    @Benchmark
+    public boolean legacyPrefixList() {
+        String requestURI = request.getRequestURI();
+        return LEGACY_PUBLIC_PATHS.stream().anyMatch(requestURI::startsWith);
+    }
+
+    @Benchmark
+    public boolean routePolicy() {
+        return routePolicy.matches(request);
+    }
+}
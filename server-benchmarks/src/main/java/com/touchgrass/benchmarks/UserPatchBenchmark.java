@@ -0,0 +1,81 @@
+package com.touchgrass.benchmarks;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.touchgrass.application.user.service.UserService;
+import com.touchgrass.core.util.StringUtils;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.outbox.Outbox;
+import com.touchgrass.infrastructure.user.UserCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PATCH body application and the snake/camel case helpers it used to rely on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPatchBenchmark {
+    private static final String PATCH_SNAKE =
+            "{\"first_name\":\"Grace\",\"last_name\":\"Hopper\",\"date_of_birth\":\"1906-12-09\"}";
+    private static final String PATCH_CAMEL =
+            "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\",\"dateOfBirth\":\"1906-12-09\","
+                    + "\"avatarUrl\":\"https://example.com/a.png\"}";
+
+    private UserService userService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService(new ObjectMapper(), mock(UserRepository.class), mock(UserCache.class),
+                mock(Outbox.class), new SimpleMeterRegistry());
+        user = User.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("password")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .dateOfBirth(LocalDate.of(1815, 12, 10))
+                .build();
+    }
+
+    @Benchmark
+    public boolean updateUserFromJsonSnakeCase() {
+        return userService.updateUserFromJson(user, PATCH_SNAKE);
+    }
+
+    @Benchmark
+    public boolean updateUserFromJsonCamelCase() {
+        return userService.updateUserFromJson(user, PATCH_CAMEL);
+    }
+
+    @Benchmark
+    public String snakeToCamel() {
+        return StringUtils.snakeToCamel("date_of_birth");
+    }
+
+    @Benchmark
+    public String camelToSnake() {
+        return StringUtils.camelToSnake("dateOfBirth");
+    }
+}
@@ -3,56 +3,93 @@ package com.touchgrass.application.auth.command;
 import com.touchgrass.application.auth.dto.AuthRequest;
 import com.touchgrass.application.auth.dto.AuthResponse;
 import com.touchgrass.application.auth.exception.AuthenticationException;
-import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
 import com.touchgrass.domain.user.repository.UserRepository;
 import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.auth.NegativeLookupCache;
+import com.touchgrass.infrastructure.auth.RefreshTokenStore;
+import com.touchgrass.infrastructure.metrics.StageTimers;
+import com.touchgrass.infrastructure.user.LastActiveTracker;
+import com.touchgrass.infrastructure.user.UserCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class LoginCommand {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
     private final UserRepository userRepository;
+    private final LastActiveTracker lastActiveTracker;
+    private final NegativeLookupCache negativeLookupCache;
+    private final UserCache userCache;
+    private final StageTimers stageTimers;
 
     public LoginCommand(AuthenticationManager authenticationManager,
             JwtTokenProvider tokenProvider,
-            UserRepository userRepository) {
+            RefreshTokenStore refreshTokenStore,
+            UserRepository userRepository,
+            LastActiveTracker lastActiveTracker,
+            NegativeLookupCache negativeLookupCache,
+            UserCache userCache,
+            MeterRegistry meterRegistry) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.refreshTokenStore = refreshTokenStore;
         this.userRepository = userRepository;
+        this.lastActiveTracker = lastActiveTracker;
+        this.negativeLookupCache = negativeLookupCache;
+        this.userCache = userCache;
+        this.stageTimers = new StageTimers(meterRegistry, "auth.login.stage");
     }
 
     public AuthResponse execute(AuthRequest request) {
         try {
-            User userByUsername = userRepository.findByUsername(request.getUsername()).orElse(null);
-            User userByEmail = userRepository.findByEmail(request.getUsername()).orElse(null);
+            UserSnapshot userToAuthenticate = stageTimers.time("lookup", () -> findUser(request.getUsername()));
 
-            if (userByUsername == null && userByEmail == null) {
-                throw new AuthenticationException("Invalid username or password");
-            }
+            Authentication authentication = stageTimers.time("password", () -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(userToAuthenticate.username(), request.getPassword())));
 
-            if (userByUsername != null && userByEmail != null && !userByUsername.getId().equals(userByEmail.getId())) {
-                throw new AuthenticationException("Invalid username or password");
-            }
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            String jwt = stageTimers.time("token", () -> tokenProvider.generateToken(authentication));
+            String refreshToken = stageTimers.time("refresh_token", () -> refreshTokenStore.issue(
+                    userToAuthenticate.id(), userToAuthenticate.credentialVersion()));
 
-            User userToAuthenticate = userByUsername != null ? userByUsername : userByEmail;
+            lastActiveTracker.touch(userToAuthenticate.id());
 
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(userToAuthenticate.getUsername(), request.getPassword()));
+            return new AuthResponse(jwt, refreshToken, tokenProvider.getExpiresInSeconds(),
+                    userToAuthenticate.username());
+        } catch (org.springframework.security.core.AuthenticationException e) {
+            throw new AuthenticationException("Invalid username or password");
+        }
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = tokenProvider.generateToken(authentication);
+    private UserSnapshot findUser(String identifier) {
+        if (identifier == null || negativeLookupCache.isKnownMissing(identifier)) {
+            throw new AuthenticationException("Invalid username or password");
+        }
 
-            userToAuthenticate.updateLastActive();
-            userRepository.save(userToAuthenticate);
+        // Emails always contain '@', so anything without one can only be a username.
+        List<UserSnapshot> matches = identifier.indexOf('@') < 0
+                ? userCache.findByUsername(identifier).map(List::of).orElse(List.of())
+                : userRepository.findAllByUsernameOrEmail(identifier).stream().map(userCache::put).toList();
 
-            return new AuthResponse(jwt, userToAuthenticate.getUsername());
-        } catch (org.springframework.security.core.AuthenticationException e) {
+        if (matches.isEmpty()) {
+            negativeLookupCache.recordMissing(identifier);
             throw new AuthenticationException("Invalid username or password");
         }
+
+        // One user's username equal to another user's email is ambiguous.
+        if (matches.size() > 1) {
+            throw new AuthenticationException("Invalid username or password");
+        }
+
+        return matches.get(0);
     }
 }
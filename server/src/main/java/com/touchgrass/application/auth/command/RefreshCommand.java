@@ -0,0 +1,46 @@
+package com.touchgrass.application.auth.command;
+
+import com.touchgrass.application.auth.dto.AuthResponse;
+import com.touchgrass.application.auth.dto.RefreshRequest;
+import com.touchgrass.application.auth.exception.InvalidRefreshTokenException;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.auth.RefreshTokenStore;
+import com.touchgrass.infrastructure.user.UserCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trades a refresh token for a new access token and the next refresh token
+ * of its family. No password is checked, so this is cheap enough to run
+ * every time an access token expires.
+ */
+@Component
+public class RefreshCommand {
+    private final RefreshTokenStore refreshTokenStore;
+    private final JwtTokenProvider tokenProvider;
+    private final UserCache userCache;
+
+    public RefreshCommand(RefreshTokenStore refreshTokenStore, JwtTokenProvider tokenProvider, UserCache userCache) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenProvider = tokenProvider;
+        this.userCache = userCache;
+    }
+
+    public AuthResponse execute(RefreshRequest request) {
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(request.getRefreshToken())
+                .orElseThrow(InvalidRefreshTokenException::new);
+        UserSnapshot user = userCache.findById(rotation.userId())
+                .orElseThrow(InvalidRefreshTokenException::new);
+        User principal = user.toUser();
+        // The version just checked against the database, in case the cached snapshot is behind.
+        principal.setCredentialVersion(rotation.credentialVersion());
+        String jwt = tokenProvider.generateToken(principal);
+        return new AuthResponse(jwt, rotation.refreshToken(), tokenProvider.getExpiresInSeconds(), user.username());
+    }
+
+    /** Ends the session the refresh token belongs to; its access token lapses on its own. */
+    public void logout(RefreshRequest request) {
+        refreshTokenStore.revoke(request.getRefreshToken());
+    }
+}
@@ -1,68 +1,107 @@
 package com.touchgrass.application.auth.command;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.touchgrass.application.auth.dto.AuthResponse;
 import com.touchgrass.application.auth.dto.RegisterRequest;
 import com.touchgrass.application.auth.exception.AuthenticationException;
 import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserEvents;
 import com.touchgrass.domain.user.repository.UserRepository;
 import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.auth.NegativeLookupCache;
+import com.touchgrass.infrastructure.auth.RefreshTokenStore;
+import com.touchgrass.infrastructure.metrics.StageTimers;
+import com.touchgrass.infrastructure.outbox.Outbox;
+import com.touchgrass.infrastructure.user.UserCache;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
 
 @Component
 public class RegisterCommand {
+    private static final String USERNAME_TAKEN = "This username is already taken. Please choose a different one.";
+    private static final String EMAIL_TAKEN =
+            "This email is already registered. Please use a different email or try logging in.";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
+    private final NegativeLookupCache negativeLookupCache;
+    private final UserCache userCache;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final StageTimers stageTimers;
 
     public RegisterCommand(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            AuthenticationManager authenticationManager,
-            JwtTokenProvider tokenProvider) {
+            JwtTokenProvider tokenProvider,
+            RefreshTokenStore refreshTokenStore,
+            NegativeLookupCache negativeLookupCache,
+            UserCache userCache,
+            Outbox outbox,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.refreshTokenStore = refreshTokenStore;
+        this.negativeLookupCache = negativeLookupCache;
+        this.userCache = userCache;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stageTimers = new StageTimers(meterRegistry, "auth.register.stage");
     }
 
-    @Transactional
+    // Deliberately not @Transactional: hashing happens before a connection is
+    // taken, and only the insert and its outbox event share a transaction.
     public AuthResponse execute(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new AuthenticationException("This username is already taken. Please choose a different one.");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new AuthenticationException(
-                    "This email is already registered. Please use a different email or try logging in.");
-        }
-
+        String passwordHash = stageTimers.time("hash", () -> passwordEncoder.encode(request.getPassword()));
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .dateOfBirth(request.getDateOfBirth())
                 .isAdmin(false)
                 .build();
+        user.setLastActive(LocalDateTime.now());
 
-        userRepository.save(user);
-
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        try {
+            stageTimers.run("insert", () -> transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAndFlush(user);
+                outbox.publish(UserEvents.REGISTERED, user.getId(), UserEvents.REGISTERED + ":" + user.getId(),
+                        Map.of("username", user.getUsername()));
+            }));
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateRegistration(e);
+        }
+        negativeLookupCache.invalidate(user.getUsername());
+        negativeLookupCache.invalidate(user.getEmail());
+        userCache.evictLocal(user);
 
-        user.updateLastActive();
-        userRepository.save(user);
+        String jwt = stageTimers.time("token", () -> tokenProvider.generateToken(user));
+        String refreshToken = stageTimers.time("refresh_token",
+                () -> refreshTokenStore.issue(user.getId(), user.getCredentialVersion()));
+        return new AuthResponse(jwt, refreshToken, tokenProvider.getExpiresInSeconds(), user.getUsername());
+    }
 
-        return new AuthResponse(jwt, user.getUsername());
+    private AuthenticationException duplicateRegistration(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(User.USERNAME_CONSTRAINT)) {
+            return new AuthenticationException(USERNAME_TAKEN, e);
+        }
+        if (message.contains(User.EMAIL_CONSTRAINT)) {
+            return new AuthenticationException(EMAIL_TAKEN, e);
+        }
+        return new AuthenticationException("This username or email is already registered.", e);
     }
 }
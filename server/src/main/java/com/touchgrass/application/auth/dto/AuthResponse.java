@@ -2,10 +2,14 @@ package com.touchgrass.application.auth.dto;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    private long expiresIn;
     private String username;
 
-    public AuthResponse(String token, String username) {
+    public AuthResponse(String token, String refreshToken, long expiresIn, String username) {
         this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
         this.username = username;
     }
 
@@ -17,6 +21,24 @@ public class AuthResponse {
         this.token = token;
     }
 
+    /** Exchanged at {@code /api/auth/refresh} for a new access token once {@link #getToken()} expires. */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /** Seconds until the access token expires. */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -24,4 +46,4 @@ public class AuthResponse {
     public void setUsername(String username) {
         this.username = username;
     }
-} 
\ No newline at end of file
+}
@@ -2,7 +2,9 @@ package com.touchgrass.application.auth.exception;
 
 public enum AuthErrorCode {
     AUTHENTICATION_ERROR("AUTHENTICATION_ERROR"),
-    REGISTRATION_ERROR("REGISTRATION_ERROR");
+    REGISTRATION_ERROR("REGISTRATION_ERROR"),
+    INVALID_REFRESH_TOKEN("INVALID_REFRESH_TOKEN"),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE");
 
     private final String code;
 
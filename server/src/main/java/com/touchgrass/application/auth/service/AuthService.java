@@ -1,9 +1,11 @@
 package com.touchgrass.application.auth.service;
 
 import com.touchgrass.application.auth.command.LoginCommand;
+import com.touchgrass.application.auth.command.RefreshCommand;
 import com.touchgrass.application.auth.command.RegisterCommand;
 import com.touchgrass.application.auth.dto.AuthRequest;
 import com.touchgrass.application.auth.dto.AuthResponse;
+import com.touchgrass.application.auth.dto.RefreshRequest;
 import com.touchgrass.application.auth.dto.RegisterRequest;
 import org.springframework.stereotype.Service;
 
@@ -11,10 +13,12 @@ import org.springframework.stereotype.Service;
 public class AuthService {
     private final LoginCommand loginCommand;
     private final RegisterCommand registerCommand;
+    private final RefreshCommand refreshCommand;
 
-    public AuthService(LoginCommand loginCommand, RegisterCommand registerCommand) {
+    public AuthService(LoginCommand loginCommand, RegisterCommand registerCommand, RefreshCommand refreshCommand) {
         this.loginCommand = loginCommand;
         this.registerCommand = registerCommand;
+        this.refreshCommand = refreshCommand;
     }
 
     public AuthResponse login(AuthRequest request) {
@@ -24,4 +28,12 @@ public class AuthService {
     public AuthResponse register(RegisterRequest request) {
         return registerCommand.execute(request);
     }
+
+    public AuthResponse refresh(RefreshRequest request) {
+        return refreshCommand.execute(request);
+    }
+
+    public void logout(RefreshRequest request) {
+        refreshCommand.logout(request);
+    }
 }
@@ -0,0 +1,10 @@
+package com.touchgrass.application.habit.dto;
+
+import java.time.Instant;
+
+/**
+ * @param completedAt when the habit was done; defaults to now
+ * @param uploadId    optional completed upload holding the photo of it
+ */
+public record CompleteHabitRequest(Instant completedAt, String note, String uploadId) {
+}
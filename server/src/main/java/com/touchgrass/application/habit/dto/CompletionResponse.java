@@ -0,0 +1,20 @@
+package com.touchgrass.application.habit.dto;
+
+import com.touchgrass.application.upload.dto.ImageVariantUrls;
+import com.touchgrass.application.upload.dto.UploadResponse;
+import com.touchgrass.domain.habit.model.HabitCompletion;
+import java.time.Instant;
+
+public record CompletionResponse(Long id, Long habitId, Instant completedAt, String note, String photoUrl,
+        ImageVariantUrls photoVariants) {
+
+    public static CompletionResponse from(HabitCompletion completion) {
+        return new CompletionResponse(
+                completion.getId(),
+                completion.getHabitId(),
+                completion.getCompletedAt(),
+                completion.getNote(),
+                completion.getUploadId() != null ? UploadResponse.contentUrl(completion.getUploadId()) : null,
+                completion.getUploadId() != null ? ImageVariantUrls.forUpload(completion.getUploadId()) : null);
+    }
+}
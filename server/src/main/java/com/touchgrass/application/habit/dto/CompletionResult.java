@@ -0,0 +1,7 @@
+package com.touchgrass.application.habit.dto;
+
+/**
+ * A recorded completion and the habit's streak state after it.
+ */
+public record CompletionResult(CompletionResponse completion, HabitResponse habit, boolean streakAdvanced) {
+}
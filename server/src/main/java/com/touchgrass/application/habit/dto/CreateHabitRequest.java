@@ -0,0 +1,10 @@
+package com.touchgrass.application.habit.dto;
+
+import com.touchgrass.domain.habit.model.HabitFrequency;
+
+/**
+ * @param timeZone IANA zone the habit's days, weeks and months are counted in;
+ *                 defaults to UTC
+ */
+public record CreateHabitRequest(String name, String description, HabitFrequency frequency, String timeZone) {
+}
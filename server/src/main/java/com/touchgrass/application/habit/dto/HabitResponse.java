@@ -0,0 +1,39 @@
+package com.touchgrass.application.habit.dto;
+
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitFrequency;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record HabitResponse(
+        Long id,
+        String name,
+        String description,
+        HabitFrequency frequency,
+        String timeZone,
+        int currentStreak,
+        int longestStreak,
+        long completionCount,
+        double adherence,
+        Instant lastCompletedAt,
+        Instant nextDueAt,
+        boolean due,
+        LocalDateTime createdAt) {
+
+    public static HabitResponse from(Habit habit, Instant now) {
+        return new HabitResponse(
+                habit.getId(),
+                habit.getName(),
+                habit.getDescription(),
+                habit.getFrequency(),
+                habit.getTimeZone(),
+                habit.currentStreak(now),
+                habit.getLongestStreak(),
+                habit.getCompletionCount(),
+                habit.adherence(now),
+                habit.getLastCompletedAt(),
+                habit.getNextDueAt(),
+                habit.isDue(now),
+                habit.getCreatedAt());
+    }
+}
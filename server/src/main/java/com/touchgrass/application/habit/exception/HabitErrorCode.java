@@ -0,0 +1,22 @@
+package com.touchgrass.application.habit.exception;
+
+public enum HabitErrorCode {
+    HABIT_NOT_FOUND("HABIT_NOT_FOUND"),
+    VALIDATION_ERROR("VALIDATION_ERROR"),
+    UPDATE_CONFLICT("UPDATE_CONFLICT");
+
+    private final String code;
+
+    HabitErrorCode(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
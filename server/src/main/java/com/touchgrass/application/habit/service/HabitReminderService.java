@@ -0,0 +1,354 @@
+package com.touchgrass.application.habit.service;
+
+import com.touchgrass.core.util.TimingWheel;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.infrastructure.cache.CacheInvalidation;
+import com.touchgrass.infrastructure.cache.InvalidationBus;
+import com.touchgrass.infrastructure.habit.ReminderPartitionLeases;
+import com.touchgrass.infrastructure.notification.HabitReminder;
+import com.touchgrass.infrastructure.notification.NotificationSender;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reminds users to complete a habit some time ({@code reminders.lead})
+ * before the current period runs out, once per period, unless it is already
+ * done.
+ *
+ * Each instance keeps the next reminder time of every habit in its
+ * {@link ReminderPartitionLeases leased partitions} in a {@link TimingWheel},
+ * loaded from the habits table when it takes a partition over and kept up
+ * to date as habits are created and completed. Those changes are announced
+ * over the {@link InvalidationBus}, so the instance holding the habit hears
+ * of them whichever instance made them. Every tick the due reminders are
+ * taken off the wheel in batches, checked against the current rows and
+ * handed to the {@link NotificationSender}; the period each habit was
+ * reminded about is then recorded on its row, so a restart or a partition
+ * moving to another instance doesn't remind about it again.
+ *
+ * The wheel is guarded by a {@link ReentrantLock}. It is held while habits
+ * are loaded into the wheel, but neither while leases are renewed nor while
+ * reminders are sent, so a slow sender can't hold renewals up until the
+ * leases run out. Reminders are only sent while the leases are current;
+ * otherwise they wait on the wheel until the leases are renewed or the
+ * partition is dropped.
+ */
+@Service
+public class HabitReminderService {
+    private static final Logger log = LoggerFactory.getLogger(HabitReminderService.class);
+
+    static final String CHANGES = "habit-reminders";
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final String MARK_REMINDED_SQL = "UPDATE habits SET last_reminded_period = ? "
+            + "WHERE id = ? AND (last_reminded_period IS NULL OR last_reminded_period < ?)";
+
+    private final HabitRepository habitRepository;
+    private final ReminderPartitionLeases leases;
+    private final NotificationSender sender;
+    private final InvalidationBus invalidationBus;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration lead;
+    private final int batchSize;
+    private final long retryDelayInMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private final TimingWheel<TrackedHabit> wheel;
+    private final Set<Long> changedHabits = ConcurrentHashMap.newKeySet();
+    private Set<Integer> loadedPartitions = Set.of();
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public HabitReminderService(HabitRepository habitRepository, ReminderPartitionLeases leases,
+            NotificationSender sender, InvalidationBus invalidationBus, JdbcTemplate jdbcTemplate,
+            @Value("${reminders.lead:10800000}") long leadInMs,
+            @Value("${reminders.batch-size:500}") int batchSize,
+            @Value("${reminders.retry-delay:60000}") long retryDelayInMs,
+            @Value("${reminders.wheel.tick:1000}") long tickInMs) {
+        this.habitRepository = habitRepository;
+        this.leases = leases;
+        this.sender = sender;
+        this.invalidationBus = invalidationBus;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lead = Duration.ofMillis(leadInMs);
+        this.batchSize = batchSize;
+        this.retryDelayInMs = retryDelayInMs;
+        // 64 buckets over 4 levels covers about 190 days of one-second ticks; weekly reminders fit easily.
+        this.wheel = new TimingWheel<>(tickInMs, 64, 4, System.currentTimeMillis());
+        invalidationBus.subscribe(CHANGES, key -> onHabitChanged(Long.valueOf(key)));
+    }
+
+    /** Announces that a habit's next reminder may have moved, once the current transaction commits. */
+    public void habitChanged(Long habitId) {
+        invalidationBus.publish(new CacheInvalidation(CHANGES, String.valueOf(habitId)));
+    }
+
+    /** Queues a habit to be re-read from the database on the next tick. */
+    public void onHabitChanged(Long habitId) {
+        changedHabits.add(habitId);
+    }
+
+    /** Renews the partition leases and loads or drops habits for partitions gained or lost. */
+    @Scheduled(fixedDelayString = "${reminders.lease-renew-interval:10000}")
+    public void rebalance() {
+        Set<Integer> owned;
+        leaseLock.lock();
+        try {
+            owned = leases.rebalance();
+        } finally {
+            leaseLock.unlock();
+        }
+
+        lock.lock();
+        try {
+            Set<Integer> lost = new HashSet<>(loadedPartitions);
+            lost.removeAll(owned);
+            Set<Integer> gained = new HashSet<>(owned);
+            gained.removeAll(loadedPartitions);
+
+            if (!lost.isEmpty()) {
+                wheel.cancelIf(tracked -> lost.contains(tracked.partition()));
+            }
+            if (!gained.isEmpty()) {
+                load(gained);
+            }
+            loadedPartitions = owned;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends every reminder that is due, in batches.
+     *
+     * @return the number of reminders sent
+     */
+    @Scheduled(fixedDelayString = "${reminders.tick:1000}")
+    public int dispatchDue() {
+        Instant now = Instant.now();
+        List<TrackedHabit> due;
+        lock.lock();
+        try {
+            applyChanges(now);
+            due = wheel.advance(now.toEpochMilli(), batchSize);
+        } finally {
+            lock.unlock();
+        }
+
+        int sent = 0;
+        while (!due.isEmpty()) {
+            sent += send(due, now);
+            if (due.size() < batchSize) {
+                break;
+            }
+            lock.lock();
+            try {
+                due = wheel.advance(now.toEpochMilli(), batchSize);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return sent;
+    }
+
+    public int getScheduledCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getOwnedPartitionCount() {
+        return leases.owned().size();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseLock.lock();
+        try {
+            leases.releaseAll();
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    private void load(Set<Integer> partitions) {
+        Instant now = Instant.now();
+        long after = 0;
+        while (true) {
+            List<Habit> habits = habitRepository.findByReminderPartition(leases.partitions(), partitions, after,
+                    PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Habit habit : habits) {
+                schedule(habit, habit.reminderPeriod(now));
+            }
+            if (habits.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            after = habits.get(habits.size() - 1).getId();
+        }
+    }
+
+    private void applyChanges(Instant now) {
+        if (changedHabits.isEmpty() || !leases.isCurrent()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Iterator<Long> it = changedHabits.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        for (Habit habit : habitRepository.findAllById(ids)) {
+            TrackedHabit tracked = tracked(habit);
+            if (loadedPartitions.contains(tracked.partition())) {
+                schedule(habit, habit.reminderPeriod(now));
+            } else {
+                wheel.cancel(tracked);
+            }
+        }
+    }
+
+    /** Sends a batch taken off the wheel; called without the wheel lock, which is only taken to put habits back. */
+    private int send(List<TrackedHabit> due, Instant now) {
+        long retryAt = now.toEpochMilli() + retryDelayInMs;
+        if (!leases.isCurrent()) {
+            // Renewals have fallen behind; another instance may be taking these partitions over.
+            reschedule(due, retryAt);
+            return 0;
+        }
+        Map<Long, Habit> habits = habitRepository.findAllById(due.stream().map(TrackedHabit::habitId).toList())
+                .stream()
+                .collect(Collectors.toMap(Habit::getId, Function.identity()));
+
+        List<Reminding> batch = new ArrayList<>(due.size());
+        List<Reminding> notYetDue = new ArrayList<>();
+        for (TrackedHabit tracked : due) {
+            Habit habit = habits.get(tracked.habitId());
+            // Deleted, or its partition was lost at the last renewal.
+            if (habit == null || !leases.owned().contains(tracked.partition())) {
+                continue;
+            }
+            // The wheel may be behind a completion made on another instance.
+            long period = habit.reminderPeriod(now);
+            if (habit.reminderAt(period, lead).isAfter(now)) {
+                notYetDue.add(new Reminding(tracked, habit, period));
+            } else {
+                batch.add(new Reminding(tracked, habit, period));
+            }
+        }
+        scheduleNext(notYetDue, 0);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Loading may have taken long enough for the leases to go stale.
+        if (!leases.isCurrent()) {
+            reschedule(batch.stream().map(Reminding::tracked).toList(), retryAt);
+            return 0;
+        }
+
+        try {
+            sender.sendHabitReminders(batch.stream()
+                    .map(reminding -> new HabitReminder(reminding.habit().getUserId(), reminding.habit().getId(),
+                            reminding.habit().getName(), reminding.habit().periodEndsAt(reminding.period())))
+                    .toList());
+        } catch (RuntimeException e) {
+            failedCount.add(batch.size());
+            log.warn("Sending {} habit reminders failed, retrying in {} ms", batch.size(), retryDelayInMs, e);
+            reschedule(batch.stream().map(Reminding::tracked).toList(), retryAt);
+            return 0;
+        }
+        sentCount.add(batch.size());
+
+        try {
+            jdbcTemplate.batchUpdate(MARK_REMINDED_SQL, batch, batchSize, (ps, reminding) -> {
+                ps.setLong(1, reminding.period());
+                ps.setLong(2, reminding.habit().getId());
+                ps.setLong(3, reminding.period());
+            });
+        } catch (RuntimeException e) {
+            // Only costs a repeat reminder if the partition moves or the process restarts first.
+            log.warn("Recording {} sent habit reminders failed", batch.size(), e);
+        }
+        scheduleNext(batch, 1);
+        return batch.size();
+    }
+
+    /**
+     * Files each habit for its reminder {@code periodOffset} periods after
+     * the one it was handled for, unless its partition was dropped meanwhile.
+     */
+    private void scheduleNext(List<Reminding> remindings, long periodOffset) {
+        if (remindings.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Reminding reminding : remindings) {
+                if (loadedPartitions.contains(reminding.tracked().partition())) {
+                    schedule(reminding.habit(), reminding.period() + periodOffset);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reschedule(List<TrackedHabit> tracked, long deadlineMillis) {
+        lock.lock();
+        try {
+            for (TrackedHabit habit : tracked) {
+                if (loadedPartitions.contains(habit.partition())) {
+                    wheel.schedule(habit, deadlineMillis);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void schedule(Habit habit, long period) {
+        wheel.schedule(tracked(habit), habit.reminderAt(period, lead).toEpochMilli());
+    }
+
+    private TrackedHabit tracked(Habit habit) {
+        return new TrackedHabit(habit.getId(), leases.partitionOf(habit.getUserId()));
+    }
+
+    /** A habit's place in the wheel; the partition is kept so a lost partition's habits can be dropped. */
+    private record TrackedHabit(Long habitId, int partition) {
+    }
+
+    private record Reminding(TrackedHabit tracked, Habit habit, long period) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.touchgrass.application.habit.service;
+
+import com.touchgrass.application.habit.dto.CompleteHabitRequest;
+import com.touchgrass.application.habit.dto.CompletionResponse;
+import com.touchgrass.application.habit.dto.CompletionResult;
+import com.touchgrass.application.habit.dto.CreateHabitRequest;
+import com.touchgrass.application.habit.dto.HabitResponse;
+import com.touchgrass.application.habit.exception.HabitValidationException;
+import com.touchgrass.application.social.service.FeedService;
+import com.touchgrass.domain.exceptions.HabitNotFoundException;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitCompletion;
+import com.touchgrass.domain.habit.repository.HabitCompletionRepository;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.domain.upload.model.Upload;
+import com.touchgrass.domain.upload.repository.UploadRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+public class HabitService {
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_TEXT_LENGTH = 500;
+    private static final int MAX_COMPLETIONS_PAGE = 100;
+    // Client clocks drift; anything further ahead than this is a bad timestamp, not skew.
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final HabitRepository habitRepository;
+    private final HabitCompletionRepository completionRepository;
+    private final UploadRepository uploadRepository;
+    private final FeedService feedService;
+    private final HabitReminderService reminderService;
+
+    public HabitService(HabitRepository habitRepository, HabitCompletionRepository completionRepository,
+            UploadRepository uploadRepository, FeedService feedService, HabitReminderService reminderService) {
+        this.habitRepository = habitRepository;
+        this.completionRepository = completionRepository;
+        this.uploadRepository = uploadRepository;
+        this.feedService = feedService;
+        this.reminderService = reminderService;
+    }
+
+    @Transactional(readOnly = true)
+    public List<HabitResponse> listHabits(Long userId) {
+        Instant now = Instant.now();
+        return habitRepository.findByUserIdOrderByIdAsc(userId).stream()
+                .map(habit -> HabitResponse.from(habit, now))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public HabitResponse getHabit(Long userId, Long habitId) {
+        return HabitResponse.from(findHabit(userId, habitId), Instant.now());
+    }
+
+    @Transactional
+    public HabitResponse createHabit(Long userId, CreateHabitRequest request) {
+        String name = request.name() == null ? null : request.name().trim();
+        if (name == null || name.isEmpty()) {
+            throw new HabitValidationException("name", "is required");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new HabitValidationException("name", "must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        checkLength("description", request.description());
+        if (request.frequency() == null) {
+            throw new HabitValidationException("frequency", "is required");
+        }
+
+        Habit habit = Habit.builder()
+                .userId(userId)
+                .name(name)
+                .description(request.description())
+                .frequency(request.frequency())
+                .timeZone(parseZone(request.timeZone()))
+                .build();
+        habitRepository.save(habit);
+        reminderService.habitChanged(habit.getId());
+        return HabitResponse.from(habit, Instant.now());
+    }
+
+    /**
+     * Records a completion and advances the habit's streak state in the same
+     * transaction. Concurrent completions of one habit are serialised by its
+     * {@code @Version}; the loser gets an optimistic locking failure.
+     * Completions with a photo are shared with friends once committed, and
+     * a completion that finishes the period pushes the habit's reminder back.
+     */
+    @Transactional
+    public CompletionResult completeHabit(Long userId, Long habitId, CompleteHabitRequest request) {
+        Instant now = Instant.now();
+        Instant completedAt = request.completedAt() != null ? request.completedAt() : now;
+        if (completedAt.isAfter(now.plus(MAX_CLOCK_SKEW))) {
+            throw new HabitValidationException("completedAt", "must not be in the future");
+        }
+        checkLength("note", request.note());
+        if (request.uploadId() != null) {
+            boolean usable = uploadRepository.findByIdAndUserId(request.uploadId(), userId)
+                    .filter(Upload::isComplete)
+                    .isPresent();
+            if (!usable) {
+                throw new HabitValidationException("uploadId", "no completed upload with id " + request.uploadId());
+            }
+        }
+
+        Habit habit = findHabit(userId, habitId);
+        HabitCompletion completion = completionRepository.save(
+                new HabitCompletion(userId, habitId, completedAt, request.note(), request.uploadId()));
+        boolean advanced = habit.recordCompletion(completedAt);
+        habitRepository.flush();
+        feedService.publish(completion);
+        if (advanced) {
+            reminderService.habitChanged(habitId);
+        }
+
+        return new CompletionResult(CompletionResponse.from(completion), HabitResponse.from(habit, now), advanced);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompletionResponse> recentCompletions(Long userId, Long habitId, int limit) {
+        findHabit(userId, habitId);
+        int pageSize = Math.max(1, Math.min(limit, MAX_COMPLETIONS_PAGE));
+        return completionRepository
+                .findByUserIdAndHabitIdOrderByCompletedAtDesc(userId, habitId, PageRequest.of(0, pageSize))
+                .stream()
+                .map(CompletionResponse::from)
+                .toList();
+    }
+
+    private Habit findHabit(Long userId, Long habitId) {
+        return habitRepository.findByIdAndUserId(habitId, userId)
+                .orElseThrow(() -> new HabitNotFoundException(habitId));
+    }
+
+    private static String parseZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return "UTC";
+        }
+        try {
+            return ZoneId.of(timeZone.trim()).getId();
+        } catch (DateTimeException e) {
+            throw new HabitValidationException("timeZone", "unknown time zone '" + timeZone + "'");
+        }
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new HabitValidationException(field, "must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.touchgrass.application.social.dto;
+
+import com.touchgrass.application.upload.dto.ImageVariantUrls;
+import com.touchgrass.domain.user.model.UserSnapshot;
+
+public record FeedAuthor(Long id, String username, ImageVariantUrls avatarVariants) {
+
+    public static FeedAuthor from(UserSnapshot user) {
+        return new FeedAuthor(user.id(), user.username(), ImageVariantUrls.fromContentUrl(user.avatarUrl()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.touchgrass.application.social.dto;
+
+import com.touchgrass.application.upload.dto.ImageVariantUrls;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitCompletion;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A friend's habit completion as shown in a feed. Only the photo's display
+ * variants are included; the original stays private to its owner.
+ */
+public record FeedItemResponse(
+        Long id,
+        FeedAuthor author,
+        Long habitId,
+        String habitName,
+        Instant completedAt,
+        String note,
+        ImageVariantUrls photoVariants,
+        LocalDateTime postedAt) {
+
+    public static FeedItemResponse from(HabitCompletion completion, Habit habit, UserSnapshot author) {
+        return new FeedItemResponse(
+                completion.getId(),
+                FeedAuthor.from(author),
+                habit.getId(),
+                habit.getName(),
+                completion.getCompletedAt(),
+                completion.getNote(),
+                completion.getUploadId() != null ? ImageVariantUrls.forUpload(completion.getUploadId()) : null,
+                completion.getCreatedAt());
+    }
+}
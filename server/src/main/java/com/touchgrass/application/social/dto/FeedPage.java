@@ -0,0 +1,10 @@
+package com.touchgrass.application.social.dto;
+
+import java.util.List;
+
+/**
+ * One page of a timeline. Pass {@code nextCursor} as {@code before} to get
+ * the next (older) page; it is {@code null} on the last page.
+ */
+public record FeedPage(List<FeedItemResponse> items, Long nextCursor) {
+}
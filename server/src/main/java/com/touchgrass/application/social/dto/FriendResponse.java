@@ -0,0 +1,24 @@
+package com.touchgrass.application.social.dto;
+
+import com.touchgrass.application.upload.dto.ImageVariantUrls;
+import com.touchgrass.domain.social.model.Friendship;
+import com.touchgrass.domain.social.model.FriendshipStatus;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import java.time.LocalDateTime;
+
+public record FriendResponse(
+        Long userId,
+        String username,
+        ImageVariantUrls avatarVariants,
+        FriendshipStatus status,
+        LocalDateTime since) {
+
+    public static FriendResponse from(Friendship friendship, UserSnapshot friend) {
+        return new FriendResponse(
+                friend.id(),
+                friend.username(),
+                ImageVariantUrls.fromContentUrl(friend.avatarUrl()),
+                friendship.getStatus(),
+                friendship.getUpdatedAt());
+    }
+}
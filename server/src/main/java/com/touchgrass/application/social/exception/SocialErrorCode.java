@@ -0,0 +1,23 @@
+package com.touchgrass.application.social.exception;
+
+public enum SocialErrorCode {
+    USER_NOT_FOUND("USER_NOT_FOUND"),
+    FRIENDSHIP_NOT_FOUND("FRIENDSHIP_NOT_FOUND"),
+    VALIDATION_ERROR("VALIDATION_ERROR"),
+    FRIENDSHIP_CONFLICT("FRIENDSHIP_CONFLICT");
+
+    private final String code;
+
+    SocialErrorCode(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,139 @@
+package com.touchgrass.application.social.service;
+
+import com.touchgrass.application.social.dto.FeedItemResponse;
+import com.touchgrass.application.social.dto.FeedPage;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitCompletion;
+import com.touchgrass.domain.habit.repository.HabitCompletionRepository;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.domain.social.repository.FriendshipRepository;
+import com.touchgrass.domain.social.repository.SocialStatsRepository;
+import com.touchgrass.domain.social.repository.TimelineEntryRepository;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.infrastructure.outbox.Outbox;
+import com.touchgrass.infrastructure.social.HighFanoutAuthors;
+import com.touchgrass.infrastructure.social.TimelineFanout;
+import com.touchgrass.infrastructure.user.UserCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Friends' photo posts, newest first. Posts are pushed into each friend's
+ * timeline when they are made ({@link TimelineFanout}), except for posts by
+ * authors with very many friends, which are pulled in when the timeline is
+ * read. Which way a post goes is decided once, when it is made, and stored
+ * with it, so writers and readers always agree.
+ */
+@Service
+public class FeedService {
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final TimelineEntryRepository timelineRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final HabitCompletionRepository completionRepository;
+    private final HabitRepository habitRepository;
+    private final SocialStatsRepository statsRepository;
+    private final HighFanoutAuthors highFanoutAuthors;
+    private final Outbox outbox;
+    private final UserCache userCache;
+
+    public FeedService(TimelineEntryRepository timelineRepository, FriendshipRepository friendshipRepository,
+            HabitCompletionRepository completionRepository, HabitRepository habitRepository,
+            SocialStatsRepository statsRepository, HighFanoutAuthors highFanoutAuthors, Outbox outbox,
+            UserCache userCache) {
+        this.timelineRepository = timelineRepository;
+        this.friendshipRepository = friendshipRepository;
+        this.completionRepository = completionRepository;
+        this.habitRepository = habitRepository;
+        this.statsRepository = statsRepository;
+        this.highFanoutAuthors = highFanoutAuthors;
+        this.outbox = outbox;
+        this.userCache = userCache;
+    }
+
+    /** Shares a completion with the author's friends if it has a photo; must run in the completion's transaction. */
+    public void publish(HabitCompletion completion) {
+        if (completion.getUploadId() != null) {
+            if (highFanoutAuthors.contains(completion.getUserId())) {
+                completion.markFeedPulled();
+                statsRepository.insertIfAbsent(completion.getUserId());
+                statsRepository.markPulledPosts(completion.getUserId());
+            }
+            outbox.publish(TimelineFanout.PHOTO_POSTED, completion.getId(),
+                    TimelineFanout.PHOTO_POSTED + ":" + completion.getId(),
+                    Map.of("authorId", completion.getUserId()));
+        }
+    }
+
+    /**
+     * One page of a user's timeline, older than {@code before} (a post id
+     * from a previous page's {@code nextCursor}), or the newest page.
+     */
+    @Transactional(readOnly = true)
+    public FeedPage timeline(Long userId, Long before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long cursor = before != null ? before : Long.MAX_VALUE;
+        PageRequest page = PageRequest.of(0, pageSize);
+
+        List<Long> ids = timelineRepository.findCompletionIds(userId, cursor, page);
+        List<Long> pulledFriends = statsRepository.findFriendsWithPulledPosts(userId);
+        if (!pulledFriends.isEmpty()) {
+            ids = merge(ids, completionRepository.findPulledPostIds(pulledFriends, cursor, page), pageSize);
+        }
+        Long nextCursor = ids.size() == pageSize ? ids.get(ids.size() - 1) : null;
+        return new FeedPage(hydrate(userId, ids), nextCursor);
+    }
+
+    private List<FeedItemResponse> hydrate(Long userId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, HabitCompletion> completions = completionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(HabitCompletion::getId, Function.identity()));
+        // Entries outlive a friendship until removeFriend deletes them, and a
+        // delivery racing with it can still write one; check again here.
+        Set<Long> otherAuthors = completions.values().stream()
+                .map(HabitCompletion::getUserId)
+                .filter(authorId -> !authorId.equals(userId))
+                .collect(Collectors.toSet());
+        Set<Long> visibleAuthors = new HashSet<>(otherAuthors.isEmpty()
+                ? List.of()
+                : friendshipRepository.findFriendIdsAmong(userId, otherAuthors));
+        visibleAuthors.add(userId);
+        completions.values().removeIf(completion -> !visibleAuthors.contains(completion.getUserId()));
+        Map<Long, Habit> habits = habitRepository.findAllById(completions.values().stream()
+                        .map(HabitCompletion::getHabitId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Habit::getId, Function.identity()));
+
+        List<FeedItemResponse> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            HabitCompletion completion = completions.get(id);
+            Habit habit = completion != null ? habits.get(completion.getHabitId()) : null;
+            UserSnapshot author = completion != null ? userCache.findById(completion.getUserId()).orElse(null) : null;
+            // Anything deleted or unfriended since it was delivered is skipped rather than shown half-empty.
+            if (habit != null && author != null) {
+                items.add(FeedItemResponse.from(completion, habit, author));
+            }
+        }
+        return items;
+    }
+
+    private static List<Long> merge(List<Long> pushed, List<Long> pulled, int limit) {
+        TreeSet<Long> merged = new TreeSet<>(Comparator.reverseOrder());
+        merged.addAll(pushed);
+        merged.addAll(pulled);
+        return merged.stream().limit(limit).toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.touchgrass.application.social.service;
+
+import com.touchgrass.application.social.dto.FriendResponse;
+import com.touchgrass.application.social.exception.SocialValidationException;
+import com.touchgrass.domain.exceptions.FriendshipNotFoundException;
+import com.touchgrass.domain.exceptions.UserNotFoundException;
+import com.touchgrass.domain.social.model.Friendship;
+import com.touchgrass.domain.social.model.FriendshipStatus;
+import com.touchgrass.domain.social.repository.FriendshipRepository;
+import com.touchgrass.domain.social.repository.SocialStatsRepository;
+import com.touchgrass.domain.social.repository.TimelineEntryRepository;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.infrastructure.social.TimelineFanout;
+import com.touchgrass.infrastructure.user.UserCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Friend requests and friendships. Both users' rows change in one
+ * transaction; concurrent changes to the same pair fail one side on the
+ * rows' {@code @Version} or unique key.
+ */
+@Service
+public class FriendshipService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final FriendshipRepository friendshipRepository;
+    private final SocialStatsRepository statsRepository;
+    private final TimelineEntryRepository timelineRepository;
+    private final TimelineFanout timelineFanout;
+    private final UserCache userCache;
+
+    public FriendshipService(FriendshipRepository friendshipRepository, SocialStatsRepository statsRepository,
+            TimelineEntryRepository timelineRepository, TimelineFanout timelineFanout, UserCache userCache) {
+        this.friendshipRepository = friendshipRepository;
+        this.statsRepository = statsRepository;
+        this.timelineRepository = timelineRepository;
+        this.timelineFanout = timelineFanout;
+        this.userCache = userCache;
+    }
+
+    /**
+     * Sends a friend request, or accepts one if {@code friendId} already sent
+     * us a request. Repeating either is a no-op.
+     */
+    @Transactional
+    public FriendResponse addFriend(Long userId, Long friendId) {
+        if (userId.equals(friendId)) {
+            throw new SocialValidationException("userId", "cannot add yourself as a friend");
+        }
+        UserSnapshot friend = userCache.findById(friendId).orElseThrow(() -> new UserNotFoundException(friendId));
+
+        Optional<Friendship> existing = friendshipRepository.findByUserIdAndFriendId(userId, friendId);
+        if (existing.isEmpty()) {
+            Friendship request = friendshipRepository.save(
+                    new Friendship(userId, friendId, FriendshipStatus.REQUESTED));
+            friendshipRepository.save(new Friendship(friendId, userId, FriendshipStatus.RECEIVED));
+            return FriendResponse.from(request, friend);
+        }
+
+        Friendship mine = existing.get();
+        if (mine.getStatus() == FriendshipStatus.RECEIVED) {
+            Friendship theirs = friendshipRepository.findByUserIdAndFriendId(friendId, userId)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Friendship " + userId + " -> " + friendId + " has no reverse row"));
+            mine.accept();
+            theirs.accept();
+            friendshipRepository.flush();
+            adjustFriendCount(userId, 1);
+            adjustFriendCount(friendId, 1);
+            timelineFanout.submitBackfill(userId, friendId);
+            timelineFanout.submitBackfill(friendId, userId);
+        }
+        return FriendResponse.from(mine, friend);
+    }
+
+    /**
+     * Removes a friendship, or cancels or declines a request, for both
+     * users. Ending a friendship also takes each user's posts out of the
+     * other's timeline.
+     */
+    @Transactional
+    public void removeFriend(Long userId, Long friendId) {
+        Friendship mine = friendshipRepository.findByUserIdAndFriendId(userId, friendId)
+                .orElseThrow(() -> new FriendshipNotFoundException(friendId));
+        boolean wasAccepted = mine.isAccepted();
+        friendshipRepository.delete(mine);
+        friendshipRepository.findByUserIdAndFriendId(friendId, userId).ifPresent(friendshipRepository::delete);
+        friendshipRepository.flush();
+
+        if (wasAccepted) {
+            adjustFriendCount(userId, -1);
+            adjustFriendCount(friendId, -1);
+            timelineRepository.deleteByOwnerIdAndAuthorId(userId, friendId);
+            timelineRepository.deleteByOwnerIdAndAuthorId(friendId, userId);
+        }
+    }
+
+    /**
+     * One page of a user's friends (or sent or received requests), ordered by
+     * user id. Pass the last {@code userId} seen as {@code after} for the next
+     * page.
+     */
+    @Transactional(readOnly = true)
+    public List<FriendResponse> listFriends(Long userId, FriendshipStatus status, long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return friendshipRepository.findPage(userId, status, after, PageRequest.of(0, pageSize)).stream()
+                .flatMap(friendship -> userCache.findById(friendship.getFriendId())
+                        .map(friend -> FriendResponse.from(friendship, friend))
+                        .stream())
+                .toList();
+    }
+
+    private void adjustFriendCount(Long userId, long delta) {
+        statsRepository.insertIfAbsent(userId);
+        statsRepository.adjustFriendCount(userId, delta);
+    }
+}
@@ -0,0 +1,7 @@
+package com.touchgrass.application.upload.dto;
+
+/**
+ * @param totalSize exact size of the file in bytes
+ */
+public record CreateUploadSessionRequest(String contentType, long totalSize) {
+}
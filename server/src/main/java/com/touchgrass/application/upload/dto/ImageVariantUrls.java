@@ -0,0 +1,45 @@
+package com.touchgrass.application.upload.dto;
+
+import com.touchgrass.domain.upload.model.ImageVariant;
+
+/**
+ * Where to fetch each display size of an uploaded photo. The URLs are fixed
+ * per upload, so they can be handed out before the variants exist; until then
+ * they answer 404 with a Retry-After.
+ */
+public record ImageVariantUrls(String thumbnail, String feed, String full) {
+    private static final String UPLOADS_PATH = "/api/uploads/";
+    private static final String CONTENT_SUFFIX = "/content";
+
+    public static ImageVariantUrls forUpload(String uploadId) {
+        return new ImageVariantUrls(
+                variantUrl(uploadId, ImageVariant.THUMBNAIL),
+                variantUrl(uploadId, ImageVariant.FEED),
+                variantUrl(uploadId, ImageVariant.FULL));
+    }
+
+    /**
+     * Variants for a URL that points at an upload's original content, such as
+     * an avatar set to {@link UploadResponse#url()}.
+     *
+     * @return {@code null} if {@code url} is not an upload content URL
+     */
+    public static ImageVariantUrls fromContentUrl(String url) {
+        if (url == null || !url.endsWith(CONTENT_SUFFIX)) {
+            return null;
+        }
+        int start = url.indexOf(UPLOADS_PATH);
+        if (start < 0) {
+            return null;
+        }
+        String uploadId = url.substring(start + UPLOADS_PATH.length(), url.length() - CONTENT_SUFFIX.length());
+        if (uploadId.isEmpty() || uploadId.indexOf('/') >= 0) {
+            return null;
+        }
+        return forUpload(uploadId);
+    }
+
+    public static String variantUrl(String uploadId, ImageVariant variant) {
+        return UPLOADS_PATH + uploadId + "/variants/" + variant.getName();
+    }
+}
@@ -0,0 +1,10 @@
+package com.touchgrass.application.upload.dto;
+
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * An open stream over an upload's bytes, or one of its variants; the caller
+ * must close {@code channel}. {@code size} is -1 if the store doesn't know it.
+ */
+public record UploadContent(ReadableByteChannel channel, String contentType, long size, String sha256) {
+}
@@ -0,0 +1,29 @@
+package com.touchgrass.application.upload.dto;
+
+import com.touchgrass.domain.upload.model.Upload;
+import java.time.LocalDateTime;
+
+public record UploadResponse(
+        String id,
+        String sha256,
+        String contentType,
+        long size,
+        String url,
+        ImageVariantUrls variants,
+        LocalDateTime createdAt) {
+
+    public static UploadResponse from(Upload upload) {
+        return new UploadResponse(
+                upload.getId(),
+                upload.getSha256(),
+                upload.getContentType(),
+                upload.getTotalSize(),
+                contentUrl(upload.getId()),
+                ImageVariantUrls.forUpload(upload.getId()),
+                upload.getCreatedAt());
+    }
+
+    public static String contentUrl(String uploadId) {
+        return "/api/uploads/" + uploadId + "/content";
+    }
+}
@@ -0,0 +1,33 @@
+package com.touchgrass.application.upload.dto;
+
+import com.touchgrass.domain.upload.model.Upload;
+import com.touchgrass.domain.upload.model.UploadStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a chunked upload. A client resuming after a dropped connection
+ * re-sends every chunk not in {@code receivedChunks}.
+ */
+public record UploadSessionResponse(
+        String id,
+        UploadStatus status,
+        String contentType,
+        long totalSize,
+        int chunkSize,
+        int chunkCount,
+        List<Integer> receivedChunks,
+        LocalDateTime expiresAt) {
+
+    public static UploadSessionResponse from(Upload upload, List<Integer> receivedChunks) {
+        return new UploadSessionResponse(
+                upload.getId(),
+                upload.getStatus(),
+                upload.getContentType(),
+                upload.getTotalSize(),
+                upload.getChunkSize(),
+                upload.getChunkCount(),
+                receivedChunks,
+                upload.getExpiresAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.touchgrass.application.upload.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ChecksumMismatchException extends RuntimeException {
+    public ChecksumMismatchException(int chunkIndex, String expected, String actual) {
+        super("Chunk " + chunkIndex + " checksum mismatch: expected " + expected + ", received " + actual);
+    }
+}
@@ -0,0 +1,25 @@
+package com.touchgrass.application.upload.exception;
+
+public enum UploadErrorCode {
+    UPLOAD_NOT_FOUND("UPLOAD_NOT_FOUND"),
+    VALIDATION_ERROR("VALIDATION_ERROR"),
+    CHECKSUM_MISMATCH("CHECKSUM_MISMATCH"),
+    UPLOAD_INCOMPLETE("UPLOAD_INCOMPLETE"),
+    UPLOAD_CONFLICT("UPLOAD_CONFLICT"),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE");
+
+    private final String code;
+
+    UploadErrorCode(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,20 @@
+package com.touchgrass.application.upload.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadIncompleteException extends RuntimeException {
+    private final List<Integer> missingChunks;
+
+    public UploadIncompleteException(List<Integer> missingChunks) {
+        super("Upload is missing chunks " + missingChunks);
+        this.missingChunks = missingChunks;
+    }
+
+    public List<Integer> getMissingChunks() {
+        return missingChunks;
+    }
+}
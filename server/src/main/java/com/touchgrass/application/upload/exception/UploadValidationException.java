@@ -0,0 +1,18 @@
+package com.touchgrass.application.upload.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UploadValidationException extends RuntimeException {
+    private final String field;
+
+    public UploadValidationException(String field, String message) {
+        super(field == null ? message : field + ": " + message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,20 @@
+package com.touchgrass.application.upload.exception;
+
+import com.touchgrass.domain.upload.model.ImageVariant;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class VariantNotReadyException extends RuntimeException {
+    private final boolean pending;
+
+    public VariantNotReadyException(String uploadId, ImageVariant variant, boolean pending) {
+        super("No " + variant.getName() + " variant " + (pending ? "yet " : "") + "for upload " + uploadId);
+        this.pending = pending;
+    }
+
+    /** Whether the variant is still being generated, as opposed to never going to exist. */
+    public boolean isPending() {
+        return pending;
+    }
+}
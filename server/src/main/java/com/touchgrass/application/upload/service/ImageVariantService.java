@@ -0,0 +1,236 @@
+package com.touchgrass.application.upload.service;
+
+import com.touchgrass.core.util.BoundedExecutors;
+import com.touchgrass.domain.upload.model.ImageVariant;
+import com.touchgrass.domain.upload.model.StoredObject;
+import com.touchgrass.domain.upload.model.VariantJob;
+import com.touchgrass.domain.upload.model.VariantJobStatus;
+import com.touchgrass.domain.upload.repository.StoredObjectRepository;
+import com.touchgrass.domain.upload.repository.VariantJobRepository;
+import com.touchgrass.infrastructure.image.ImageVariantRenderer;
+import com.touchgrass.infrastructure.image.UnprocessableImageException;
+import com.touchgrass.infrastructure.storage.ObjectStore;
+import com.touchgrass.infrastructure.storage.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates the {@link ImageVariant}s of uploaded photos in the background.
+ *
+ * Completing an upload queues a {@link VariantJob} for its content and hands
+ * it to a small fixed pool of platform threads, sized well below the CPU
+ * count so resizing never competes with request handling for long. The job
+ * row is what makes this durable: work that didn't fit in the pool's queue,
+ * failed transiently, or was lost with a crashed process is found again by
+ * {@link #resumePending()}. Processing is idempotent - variants are written
+ * under keys derived from the content hash, replacing whatever a previous
+ * attempt left there.
+ */
+@Service
+public class ImageVariantService {
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final VariantJobRepository jobRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final ObjectStore objectStore;
+    private final ImageVariantRenderer renderer;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long leaseInMs;
+    private final int maxAttempts;
+
+    // Jobs handed to the executor and not yet finished, so the poller doesn't queue them twice.
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public ImageVariantService(VariantJobRepository jobRepository, StoredObjectRepository storedObjectRepository,
+            ObjectStore objectStore, ImageVariantRenderer renderer,
+            @Value("${images.variants.workers:0}") int workers,
+            @Value("${images.variants.queue-capacity:256}") int queueCapacity,
+            @Value("${images.variants.lease:300000}") long leaseInMs,
+            @Value("${images.variants.max-attempts:3}") int maxAttempts) {
+        this.jobRepository = jobRepository;
+        this.storedObjectRepository = storedObjectRepository;
+        this.objectStore = objectStore;
+        this.renderer = renderer;
+        this.queueCapacity = queueCapacity;
+        this.leaseInMs = leaseInMs;
+        this.maxAttempts = maxAttempts;
+
+        int poolSize = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = BoundedExecutors.fixed("image-variants", poolSize, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues variant generation for newly stored content. Content we can't
+     * decode at all is skipped, and content that already has a job (because
+     * someone uploaded the same file before) is not processed again.
+     */
+    public void enqueue(String sha256, String contentType) {
+        if (!renderer.canRender(contentType)) {
+            return;
+        }
+        if (jobRepository.insertIfAbsent(sha256, LocalDateTime.now()) == 1) {
+            submitAfterCommit(sha256);
+        }
+    }
+
+    public Optional<VariantJobStatus> status(String sha256) {
+        return jobRepository.findStatus(sha256);
+    }
+
+    /**
+     * Runs one job on the calling thread, if it can be claimed.
+     *
+     * @return false if the job is done, failed, or currently leased by another worker
+     */
+    public boolean process(String sha256) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.claim(sha256, now, now.plus(Duration.ofMillis(leaseInMs))) == 0) {
+            return false;
+        }
+        int attempts = jobRepository.findById(sha256).map(VariantJob::getAttempts).orElse(1);
+        if (attempts > maxAttempts) {
+            // Claimed again after a lease expired, i.e. previous attempts never got as far as failing.
+            finish(sha256, VariantJobStatus.FAILED, "Gave up after " + maxAttempts + " attempts");
+            failedCount.increment();
+            return true;
+        }
+
+        try {
+            StoredObject object = storedObjectRepository.findById(sha256)
+                    .orElseThrow(() -> new UnprocessableImageException("No stored object " + sha256));
+            try (ReadableByteChannel source = objectStore.open(object.getStorageKey())) {
+                renderer.render(source, (variant, image) -> {
+                    try (ObjectWriter writer = objectStore.newObject()) {
+                        renderer.writeJpeg(image, writer);
+                        writer.commit(variantKey(sha256, variant));
+                    }
+                });
+            }
+            finish(sha256, VariantJobStatus.DONE, null);
+            processedCount.increment();
+        } catch (UnprocessableImageException e) {
+            log.info("No variants for {}: {}", sha256, e.getMessage());
+            finish(sha256, VariantJobStatus.FAILED, e.getMessage());
+            failedCount.increment();
+        } catch (IOException | RuntimeException e) {
+            boolean retry = attempts < maxAttempts;
+            log.warn("Variant generation failed for {} (attempt {} of {})", sha256, attempts, maxAttempts, e);
+            finish(sha256, retry ? VariantJobStatus.PENDING : VariantJobStatus.FAILED, e.toString());
+            if (!retry) {
+                failedCount.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Requeues jobs that are pending (not yet run, or waiting for a retry) or
+     * whose lease has run out, filling whatever room is left in the queue.
+     */
+    @Scheduled(fixedDelayString = "${images.variants.poll-interval:30000}")
+    public void resumePending() {
+        int room = queueCapacity - executor.getQueue().size();
+        if (room <= 0) {
+            return;
+        }
+        for (String sha256 : jobRepository.findRunnable(LocalDateTime.now(), PageRequest.of(0, room))) {
+            submit(sha256);
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Anything queued or interrupted is still in the job table.
+        executor.shutdownNow();
+    }
+
+    static String variantKey(String sha256, ImageVariant variant) {
+        return "variants/" + sha256.substring(0, 2) + "/" + sha256 + "/" + variant.getName();
+    }
+
+    private void submitAfterCommit(String sha256) {
+        // Inside a transaction the worker must not look for the job before it is visible.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(sha256);
+                }
+            });
+        } else {
+            submit(sha256);
+        }
+    }
+
+    private void submit(String sha256) {
+        if (!inFlight.add(sha256)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(sha256);
+                } catch (RuntimeException e) {
+                    log.warn("Variant job {} could not be recorded; its lease will expire", sha256, e);
+                } finally {
+                    inFlight.remove(sha256);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Left pending; the poller picks it up once the queue drains.
+            inFlight.remove(sha256);
+            rejectedCount.increment();
+        }
+    }
+
+    private void finish(String sha256, VariantJobStatus status, String error) {
+        String message = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        jobRepository.finish(sha256, status, message, LocalDateTime.now());
+    }
+}
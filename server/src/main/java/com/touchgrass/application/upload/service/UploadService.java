@@ -0,0 +1,366 @@
+package com.touchgrass.application.upload.service;
+
+import com.touchgrass.application.upload.dto.CreateUploadSessionRequest;
+import com.touchgrass.application.upload.dto.UploadContent;
+import com.touchgrass.application.upload.dto.UploadResponse;
+import com.touchgrass.application.upload.dto.UploadSessionResponse;
+import com.touchgrass.application.upload.exception.ChecksumMismatchException;
+import com.touchgrass.application.upload.exception.UploadIncompleteException;
+import com.touchgrass.application.upload.exception.UploadValidationException;
+import com.touchgrass.application.upload.exception.VariantNotReadyException;
+import com.touchgrass.domain.exceptions.UploadNotFoundException;
+import com.touchgrass.domain.upload.model.ImageVariant;
+import com.touchgrass.domain.upload.model.StoredObject;
+import com.touchgrass.domain.upload.model.Upload;
+import com.touchgrass.domain.upload.model.UploadChunk;
+import com.touchgrass.domain.upload.model.UploadStatus;
+import com.touchgrass.domain.upload.model.VariantJobStatus;
+import com.touchgrass.domain.upload.repository.StoredObjectRepository;
+import com.touchgrass.domain.upload.repository.UploadChunkRepository;
+import com.touchgrass.domain.upload.repository.UploadRepository;
+import com.touchgrass.infrastructure.storage.ObjectStore;
+import com.touchgrass.infrastructure.storage.ObjectWriter;
+import com.touchgrass.infrastructure.storage.TransferBuffers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streams photo uploads into the {@link ObjectStore}, either in one request or
+ * as a resumable sequence of checksummed chunks.
+ *
+ * Bodies go from the request channel to the store through
+ * {@link TransferBuffers}, hashing on the way, and are never held in memory.
+ * Content is stored once per SHA-256 under {@code blobs/sha256/..}; uploads
+ * are per-user records pointing at it.
+ *
+ * None of these methods hold a transaction (or a pooled connection) while a
+ * body is being streamed; each repository call commits on its own, ordered so
+ * that a failure part-way leaves at most unreferenced blobs or chunks behind.
+ * Once content is stored, display variants are generated in the background
+ * by {@link ImageVariantService}.
+ */
+@Service
+public class UploadService {
+    private static final Logger log = LoggerFactory.getLogger(UploadService.class);
+    // Only what ImageVariantRenderer can decode, so every upload gets its variants.
+    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of("image/jpeg", "image/png", "image/gif");
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int PURGE_BATCH_SIZE = 100;
+
+    private final UploadRepository uploadRepository;
+    private final UploadChunkRepository chunkRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final ObjectStore objectStore;
+    private final TransferBuffers transferBuffers;
+    private final ImageVariantService imageVariantService;
+    private final long maxSize;
+    private final int chunkSize;
+    private final long sessionTtlInMs;
+
+    public UploadService(UploadRepository uploadRepository, UploadChunkRepository chunkRepository,
+            StoredObjectRepository storedObjectRepository, ObjectStore objectStore, TransferBuffers transferBuffers,
+            ImageVariantService imageVariantService,
+            @Value("${uploads.max-size:20MB}") DataSize maxSize,
+            @Value("${uploads.chunk-size:1MB}") DataSize chunkSize,
+            @Value("${uploads.session-ttl:86400000}") long sessionTtlInMs) {
+        this.uploadRepository = uploadRepository;
+        this.chunkRepository = chunkRepository;
+        this.storedObjectRepository = storedObjectRepository;
+        this.objectStore = objectStore;
+        this.transferBuffers = transferBuffers;
+        this.imageVariantService = imageVariantService;
+        this.maxSize = maxSize.toBytes();
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.sessionTtlInMs = sessionTtlInMs;
+    }
+
+    /**
+     * Stores a whole file sent in one request body.
+     *
+     * @param declaredLength the request's Content-Length, or -1 if unknown
+     */
+    public UploadResponse upload(Long userId, String contentType, long declaredLength, ReadableByteChannel body)
+            throws IOException {
+        String type = checkContentType(contentType);
+        if (declaredLength > maxSize) {
+            throw tooLarge();
+        }
+
+        MessageDigest digest = sha256();
+        long size;
+        String sha256;
+        try (ObjectWriter writer = objectStore.newObject()) {
+            size = transferBuffers.transfer(body, writer, digest, maxSize);
+            if (size > maxSize) {
+                throw tooLarge();
+            }
+            if (size == 0) {
+                throw new UploadValidationException("file", "is empty");
+            }
+            sha256 = HEX.formatHex(digest.digest());
+            commitBlob(writer, sha256, size, type);
+        }
+
+        Upload upload = Upload.completed(UUID.randomUUID().toString(), userId, type, sha256, size);
+        Upload saved = uploadRepository.save(upload);
+        imageVariantService.enqueue(sha256, type);
+        return UploadResponse.from(saved);
+    }
+
+    public UploadSessionResponse createSession(Long userId, CreateUploadSessionRequest request) {
+        String type = checkContentType(request.contentType());
+        if (request.totalSize() <= 0) {
+            throw new UploadValidationException("totalSize", "must be positive");
+        }
+        if (request.totalSize() > maxSize) {
+            throw tooLarge();
+        }
+
+        int chunkCount = Math.toIntExact((request.totalSize() + chunkSize - 1) / chunkSize);
+        Upload upload = new Upload(UUID.randomUUID().toString(), userId, type, request.totalSize(), chunkSize,
+                chunkCount, LocalDateTime.now().plus(Duration.ofMillis(sessionTtlInMs)));
+        return UploadSessionResponse.from(uploadRepository.save(upload), List.of());
+    }
+
+    public UploadSessionResponse getSession(Long userId, String uploadId) {
+        Upload upload = findUpload(userId, uploadId);
+        List<Integer> received = upload.isComplete() ? List.of() : chunkRepository.findChunkIndexes(uploadId);
+        return UploadSessionResponse.from(upload, received);
+    }
+
+    /**
+     * Stores one chunk of a session. The body must be exactly the chunk's
+     * length and hash to {@code expectedSha256}, otherwise it is discarded.
+     * Re-sending a chunk that already arrived intact is a no-op.
+     */
+    public UploadSessionResponse putChunk(Long userId, String uploadId, int index, String expectedSha256,
+            ReadableByteChannel body) throws IOException {
+        Upload upload = findOpenSession(userId, uploadId);
+        if (index < 0 || index >= upload.getChunkCount()) {
+            throw new UploadValidationException("index", "must be between 0 and " + (upload.getChunkCount() - 1));
+        }
+        String expected = expectedSha256 == null ? null : expectedSha256.trim().toLowerCase(Locale.ROOT);
+        if (expected == null || expected.length() != 64 || !expected.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new UploadValidationException("checksum", "a hex SHA-256 of the chunk is required");
+        }
+
+        UploadChunk existing = chunkRepository.findByUploadIdAndChunkIndex(uploadId, index).orElse(null);
+        if (existing != null && existing.getSha256().equals(expected)) {
+            return UploadSessionResponse.from(upload, chunkRepository.findChunkIndexes(uploadId));
+        }
+
+        long length = upload.chunkLength(index);
+        MessageDigest digest = sha256();
+        try (ObjectWriter writer = objectStore.newObject()) {
+            long received = transferBuffers.transfer(body, writer, digest, length);
+            if (received != length) {
+                throw new UploadValidationException("chunk", "chunk " + index + " must be " + length + " bytes");
+            }
+            String actual = HEX.formatHex(digest.digest());
+            if (!actual.equals(expected)) {
+                throw new ChecksumMismatchException(index, expected, actual);
+            }
+            writer.commit(chunkKey(uploadId, index));
+        }
+
+        if (existing != null) {
+            existing.setSize(length);
+            existing.setSha256(expected);
+            chunkRepository.save(existing);
+        } else {
+            chunkRepository.save(new UploadChunk(uploadId, index, length, expected));
+        }
+        return UploadSessionResponse.from(upload, chunkRepository.findChunkIndexes(uploadId));
+    }
+
+    /**
+     * Concatenates the chunks into the final object, hashing as it goes, and
+     * marks the upload complete. Completing twice concurrently fails one of
+     * the calls on the upload's {@code @Version}.
+     */
+    public UploadResponse completeSession(Long userId, String uploadId) throws IOException {
+        Upload upload = findOpenSession(userId, uploadId);
+        List<Integer> received = chunkRepository.findChunkIndexes(uploadId);
+        if (received.size() != upload.getChunkCount()) {
+            Set<Integer> present = new HashSet<>(received);
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < upload.getChunkCount(); i++) {
+                if (!present.contains(i)) {
+                    missing.add(i);
+                }
+            }
+            throw new UploadIncompleteException(missing);
+        }
+
+        MessageDigest digest = sha256();
+        String sha256;
+        try (ObjectWriter writer = objectStore.newObject()) {
+            long total = 0;
+            for (int i = 0; i < upload.getChunkCount(); i++) {
+                try (ReadableByteChannel chunk = objectStore.open(chunkKey(uploadId, i))) {
+                    total += transferBuffers.transfer(chunk, writer, digest, upload.chunkLength(i));
+                }
+            }
+            if (total != upload.getTotalSize()) {
+                throw new IllegalStateException("Assembled " + total + " bytes for upload " + uploadId
+                        + ", expected " + upload.getTotalSize());
+            }
+            sha256 = HEX.formatHex(digest.digest());
+            commitBlob(writer, sha256, total, upload.getContentType());
+        }
+
+        upload.complete(sha256, upload.getTotalSize());
+        Upload saved = uploadRepository.save(upload);
+        discardChunks(uploadId);
+        imageVariantService.enqueue(sha256, saved.getContentType());
+        return UploadResponse.from(saved);
+    }
+
+    public UploadResponse getUpload(Long userId, String uploadId) {
+        return UploadResponse.from(findCompleteUpload(userId, uploadId));
+    }
+
+    public UploadContent openContent(Long userId, String uploadId) throws IOException {
+        Upload upload = findCompleteUpload(userId, uploadId);
+        StoredObject object = storedObjectRepository.findById(upload.getSha256())
+                .orElseThrow(() -> new UploadNotFoundException(uploadId));
+        return new UploadContent(objectStore.open(object.getStorageKey()), object.getContentType(),
+                object.getSize(), object.getSha256());
+    }
+
+    /**
+     * Opens a display variant of a complete upload. Unlike the original,
+     * which is private to its owner, variants are shared with anyone who has
+     * the upload's id: they are what feeds and profiles show, and being
+     * re-encoded they carry none of the original's metadata (such as location).
+     *
+     * @throws VariantNotReadyException if the variant hasn't been, or can't be, generated
+     */
+    public UploadContent openVariant(String uploadId, ImageVariant variant) throws IOException {
+        Upload upload = uploadRepository.findById(uploadId)
+                .filter(Upload::isComplete)
+                .orElseThrow(() -> new UploadNotFoundException(uploadId));
+        ReadableByteChannel channel;
+        try {
+            channel = objectStore.open(ImageVariantService.variantKey(upload.getSha256(), variant));
+        } catch (NoSuchFileException e) {
+            boolean pending = imageVariantService.status(upload.getSha256())
+                    .filter(status -> status == VariantJobStatus.PENDING || status == VariantJobStatus.RUNNING)
+                    .isPresent();
+            throw new VariantNotReadyException(uploadId, variant, pending);
+        }
+        try {
+            long size = channel instanceof SeekableByteChannel seekable ? seekable.size() : -1;
+            return new UploadContent(channel, "image/jpeg", size, upload.getSha256());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Drops sessions that were never completed, along with their chunks.
+     */
+    @Scheduled(fixedDelayString = "${uploads.purge-interval:600000}")
+    public void purgeExpiredSessions() {
+        List<Upload> expired = uploadRepository.findByStatusAndExpiresAtBefore(UploadStatus.UPLOADING,
+                LocalDateTime.now(), PageRequest.of(0, PURGE_BATCH_SIZE));
+        for (Upload upload : expired) {
+            try {
+                discardChunks(upload.getId());
+                uploadRepository.delete(upload);
+            } catch (Exception e) {
+                log.warn("Failed to purge expired upload {}", upload.getId(), e);
+            }
+        }
+    }
+
+    private void commitBlob(ObjectWriter writer, String sha256, long size, String contentType) throws IOException {
+        String key = blobKey(sha256);
+        // Identical content already stored: closing the writer discards this copy.
+        if (!objectStore.exists(key)) {
+            writer.commit(key);
+        }
+        storedObjectRepository.insertIfAbsent(sha256, size, contentType, key, LocalDateTime.now());
+    }
+
+    private void discardChunks(String uploadId) throws IOException {
+        objectStore.deleteAll("chunks/" + uploadId);
+        chunkRepository.deleteByUploadId(uploadId);
+    }
+
+    private Upload findUpload(Long userId, String uploadId) {
+        return uploadRepository.findByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new UploadNotFoundException(uploadId));
+    }
+
+    private Upload findOpenSession(Long userId, String uploadId) {
+        Upload upload = findUpload(userId, uploadId);
+        if (upload.isComplete() || upload.isExpired(LocalDateTime.now())) {
+            throw new UploadNotFoundException(uploadId);
+        }
+        return upload;
+    }
+
+    private Upload findCompleteUpload(Long userId, String uploadId) {
+        Upload upload = findUpload(userId, uploadId);
+        if (!upload.isComplete()) {
+            throw new UploadNotFoundException(uploadId);
+        }
+        return upload;
+    }
+
+    private UploadValidationException tooLarge() {
+        return new UploadValidationException("file", "must be at most " + maxSize + " bytes");
+    }
+
+    private static String checkContentType(String contentType) {
+        if (contentType == null) {
+            throw new UploadValidationException("contentType", "is required");
+        }
+        int parameters = contentType.indexOf(';');
+        String type = (parameters >= 0 ? contentType.substring(0, parameters) : contentType)
+                .trim().toLowerCase(Locale.ROOT);
+        if (!ALLOWED_CONTENT_TYPES.contains(type)) {
+            throw new UploadValidationException("contentType", "must be one of " + ALLOWED_CONTENT_TYPES);
+        }
+        return type;
+    }
+
+    static String blobKey(String sha256) {
+        return "blobs/sha256/" + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    private static String chunkKey(String uploadId, int index) {
+        return "chunks/" + uploadId + "/" + index;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.touchgrass.application.user.dto;
+
+import com.touchgrass.application.user.exception.UserValidationException;
+import com.touchgrass.domain.user.model.UserSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the admin user listing: the (createdAt, id) of the last user
+ * on a page. Clients see it as an opaque URL-safe string.
+ */
+public record UserCursor(LocalDateTime createdAt, long id) {
+
+    public static UserCursor after(UserSummary user) {
+        return new UserCursor(user.createdAt(), user.id());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new UserCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new UserValidationException("after", "invalid cursor");
+        }
+    }
+}
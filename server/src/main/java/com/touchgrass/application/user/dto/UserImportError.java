@@ -0,0 +1,9 @@
+package com.touchgrass.application.user.dto;
+
+/**
+ * Why one row of a bulk import was skipped. {@code line} is where the row
+ * starts in the uploaded file, counting from 1; {@code field} is
+ * {@code null} when the row as a whole is at fault.
+ */
+public record UserImportError(long line, String field, String message) {
+}
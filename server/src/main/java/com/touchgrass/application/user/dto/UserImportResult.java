@@ -0,0 +1,11 @@
+package com.touchgrass.application.user.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows that failed don't stop the others; only
+ * the first {@code users.import.max-reported-errors} failures are listed in
+ * {@code errors}, but all are counted in {@code failed}.
+ */
+public record UserImportResult(long imported, long failed, List<UserImportError> errors) {
+}
@@ -0,0 +1,37 @@
+package com.touchgrass.application.user.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One user in a bulk import, as an NDJSON object or a CSV record with these
+ * names as headers. Each row carries either a plain {@code password}, which
+ * is hashed on import, or the {@code passwordHash} from an export. A missing
+ * {@code createdAt} means now; other fields in an export are ignored.
+ */
+public record UserImportRow(
+        @NotBlank(message = "Username is required")
+        @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+        String username,
+
+        @NotBlank(message = "Email is required")
+        @Email(message = "Invalid email format")
+        String email,
+
+        @Size(min = 6, message = "Password must be at least 6 characters")
+        String password,
+
+        @Pattern(regexp = "\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}", message = "Password hash must be a bcrypt hash")
+        String passwordHash,
+
+        String firstName,
+        String lastName,
+        LocalDate dateOfBirth,
+        boolean isAdmin,
+        LocalDateTime createdAt) {
+}
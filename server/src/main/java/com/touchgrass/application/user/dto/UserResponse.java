@@ -1,6 +1,8 @@
 package com.touchgrass.application.user.dto;
 
+import com.touchgrass.application.upload.dto.ImageVariantUrls;
 import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -15,7 +17,8 @@ public record UserResponse(
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         LocalDateTime lastActive,
-        String avatarUrl) {
+        String avatarUrl,
+        ImageVariantUrls avatarVariants) {
 
     public static UserResponse from(User user) {
         return new UserResponse(
@@ -29,6 +32,23 @@ public record UserResponse(
                 user.getCreatedAt(),
                 user.getUpdatedAt(),
                 user.getLastActive(),
-                user.getAvatarUrl());
+                user.getAvatarUrl(),
+                ImageVariantUrls.fromContentUrl(user.getAvatarUrl()));
+    }
+
+    public static UserResponse from(UserSnapshot user) {
+        return new UserResponse(
+                user.id(),
+                user.username(),
+                user.email(),
+                user.firstName(),
+                user.lastName(),
+                user.dateOfBirth(),
+                user.isAdmin(),
+                user.createdAt(),
+                user.updatedAt(),
+                user.lastActive(),
+                user.avatarUrl(),
+                ImageVariantUrls.fromContentUrl(user.avatarUrl()));
     }
 }
\ No newline at end of file
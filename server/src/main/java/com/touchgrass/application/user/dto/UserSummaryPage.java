@@ -0,0 +1,13 @@
+package com.touchgrass.application.user.dto;
+
+import com.touchgrass.domain.user.model.UserSummary;
+
+import java.util.List;
+
+/**
+ * One page of the admin user listing, oldest account first. Pass
+ * {@code nextCursor} as {@code after} to get the next page; it is
+ * {@code null} on the last page.
+ */
+public record UserSummaryPage(List<UserSummary> items, String nextCursor) {
+}
@@ -0,0 +1,40 @@
+package com.touchgrass.application.user.dto;
+
+import org.springframework.http.MediaType;
+
+/** File formats for bulk user import and export. */
+public enum UserTransferFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv"));
+
+    private final String name;
+    private final MediaType mediaType;
+
+    UserTransferFormat(String name, MediaType mediaType) {
+        this.name = name;
+        this.mediaType = mediaType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /** The format called {@code name}, or {@code null} if there is none. */
+    public static UserTransferFormat fromName(String name) {
+        for (UserTransferFormat format : values()) {
+            if (format.name.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
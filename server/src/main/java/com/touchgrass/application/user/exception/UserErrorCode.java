@@ -2,7 +2,9 @@ package com.touchgrass.application.user.exception;
 
 public enum UserErrorCode {
     USER_NOT_FOUND("USER_NOT_FOUND"),
-    PERMISSION_DENIED("PERMISSION_DENIED");
+    PERMISSION_DENIED("PERMISSION_DENIED"),
+    VALIDATION_ERROR("VALIDATION_ERROR"),
+    UPDATE_CONFLICT("UPDATE_CONFLICT");
 
     private final String code;
 
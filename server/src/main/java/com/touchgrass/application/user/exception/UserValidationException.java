@@ -0,0 +1,18 @@
+package com.touchgrass.application.user.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UserValidationException extends RuntimeException {
+    private final String field;
+
+    public UserValidationException(String field, String message) {
+        super(field == null ? message : field + ": " + message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
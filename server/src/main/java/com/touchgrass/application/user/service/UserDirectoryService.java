@@ -0,0 +1,104 @@
+package com.touchgrass.application.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.touchgrass.application.user.dto.UserCursor;
+import com.touchgrass.application.user.dto.UserSummaryPage;
+import com.touchgrass.domain.user.model.UserSummary;
+import com.touchgrass.domain.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Admin browsing of all users. Pages are read by seeking past the last
+ * (created_at, id) seen rather than by offset, so every page costs the same
+ * however deep it is, and only the columns in {@link UserSummary} are
+ * selected. A prefix search reads the matching ids off the username and
+ * email indexes first, then their summaries by id.
+ */
+@Service
+public class UserDirectoryService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserRepository userRepository;
+    private final ObjectWriter summaryWriter;
+    private final int exportBatchSize;
+
+    public UserDirectoryService(UserRepository userRepository, ObjectMapper objectMapper,
+            @Value("${users.export.batch-size:1000}") int exportBatchSize) {
+        this.userRepository = userRepository;
+        this.summaryWriter = objectMapper.writerFor(UserSummary.class);
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    /**
+     * One page of users, oldest first, after {@code after} (a previous page's
+     * {@code nextCursor}), optionally only those whose username or email
+     * starts with {@code query}.
+     */
+    public UserSummaryPage list(String query, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<UserSummary> users = page(prefixPattern(query), after != null ? UserCursor.decode(after) : null, pageSize);
+        String nextCursor = users.size() == pageSize ? UserCursor.after(users.get(users.size() - 1)).encode() : null;
+        return new UserSummaryPage(users, nextCursor);
+    }
+
+    /**
+     * Writes every matching user to {@code out} as newline-delimited JSON,
+     * one keyset page at a time. Only one page is held in memory, and each
+     * page is flushed before the next is read, so exporting all users runs in
+     * constant memory.
+     */
+    public long export(String query, OutputStream out) throws IOException {
+        String prefix = prefixPattern(query);
+        UserCursor cursor = null;
+        long written = 0;
+        while (true) {
+            List<UserSummary> users = page(prefix, cursor, exportBatchSize);
+            for (UserSummary user : users) {
+                out.write(summaryWriter.writeValueAsBytes(user));
+                out.write('\n');
+            }
+            out.flush();
+            written += users.size();
+            if (users.size() < exportBatchSize) {
+                return written;
+            }
+            cursor = UserCursor.after(users.get(users.size() - 1));
+        }
+    }
+
+    private List<UserSummary> page(String prefix, UserCursor cursor, int size) {
+        if (prefix == null) {
+            PageRequest page = PageRequest.of(0, size);
+            return cursor == null
+                    ? userRepository.findSummaries(page)
+                    : userRepository.findSummariesAfter(cursor.createdAt(), cursor.id(), page);
+        }
+        // Matching by prefix uses the username and email indexes rather than the creation-order one.
+        List<Long> ids = cursor == null
+                ? userRepository.findIdsByPrefix(prefix, size)
+                : userRepository.findIdsByPrefixAfter(prefix, cursor.createdAt(), cursor.id(), size);
+        return ids.isEmpty() ? List.of() : userRepository.findSummariesByIdIn(ids);
+    }
+
+    /** A LIKE pattern matching values that start with {@code query}, or {@code null} to match everything. */
+    static String prefixPattern(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        StringBuilder pattern = new StringBuilder(query.length() + 2);
+        for (char c : query.strip().toCharArray()) {
+            if (c == '!' || c == '%' || c == '_') {
+                pattern.append('!');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -1,40 +1,223 @@
 package com.touchgrass.application.user.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.touchgrass.core.util.StringUtils;
+import com.touchgrass.application.auth.exception.AuthenticationException;
+import com.touchgrass.application.user.dto.UserResponse;
+import com.touchgrass.application.user.exception.UserValidationException;
+import com.touchgrass.core.util.PerfectHashTable;
+import com.touchgrass.domain.exceptions.UserNotFoundException;
 import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserEvents;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.metrics.StageTimers;
+import com.touchgrass.infrastructure.outbox.Outbox;
+import com.touchgrass.infrastructure.user.UserCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class UserService {
-    private final ObjectMapper objectMapper;
+    private enum PatchField {
+        FIRST_NAME("first_name", "firstName"),
+        LAST_NAME("last_name", "lastName"),
+        DATE_OF_BIRTH("date_of_birth", "dateOfBirth"),
+        AVATAR_URL("avatar_url", "avatarUrl");
 
-    public UserService(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        private final String snakeName;
+        private final String camelName;
+
+        PatchField(String snakeName, String camelName) {
+            this.snakeName = snakeName;
+            this.camelName = camelName;
+        }
+    }
+
+    private static final PerfectHashTable<PatchField> PATCH_FIELDS = patchFieldTable();
+
+    private final JsonFactory jsonFactory;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final Outbox outbox;
+    private final StageTimers stageTimers;
+
+    public UserService(ObjectMapper objectMapper, UserRepository userRepository, UserCache userCache,
+            Outbox outbox, MeterRegistry meterRegistry) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.outbox = outbox;
+        this.stageTimers = new StageTimers(meterRegistry, "user.patch.stage");
+    }
+
+    /**
+     * Patches the user with the given username; see {@link #updateUser(Long, String)}.
+     */
+    @Transactional
+    public UserResponse updateCurrentUser(String username, String json) {
+        return applyPatch(findCurrentUser(username), json);
+    }
+
+    /**
+     * Loads the managed entity, applies the patch and lets dirty checking
+     * write only the changed columns. A patch that changes nothing issues no
+     * UPDATE and leaves the version and cache untouched.
+     *
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException
+     *         if a concurrent update committed first
+     */
+    @Transactional
+    public UserResponse updateUser(Long id, String json) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+        return applyPatch(user, json);
+    }
+
+    @Transactional
+    public void deleteCurrentUser(String username) {
+        User user = findCurrentUser(username);
+        userRepository.delete(user);
+        userCache.evictLocal(user);
+        publishDeleted(user.getId());
     }
 
-    public void updateUserFromJson(User user, String json) {
+    @Transactional
+    public void deleteUser(Long id) {
+        userRepository.deleteById(id);
+        userCache.evictLocal(id);
+        publishDeleted(id);
+    }
+
+    private void publishDeleted(Long id) {
+        outbox.publish(UserEvents.DELETED, id, UserEvents.DELETED + ":" + id, Map.of());
+    }
+
+    private User findCurrentUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new AuthenticationException("Current user not found"));
+    }
+
+    private UserResponse applyPatch(User user, String json) {
+        boolean changed = updateUserFromJson(user, json);
+        if (changed) {
+            // Flush now so @PreUpdate and the version bump are reflected in the response.
+            userRepository.flush();
+            userCache.evictLocal(user);
+            outbox.publish(UserEvents.UPDATED, user.getId(),
+                    UserEvents.UPDATED + ":" + user.getId() + ":" + user.getVersion(),
+                    Map.of("version", user.getVersion()));
+        }
+        return UserResponse.from(user);
+    }
+
+    /**
+     * Applies a JSON merge-style patch to the user in a single streaming pass.
+     * Field names may be snake_case or camelCase; unknown fields are ignored.
+     *
+     * @return whether any field actually changed
+     * @throws UserValidationException if the body or a field value is invalid
+     */
+    public boolean updateUserFromJson(User user, String json) {
+        long start = System.nanoTime();
+        String outcome = "invalid";
         try {
-            Map<String, String> updates = objectMapper.readValue(json, new TypeReference<Map<String, String>>() {
-            });
-
-            for (Map.Entry<String, String> entry : updates.entrySet()) {
-                String camelKey = StringUtils.snakeToCamel(entry.getKey());
-                String value = entry.getValue();
-
-                switch (camelKey) {
-                    case "firstName" -> user.setFirstName(value);
-                    case "lastName" -> user.setLastName(value);
-                    case "dateOfBirth" -> user.setDateOfBirth(LocalDate.parse(value));
-                    case "avatarUrl" -> user.setAvatarUrl(value);
+            boolean changed = applyJson(user, json);
+            outcome = changed ? "changed" : "unchanged";
+            return changed;
+        } finally {
+            stageTimers.record("apply", outcome, start);
+        }
+    }
+
+    private boolean applyJson(User user, String json) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new UserValidationException(null, "Request body must be a JSON object");
+            }
+
+            boolean changed = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                PatchField field = PATCH_FIELDS.get(parser.getTextCharacters(), parser.getTextOffset(),
+                        parser.getTextLength());
+                JsonToken valueToken = parser.nextToken();
+                if (field == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                changed |= apply(user, field, readValue(parser, valueToken, field));
+            }
+            return changed;
+        } catch (IOException e) {
+            throw new UserValidationException(null, "Malformed JSON request body");
+        }
+    }
+
+    private static String readValue(JsonParser parser, JsonToken token, PatchField field) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> throw new UserValidationException(field.snakeName, "must be a string or null");
+        };
+    }
+
+    private static boolean apply(User user, PatchField field, String value) {
+        switch (field) {
+            case FIRST_NAME -> {
+                if (Objects.equals(user.getFirstName(), value)) {
+                    return false;
                 }
+                user.setFirstName(value);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to update user from JSON", e);
+            case LAST_NAME -> {
+                if (Objects.equals(user.getLastName(), value)) {
+                    return false;
+                }
+                user.setLastName(value);
+            }
+            case DATE_OF_BIRTH -> {
+                LocalDate dateOfBirth = parseDate(field, value);
+                if (Objects.equals(user.getDateOfBirth(), dateOfBirth)) {
+                    return false;
+                }
+                user.setDateOfBirth(dateOfBirth);
+            }
+            case AVATAR_URL -> {
+                if (Objects.equals(user.getAvatarUrl(), value)) {
+                    return false;
+                }
+                user.setAvatarUrl(value);
+            }
+        }
+        return true;
+    }
+
+    private static LocalDate parseDate(PatchField field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new UserValidationException(field.snakeName, "must be an ISO-8601 date (yyyy-MM-dd)");
+        }
+    }
+
+    private static PerfectHashTable<PatchField> patchFieldTable() {
+        Map<String, PatchField> names = new HashMap<>();
+        for (PatchField field : PatchField.values()) {
+            names.put(field.snakeName, field);
+            names.put(field.camelName, field);
         }
+        return PerfectHashTable.of(names);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,555 @@
+package com.touchgrass.application.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.touchgrass.application.user.dto.UserImportError;
+import com.touchgrass.application.user.dto.UserImportResult;
+import com.touchgrass.application.user.dto.UserImportRow;
+import com.touchgrass.application.user.dto.UserTransferFormat;
+import com.touchgrass.application.user.exception.UserValidationException;
+import com.touchgrass.core.util.BoundedExecutors;
+import com.touchgrass.core.util.CsvReader;
+import com.touchgrass.core.util.CsvWriter;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.NegativeLookupCache;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * Bulk user import and export, for migrations and backups.
+ *
+ * Imports are read as a stream and written in chunks: each chunk is
+ * validated, checked against existing users in two queries, has its plain
+ * passwords hashed in parallel, and is inserted as one JDBC batch (which the
+ * MySQL driver rewrites into multi-row inserts). A bad row is reported and
+ * skipped without failing the rest of its chunk.
+ *
+ * Exports read a single forward-only result set, writing each row as it
+ * arrives, so memory use doesn't grow with the number of users. They include
+ * password hashes, so that an export can be imported again as is.
+ */
+@Service
+public class UserTransferService {
+    private static final String INSERT_SQL = "INSERT INTO users (username, email, password, first_name, last_name, "
+            + "date_of_birth, is_admin, created_at, updated_at, credential_version, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+    private static final String EXPORT_SQL = "SELECT id, username, email, password, first_name, last_name, "
+            + "date_of_birth, is_admin, created_at, last_active FROM users ORDER BY id";
+    private static final String[] EXPORT_COLUMNS = {"id", "username", "email", "passwordHash", "firstName",
+            "lastName", "dateOfBirth", "isAdmin", "createdAt", "lastActive"};
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NegativeLookupCache negativeLookupCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int exportFetchSize;
+
+    public UserTransferService(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, NegativeLookupCache negativeLookupCache,
+            Validator validator, ObjectMapper objectMapper,
+            @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${users.import.hashing-threads:0}") int hashingThreads,
+            @Value("${users.import.chunk-size:500}") int chunkSize,
+            @Value("${users.import.max-reported-errors:1000}") int maxReportedErrors,
+            @Value("${users.export.fetch-size:1000}") int exportFetchSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.negativeLookupCache = negativeLookupCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(UserImportRow.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.exportFetchSize = exportFetchSize;
+
+        // Separate from the login encoder's pool, so an import never takes
+        // its queue slots, but both pools hash on the same CPUs. By default
+        // an import gets a quarter of them, leaving the rest for logins.
+        // When this pool is busy the importing thread hashes too, rather
+        // than failing rows.
+        this.passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        this.hashingExecutor = BoundedExecutors.fixed("user-import-hash", threads, Math.max(1, chunkSize),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /** Imports every row in {@code in}, skipping and reporting rows that can't be imported. */
+    public UserImportResult importUsers(UserTransferFormat format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource rows = format == UserTransferFormat.CSV
+                ? new CsvRows(new CsvReader(reader))
+                : new NdjsonRows(reader);
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        ParsedRow row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+        return progress.result();
+    }
+
+    /**
+     * Writes every user to {@code out}, in id order.
+     *
+     * @return the number of users written
+     */
+    public long export(UserTransferFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = format == UserTransferFormat.CSV ? new CsvExport(out) : new NdjsonExport(out);
+        long[] written = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize(connection));
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                try {
+                    writer.write(resultSet);
+                    written[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        return written[0];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    /**
+     * MySQL's driver only streams a result set row by row when the fetch size
+     * is {@link Integer#MIN_VALUE}; with any other value it reads the whole
+     * result into memory first. Other drivers take an ordinary fetch size.
+     */
+    private int fetchSize(Connection connection) throws SQLException {
+        boolean mysql = "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+        return mysql ? Integer.MIN_VALUE : exportFetchSize;
+    }
+
+    private void importChunk(List<ParsedRow> chunk, ImportProgress progress) {
+        List<UserImportError> errors = new ArrayList<>();
+        long importedBefore = progress.imported;
+        insertChunk(chunk, errors, progress);
+        if (progress.imported > importedBefore) {
+            // One message for the chunk rather than two per imported user.
+            negativeLookupCache.invalidateAll();
+        }
+        errors.sort(Comparator.comparingLong(UserImportError::line));
+        errors.forEach(progress::fail);
+    }
+
+    private void insertChunk(List<ParsedRow> chunk, List<UserImportError> errors, ImportProgress progress) {
+        List<ParsedRow> candidates = new ArrayList<>(chunk.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ParsedRow parsed : chunk) {
+            UserImportError error = parsed.error() != null ? parsed.error() : validate(parsed);
+            if (error == null && usernames.contains(parsed.row().username())) {
+                error = new UserImportError(parsed.line(), "username", "Username appears earlier in the import");
+            } else if (error == null && emails.contains(parsed.row().email())) {
+                error = new UserImportError(parsed.line(), "email", "Email appears earlier in the import");
+            }
+            if (error != null) {
+                errors.add(error);
+                continue;
+            }
+            usernames.add(parsed.row().username());
+            emails.add(parsed.row().email());
+            candidates.add(parsed);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+        List<ParsedRow> inserts = new ArrayList<>(candidates.size());
+        for (ParsedRow parsed : candidates) {
+            if (takenUsernames.contains(parsed.row().username())) {
+                errors.add(new UserImportError(parsed.line(), "username", "Username is already taken"));
+            } else if (takenEmails.contains(parsed.row().email())) {
+                errors.add(new UserImportError(parsed.line(), "email", "Email is already registered"));
+            } else {
+                inserts.add(parsed);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        List<Insert> batch = hashPasswords(inserts);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch,
+                    batch.size(), (statement, insert) -> bind(statement, insert, now)));
+            progress.imported += batch.size();
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these names since the check above (or
+            // it differs only in case); insert one by one to find the row.
+            for (Insert insert : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, insert, now));
+                    progress.imported++;
+                } catch (DataIntegrityViolationException rowError) {
+                    errors.add(duplicate(insert.line(), rowError));
+                }
+            }
+        }
+    }
+
+    private UserImportError validate(ParsedRow parsed) {
+        UserImportRow row = parsed.row();
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<UserImportRow> violation = violations.iterator().next();
+            return new UserImportError(parsed.line(), violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if ((row.password() == null) == (row.passwordHash() == null)) {
+            return new UserImportError(parsed.line(), "password",
+                    "Exactly one of password and passwordHash is required");
+        }
+        return null;
+    }
+
+    private List<Insert> hashPasswords(List<ParsedRow> rows) {
+        List<Callable<Insert>> tasks = new ArrayList<>(rows.size());
+        for (ParsedRow parsed : rows) {
+            UserImportRow row = parsed.row();
+            tasks.add(row.passwordHash() != null
+                    ? () -> new Insert(parsed.line(), row, row.passwordHash())
+                    : () -> new Insert(parsed.line(), row, passwordEncoder.encode(row.password())));
+        }
+        try {
+            List<Insert> inserts = new ArrayList<>(rows.size());
+            for (Future<Insert> insert : hashingExecutor.invokeAll(tasks)) {
+                inserts.add(insert.get());
+            }
+            return inserts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to hash an imported password", e.getCause());
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Insert insert, Timestamp now) throws SQLException {
+        UserImportRow row = insert.row();
+        statement.setString(1, row.username());
+        statement.setString(2, row.email());
+        statement.setString(3, insert.passwordHash());
+        statement.setString(4, row.firstName());
+        statement.setString(5, row.lastName());
+        statement.setObject(6, row.dateOfBirth());
+        statement.setBoolean(7, row.isAdmin());
+        statement.setTimestamp(8, row.createdAt() != null ? Timestamp.valueOf(row.createdAt()) : now);
+        statement.setTimestamp(9, now);
+    }
+
+
+    private static UserImportError duplicate(long line, DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(User.USERNAME_CONSTRAINT)) {
+            return new UserImportError(line, "username", "Username is already taken");
+        }
+        if (message.contains(User.EMAIL_CONSTRAINT)) {
+            return new UserImportError(line, "email", "Email is already registered");
+        }
+        return new UserImportError(line, null, "Username or email is already registered");
+    }
+
+    private record ParsedRow(long line, UserImportRow row, UserImportError error) {
+    }
+
+    private record Insert(long line, UserImportRow row, String passwordHash) {
+    }
+
+    private interface RowSource {
+        /** The next row, or {@code null} at end of input. */
+        ParsedRow next() throws IOException;
+    }
+
+    private final class NdjsonRows implements RowSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String json;
+            do {
+                json = reader.readLine();
+                line++;
+            } while (json != null && json.isBlank());
+            if (json == null) {
+                return null;
+            }
+            try {
+                return new ParsedRow(line, rowReader.readValue(json), null);
+            } catch (JsonMappingException e) {
+                String field = e.getPath().isEmpty() ? null : e.getPath().get(0).getFieldName();
+                return new ParsedRow(line, null, new UserImportError(line, field, e.getOriginalMessage()));
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(line, null,
+                        new UserImportError(line, null, "Invalid JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private static final class CsvRows implements RowSource {
+        private final CsvReader reader;
+        private Map<String, Integer> columns;
+
+        CsvRows(CsvReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> fields;
+            try {
+                if (columns == null) {
+                    columns = readHeader();
+                }
+                fields = reader.next();
+            } catch (EOFException e) {
+                return new ParsedRow(reader.getRecordLine(), null,
+                        new UserImportError(reader.getRecordLine(), null, e.getMessage()));
+            }
+            if (fields == null) {
+                return null;
+            }
+            long line = reader.getRecordLine();
+            try {
+                return new ParsedRow(line, new UserImportRow(
+                        value(fields, "username"),
+                        value(fields, "email"),
+                        value(fields, "password"),
+                        value(fields, "passwordHash"),
+                        value(fields, "firstName"),
+                        value(fields, "lastName"),
+                        parse(fields, "dateOfBirth", LocalDate::parse),
+                        Boolean.TRUE.equals(parse(fields, "isAdmin", CsvRows::parseBoolean)),
+                        parse(fields, "createdAt", LocalDateTime::parse)), null);
+            } catch (InvalidFieldException e) {
+                return new ParsedRow(line, null, new UserImportError(line, e.field, e.getMessage()));
+            }
+        }
+
+        private Map<String, Integer> readHeader() throws IOException {
+            List<String> header = reader.next();
+            if (header == null || !header.contains("username") || !header.contains("email")) {
+                throw new UserValidationException("file", "CSV must start with a header naming its columns");
+            }
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                indexes.putIfAbsent(header.get(i).strip(), i);
+            }
+            return indexes;
+        }
+
+        private String value(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        private <T> T parse(List<String> fields, String column, Function<String, T> parser) {
+            String value = value(fields, column);
+            try {
+                return value != null ? parser.apply(value) : null;
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidFieldException(column, "Invalid value: " + value);
+            }
+        }
+
+        private static Boolean parseBoolean(String value) {
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException(value);
+            }
+            return Boolean.valueOf(value);
+        }
+    }
+
+    private static final class InvalidFieldException extends RuntimeException {
+        private final String field;
+
+        InvalidFieldException(String field, String message) {
+            super(message);
+            this.field = field;
+        }
+    }
+
+    private interface ExportWriter {
+        void write(ResultSet resultSet) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonExport implements ExportWriter {
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonExport(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws IOException, SQLException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", resultSet.getLong("id"));
+            generator.writeStringField("username", resultSet.getString("username"));
+            generator.writeStringField("email", resultSet.getString("email"));
+            generator.writeStringField("passwordHash", resultSet.getString("password"));
+            generator.writeStringField("firstName", resultSet.getString("first_name"));
+            generator.writeStringField("lastName", resultSet.getString("last_name"));
+            generator.writeStringField("dateOfBirth", text(resultSet.getObject("date_of_birth", LocalDate.class)));
+            generator.writeBooleanField("isAdmin", resultSet.getBoolean("is_admin"));
+            generator.writeStringField("createdAt", text(resultSet.getObject("created_at", LocalDateTime.class)));
+            generator.writeStringField("lastActive", text(resultSet.getObject("last_active", LocalDateTime.class)));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        }
+    }
+
+    private static final class CsvExport implements ExportWriter {
+        private final CsvWriter writer;
+
+        CsvExport(OutputStream out) throws IOException {
+            this.writer = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.writeRecord(EXPORT_COLUMNS);
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws IOException, SQLException {
+            writer.writeRecord(
+                    Long.toString(resultSet.getLong("id")),
+                    resultSet.getString("username"),
+                    resultSet.getString("email"),
+                    resultSet.getString("password"),
+                    resultSet.getString("first_name"),
+                    resultSet.getString("last_name"),
+                    text(resultSet.getObject("date_of_birth", LocalDate.class)),
+                    Boolean.toString(resultSet.getBoolean("is_admin")),
+                    text(resultSet.getObject("created_at", LocalDateTime.class)),
+                    text(resultSet.getObject("last_active", LocalDateTime.class)));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static String text(Object value) {
+        return Objects.toString(value, null);
+    }
+
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<UserImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void fail(UserImportError error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+        }
+
+        UserImportResult result() {
+            return new UserImportResult(imported, failed, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.touchgrass.config;
+
+import com.touchgrass.application.habit.service.HabitReminderService;
+import com.touchgrass.application.upload.service.ImageVariantService;
+import com.touchgrass.infrastructure.auth.RefreshTokenStore;
+import com.touchgrass.infrastructure.auth.security.BoundedPasswordEncoder;
+import com.touchgrass.infrastructure.metrics.StatementCountingDataSource;
+import com.touchgrass.infrastructure.outbox.OutboxRelay;
+import com.touchgrass.infrastructure.ratelimit.AuthRateLimitFilter;
+import com.touchgrass.infrastructure.ratelimit.RateLimiter;
+import com.touchgrass.infrastructure.social.HighFanoutAuthors;
+import com.touchgrass.infrastructure.social.TimelineFanout;
+import com.touchgrass.infrastructure.storage.TransferBuffers;
+import com.touchgrass.infrastructure.user.LastActiveTracker;
+import com.touchgrass.infrastructure.user.UserCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (!(passwordEncoder instanceof BoundedPasswordEncoder encoder)) {
+                return;
+            }
+            Gauge.builder("auth.password.queue.depth", encoder, BoundedPasswordEncoder::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("auth.password.active", encoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.password.hashes", encoder, BoundedPasswordEncoder::getHashCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.password.hash.time", encoder,
+                    e -> e.getTotalHashTimeNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("auth.password.rejected", encoder, BoundedPasswordEncoder::getRejectedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> {
+            Gauge.builder("user.cache.size", userCache, UserCache::estimatedSize).register(registry);
+            FunctionCounter.builder("user.cache.requests", userCache, cache -> cache.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("user.cache.requests", userCache, cache -> cache.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("user.cache.evictions", userCache, cache -> cache.stats().evictionCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder lastActiveMetrics(LastActiveTracker lastActiveTracker) {
+        return registry -> {
+            Gauge.builder("user.activity.pending", lastActiveTracker, LastActiveTracker::pendingCount)
+                    .register(registry);
+            FunctionCounter.builder("user.activity.dropped", lastActiveTracker,
+                    LastActiveTracker::getDroppedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder uploadTransferMetrics(TransferBuffers transferBuffers) {
+        return registry -> {
+            Gauge.builder("uploads.transfer.buffers.available", transferBuffers, TransferBuffers::getAvailable)
+                    .register(registry);
+            Gauge.builder("uploads.transfer.buffers.capacity", transferBuffers, TransferBuffers::getCapacity)
+                    .register(registry);
+            FunctionCounter.builder("uploads.transfer.rejected", transferBuffers, TransferBuffers::getRejectedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder imageVariantMetrics(ImageVariantService imageVariantService) {
+        return registry -> {
+            Gauge.builder("images.variants.queue.depth", imageVariantService, ImageVariantService::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("images.variants.active", imageVariantService, ImageVariantService::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("images.variants.jobs", imageVariantService,
+                    ImageVariantService::getProcessedCount)
+                    .tag("result", "done")
+                    .register(registry);
+            FunctionCounter.builder("images.variants.jobs", imageVariantService, ImageVariantService::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("images.variants.rejected", imageVariantService,
+                    ImageVariantService::getRejectedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder feedFanoutMetrics(TimelineFanout timelineFanout, HighFanoutAuthors highFanoutAuthors) {
+        return registry -> {
+            Gauge.builder("feed.fanout.queue.depth", timelineFanout, TimelineFanout::getQueueDepth)
+                    .register(registry);
+            FunctionCounter.builder("feed.fanout.delivered", timelineFanout, TimelineFanout::getDeliveredCount)
+                    .register(registry);
+            FunctionCounter.builder("feed.fanout.rejected", timelineFanout, TimelineFanout::getRejectedCount)
+                    .register(registry);
+            Gauge.builder("feed.fanout.pulled.authors", highFanoutAuthors, HighFanoutAuthors::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder habitReminderMetrics(HabitReminderService reminderService) {
+        return registry -> {
+            Gauge.builder("reminders.scheduled", reminderService, HabitReminderService::getScheduledCount)
+                    .register(registry);
+            Gauge.builder("reminders.partitions.owned", reminderService,
+                    HabitReminderService::getOwnedPartitionCount)
+                    .register(registry);
+            FunctionCounter.builder("reminders.sent", reminderService, HabitReminderService::getSentCount)
+                    .tag("result", "sent")
+                    .register(registry);
+            FunctionCounter.builder("reminders.sent", reminderService, HabitReminderService::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder outboxMetrics(OutboxRelay outboxRelay) {
+        return registry -> {
+            Gauge.builder("outbox.lag", outboxRelay, relay -> relay.getLagInMs() / 1000.0)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("outbox.queue.depth", outboxRelay, OutboxRelay::getQueueDepth)
+                    .register(registry);
+            FunctionCounter.builder("outbox.events", outboxRelay, OutboxRelay::getDeliveredCount)
+                    .tag("result", "delivered")
+                    .register(registry);
+            FunctionCounter.builder("outbox.events", outboxRelay, OutboxRelay::getRetriedCount)
+                    .tag("result", "retried")
+                    .register(registry);
+            FunctionCounter.builder("outbox.events", outboxRelay, OutboxRelay::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(AuthRateLimitFilter authRateLimitFilter, RateLimiter rateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("auth.rate-limit.rejected", authRateLimitFilter,
+                            AuthRateLimitFilter::getRejectedByIpCount)
+                    .tag("scope", "ip")
+                    .register(registry);
+            FunctionCounter.builder("auth.rate-limit.rejected", authRateLimitFilter,
+                            AuthRateLimitFilter::getRejectedByIdentifierCount)
+                    .tag("scope", "identifier")
+                    .register(registry);
+            Gauge.builder("auth.rate-limit.keys", rateLimiter, RateLimiter::getKeyCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder refreshTokenMetrics(RefreshTokenStore refreshTokenStore) {
+        return registry -> {
+            FunctionCounter.builder("auth.refresh", refreshTokenStore, RefreshTokenStore::getRotatedCount)
+                    .tag("result", "rotated")
+                    .register(registry);
+            FunctionCounter.builder("auth.refresh", refreshTokenStore, RefreshTokenStore::getReusedCount)
+                    .tag("result", "reused")
+                    .register(registry);
+            FunctionCounter.builder("auth.refresh", refreshTokenStore, RefreshTokenStore::getRejectedCount)
+                    .tag("result", "rejected")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.touchgrass.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebServerConfig {
+
+    /**
+     * Bounds how long a single read of a request body may block, so a client
+     * that stops sending part-way through an upload is cut off rather than
+     * holding its request thread indefinitely.
+     */
+    @Bean
+    public TomcatConnectorCustomizer uploadIdleTimeoutCustomizer(
+            @Value("${uploads.transfer.idle-timeout:30000}") int idleTimeoutInMs) {
+        return connector -> {
+            connector.setProperty("disableUploadTimeout", "false");
+            connector.setProperty("connectionUploadTimeout", String.valueOf(idleTimeoutInMs));
+        };
+    }
+}
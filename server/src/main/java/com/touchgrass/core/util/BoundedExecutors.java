@@ -0,0 +1,38 @@
+package com.touchgrass.core.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pools of named daemon threads in front of a bounded queue, for
+ * the background work that must neither grow without limit nor keep the
+ * JVM from exiting.
+ */
+public final class BoundedExecutors {
+    private BoundedExecutors() {
+    }
+
+    /**
+     * A pool of {@code threads} daemon threads named {@code namePrefix-1},
+     * {@code namePrefix-2}, ..., queueing up to {@code queueCapacity} tasks
+     * and handing the rest to {@code rejectedHandler}.
+     */
+    public static ThreadPoolExecutor fixed(String namePrefix, int threads, int queueCapacity,
+            RejectedExecutionHandler rejectedHandler) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads(namePrefix), rejectedHandler);
+    }
+
+    public static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.touchgrass.core.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma-separated fields, optionally
+ * double-quoted, with {@code ""} for a quote and line breaks allowed inside
+ * quotes. Records end at LF or CRLF.
+ */
+public final class CsvReader {
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+
+    /** {@code reader} should be buffered; it is read a character at a time. */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The next record's fields, or {@code null} at end of input.
+     *
+     * @throws EOFException if the input ends inside a quoted field
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new EOFException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(trimCarriageReturn());
+                return fields;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+    }
+
+    /** The line the record last returned by {@link #next()} started on, counting from 1. */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private String trimCarriageReturn() {
+        int length = field.length();
+        if (length > 0 && field.charAt(length - 1) == '\r') {
+            field.setLength(length - 1);
+        }
+        return field.toString();
+    }
+
+    private int read() throws IOException {
+        return reader.read();
+    }
+}
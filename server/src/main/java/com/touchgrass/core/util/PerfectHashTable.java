@@ -0,0 +1,75 @@
+package com.touchgrass.core.util;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable, collision-free lookup table for a small fixed set of string keys.
+ * Lookups take a char range (e.g. a parser's token buffer) so no
+ * {@link String} has to be created per lookup.
+ */
+public final class PerfectHashTable<V> {
+    private static final int MAX_SEED = 1 << 16;
+
+    private final char[][] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int seed;
+
+    private PerfectHashTable(char[][] keys, Object[] values, int mask, int seed) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = mask;
+        this.seed = seed;
+    }
+
+    public static <V> PerfectHashTable<V> of(Map<String, V> entries) {
+        int size = Integer.highestOneBit(Math.max(1, entries.size() * 2 - 1)) << 1;
+        while (true) {
+            for (int seed = 0; seed < MAX_SEED; seed++) {
+                char[][] keys = new char[size][];
+                Object[] values = new Object[size];
+                if (fill(entries, keys, values, size - 1, seed)) {
+                    return new PerfectHashTable<>(keys, values, size - 1, seed);
+                }
+            }
+            size <<= 1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(char[] chars, int offset, int length) {
+        int slot = hash(chars, offset, length, seed) & mask;
+        char[] key = keys[slot];
+        if (key == null || !Arrays.equals(key, 0, key.length, chars, offset, offset + length)) {
+            return null;
+        }
+        return (V) values[slot];
+    }
+
+    public V get(String key) {
+        char[] chars = key.toCharArray();
+        return get(chars, 0, chars.length);
+    }
+
+    private static <V> boolean fill(Map<String, V> entries, char[][] keys, Object[] values, int mask, int seed) {
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            char[] key = entry.getKey().toCharArray();
+            int slot = hash(key, 0, key.length, seed) & mask;
+            if (keys[slot] != null) {
+                return false;
+            }
+            keys[slot] = key;
+            values[slot] = entry.getValue();
+        }
+        return true;
+    }
+
+    private static int hash(char[] chars, int offset, int length, int seed) {
+        int h = seed;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
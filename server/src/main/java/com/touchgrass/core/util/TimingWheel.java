@@ -0,0 +1,219 @@
+package com.touchgrass.core.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel: a set of keys, each due at some instant, from
+ * which the due keys can be taken in time order of their tick.
+ *
+ * Time is divided into ticks of {@code tickMillis}. Level 0 has one bucket
+ * per tick for the next {@code wheelSize} ticks; each higher level has
+ * buckets {@code wheelSize} times as wide as the level below. A key is filed
+ * in the finest level that covers its deadline, and when a coarse bucket
+ * comes up its keys are moved down a level. Scheduling, rescheduling and
+ * cancelling are O(1), and advancing costs O(1) per tick plus each key's few
+ * moves between levels, however many keys are waiting. Keys further out
+ * than the top level covers go round its buckets until they are in range.
+ *
+ * Not thread-safe.
+ */
+public final class TimingWheel<K> {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket<K>[][] levels;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final Bucket<K> overdue = new Bucket<>();
+    private long currentTick;
+
+    /**
+     * @param wheelSize buckets per level, a power of two
+     * @param levelCount levels; the wheel covers {@code tickMillis * wheelSize^levelCount} ahead
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levelCount < 1
+                || Integer.numberOfTrailingZeros(wheelSize) * levelCount >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (Bucket<K>[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /** Schedules {@code key} for {@code deadlineMillis}, replacing any deadline it already had. */
+    public void schedule(K key, long deadlineMillis) {
+        Entry<K> entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key);
+            entries.put(key, entry);
+        } else {
+            entry.bucket.remove(entry);
+        }
+        entry.deadlineTick = Math.floorDiv(deadlineMillis, tickMillis);
+        file(entry);
+    }
+
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        return true;
+    }
+
+    /** Cancels every key matching {@code filter}. */
+    public void cancelIf(Predicate<K> filter) {
+        entries.values().removeIf(entry -> {
+            if (!filter.test(entry.key)) {
+                return false;
+            }
+            entry.bucket.remove(entry);
+            return true;
+        });
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and takes out up to
+     * {@code limit} keys that are due by then, earliest tick first. Keys left
+     * over because of the limit are returned by the next call.
+     */
+    public List<K> advance(long nowMillis, int limit) {
+        List<K> due = new ArrayList<>();
+        drain(overdue, due, limit);
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (due.size() < limit && currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            // Cascading files keys due on this very tick as overdue.
+            drain(overdue, due, limit);
+            drain(levels[0][(int) (currentTick & mask)], due, limit);
+        }
+        return due;
+    }
+
+    private void cascade() {
+        int level = 1;
+        while (level < levels.length && (currentTick & ((1L << (bits * level)) - 1)) == 0) {
+            level++;
+        }
+        for (int i = level - 1; i >= 1; i--) {
+            Bucket<K> bucket = levels[i][(int) ((currentTick >>> (bits * i)) & mask)];
+            Entry<K> entry = bucket.detachAll();
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                file(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void drain(Bucket<K> bucket, List<K> due, int limit) {
+        while (due.size() < limit && bucket.head != null) {
+            Entry<K> entry = bucket.head;
+            bucket.remove(entry);
+            entries.remove(entry.key);
+            due.add(entry.key);
+        }
+        // Anything the limit left behind is already due; keep it ahead of later ticks.
+        if (bucket != overdue) {
+            Entry<K> entry = bucket.detachAll();
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                overdue.add(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void file(Entry<K> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry);
+            return;
+        }
+        int level = 0;
+        while (level < levels.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) ((entry.deadlineTick >>> (bits * level)) & mask)].add(entry);
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private long deadlineTick;
+        private Bucket<K> bucket;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    /** Doubly linked list of entries, so an entry can be unlinked without a search. */
+    private static final class Bucket<K> {
+        private Entry<K> head;
+        private Entry<K> tail;
+
+        void add(Entry<K> entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+
+        void remove(Entry<K> entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /** Empties the bucket, returning its old head; entries stay linked to each other. */
+        Entry<K> detachAll() {
+            Entry<K> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.touchgrass.domain.auth.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token handed to a client, stored only as the SHA-256 of the
+ * opaque token. Each refresh rotates the token: the one presented is marked
+ * rotated and a new one is issued in the same family. A rotated token that
+ * is presented again has been copied, so its whole family is revoked.
+ *
+ * Tokens carry the user's credential version when issued and stop working
+ * once it changes, like access tokens do. Rows are kept until they expire,
+ * so reuse is still recognised after rotation.
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash")
+}, indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "credential_version", nullable = false)
+    private int credentialVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "rotated_at", nullable = true)
+    private LocalDateTime rotatedAt;
+
+    @Column(name = "revoked_at", nullable = true)
+    private LocalDateTime revokedAt;
+
+    protected RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, Long userId, String familyId, int credentialVersion,
+            LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.credentialVersion = credentialVersion;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public int getCredentialVersion() {
+        return credentialVersion;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getRotatedAt() {
+        return rotatedAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+}
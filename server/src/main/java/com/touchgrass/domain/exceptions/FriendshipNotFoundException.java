@@ -0,0 +1,11 @@
+package com.touchgrass.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class FriendshipNotFoundException extends RuntimeException {
+    public FriendshipNotFoundException(Long friendId) {
+        super("No friendship or request with user: " + friendId);
+    }
+}
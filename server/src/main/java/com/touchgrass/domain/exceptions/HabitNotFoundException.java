@@ -0,0 +1,11 @@
+package com.touchgrass.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class HabitNotFoundException extends RuntimeException {
+    public HabitNotFoundException(Long id) {
+        super("Habit not found with id: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.touchgrass.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UploadNotFoundException extends RuntimeException {
+    public UploadNotFoundException(String id) {
+        super("Upload not found with id: " + id);
+    }
+}
@@ -0,0 +1,329 @@
+package com.touchgrass.domain.habit.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * A habit and its running streak state. The streak counters are folded in
+ * one completion at a time by {@link #recordCompletion(Instant)}, so reading
+ * a habit's streak never touches its completion history.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "habits", indexes = {
+        @Index(name = "idx_habits_user", columnList = "user_id")
+})
+public class Habit {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = true, length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 16)
+    private HabitFrequency frequency;
+
+    @Column(name = "time_zone", nullable = false, updatable = false, length = 64)
+    private String timeZone;
+
+    @Column(name = "start_period", nullable = false, updatable = false)
+    private long startPeriod;
+
+    @Column(name = "last_period", nullable = true)
+    private Long lastPeriod;
+
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    @Column(name = "completed_periods", nullable = false)
+    private long completedPeriods;
+
+    @Column(name = "completion_count", nullable = false)
+    private long completionCount;
+
+    @Column(name = "last_completed_at", nullable = true)
+    private Instant lastCompletedAt;
+
+    @Column(name = "next_due_at", nullable = true)
+    private Instant nextDueAt;
+
+    // Written only by HabitReminderService, in JDBC batches.
+    @Column(name = "last_reminded_period", nullable = true, insertable = false, updatable = false)
+    private Long lastRemindedPeriod;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        startPeriod = periodOf(Instant.now());
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Folds one completion into the streak state in O(1).
+     *
+     * <p>A completion in the period after the last completed one extends the
+     * streak; a later period starts a new streak of one; another completion in
+     * the same period only bumps the count. Completions dated before the last
+     * completed period are counted but leave the streak alone, since placing
+     * them would mean rescanning the history.
+     *
+     * @return whether the completion advanced the streak
+     */
+    public boolean recordCompletion(Instant completedAt) {
+        completionCount++;
+        if (lastCompletedAt == null || completedAt.isAfter(lastCompletedAt)) {
+            lastCompletedAt = completedAt;
+        }
+
+        long period = periodOf(completedAt);
+        if (lastPeriod != null && period <= lastPeriod) {
+            return false;
+        }
+
+        currentStreak = lastPeriod != null && period == lastPeriod + 1 ? currentStreak + 1 : 1;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        completedPeriods++;
+        lastPeriod = period;
+        nextDueAt = frequency.periodStart(period + 1).atStartOfDay(zone()).toInstant();
+        return true;
+    }
+
+    /**
+     * The streak as of {@code now}: the stored streak while it can still be
+     * extended (the current or previous period was completed), otherwise 0.
+     */
+    public int currentStreak(Instant now) {
+        if (lastPeriod == null) {
+            return 0;
+        }
+        return periodOf(now) <= lastPeriod + 1 ? currentStreak : 0;
+    }
+
+    /**
+     * Share of periods since the habit was created that have at least one
+     * completion, between 0 and 1.
+     */
+    public double adherence(Instant now) {
+        long elapsed = periodOf(now) - startPeriod + 1;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, completedPeriods / (double) elapsed);
+    }
+
+    public boolean isDue(Instant now) {
+        return nextDueAt == null || !now.isBefore(nextDueAt);
+    }
+
+    /**
+     * The period the next reminder is for: the current one, unless it has
+     * already been completed or reminded about, in which case the next one.
+     */
+    public long reminderPeriod(Instant now) {
+        long period = periodOf(now);
+        if (lastPeriod != null) {
+            period = Math.max(period, lastPeriod + 1);
+        }
+        if (lastRemindedPeriod != null) {
+            period = Math.max(period, lastRemindedPeriod + 1);
+        }
+        return period;
+    }
+
+    /** When to remind about {@code period}: {@code lead} before it ends, but not before it starts. */
+    public Instant reminderAt(long period, Duration lead) {
+        Instant start = periodEndsAt(period - 1);
+        Instant remindAt = periodEndsAt(period).minus(lead);
+        return remindAt.isBefore(start) ? start : remindAt;
+    }
+
+    public Instant periodEndsAt(long period) {
+        return frequency.periodStart(period + 1).atStartOfDay(zone()).toInstant();
+    }
+
+    private long periodOf(Instant instant) {
+        return frequency.periodIndex(LocalDate.ofInstant(instant, zone()));
+    }
+
+    private ZoneId zone() {
+        return ZoneId.of(timeZone);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final Habit habit;
+
+        public Builder() {
+            this.habit = new Habit();
+            this.habit.timeZone = "UTC";
+        }
+
+        public Builder userId(Long userId) {
+            habit.setUserId(userId);
+            return this;
+        }
+
+        public Builder name(String name) {
+            habit.setName(name);
+            return this;
+        }
+
+        public Builder description(String description) {
+            habit.setDescription(description);
+            return this;
+        }
+
+        public Builder frequency(HabitFrequency frequency) {
+            habit.setFrequency(frequency);
+            return this;
+        }
+
+        public Builder timeZone(String timeZone) {
+            habit.setTimeZone(timeZone);
+            return this;
+        }
+
+        public Habit build() {
+            return habit;
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public HabitFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(HabitFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public long getStartPeriod() {
+        return startPeriod;
+    }
+
+    public void setStartPeriod(long startPeriod) {
+        this.startPeriod = startPeriod;
+    }
+
+    public Long getLastPeriod() {
+        return lastPeriod;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public long getCompletedPeriods() {
+        return completedPeriods;
+    }
+
+    public long getCompletionCount() {
+        return completionCount;
+    }
+
+    public Instant getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    public Instant getNextDueAt() {
+        return nextDueAt;
+    }
+
+    public Long getLastRemindedPeriod() {
+        return lastRemindedPeriod;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,97 @@
+package com.touchgrass.domain.habit.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "habit_completions", indexes = {
+        @Index(name = HabitCompletion.USER_HABIT_COMPLETED_INDEX, columnList = "user_id, habit_id, completed_at"),
+        @Index(name = "idx_habit_completions_user_id", columnList = "user_id, id")
+})
+public class HabitCompletion {
+    public static final String USER_HABIT_COMPLETED_INDEX = "idx_habit_completions_user_habit_completed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "habit_id", nullable = false, updatable = false)
+    private Long habitId;
+
+    @Column(name = "completed_at", nullable = false, updatable = false)
+    private Instant completedAt;
+
+    @Column(nullable = true, length = 500)
+    private String note;
+
+    @Column(name = "upload_id", nullable = true, updatable = false, length = 36)
+    private String uploadId;
+
+    /** Whether friends' feeds pull this post rather than have it pushed into their timelines. */
+    @Column(name = "feed_pulled", nullable = false)
+    private boolean feedPulled;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected HabitCompletion() {
+    }
+
+    public HabitCompletion(Long userId, Long habitId, Instant completedAt, String note, String uploadId) {
+        this.userId = userId;
+        this.habitId = habitId;
+        this.completedAt = completedAt;
+        this.note = note;
+        this.uploadId = uploadId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public boolean isFeedPulled() {
+        return feedPulled;
+    }
+
+    public void markFeedPulled() {
+        this.feedPulled = true;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
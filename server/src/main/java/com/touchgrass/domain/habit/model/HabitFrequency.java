@@ -0,0 +1,33 @@
+package com.touchgrass.domain.habit.model;
+
+import java.time.LocalDate;
+
+/**
+ * How often a habit is meant to be done. Each frequency divides the calendar
+ * into numbered periods so that "the next period" is just {@code index + 1}.
+ */
+public enum HabitFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    // 1970-01-01 (epoch day 0) was a Thursday; shifting by 3 makes weeks start on Monday.
+    private static final int EPOCH_WEEK_OFFSET = 3;
+
+    public long periodIndex(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date.toEpochDay();
+            case WEEKLY -> Math.floorDiv(date.toEpochDay() + EPOCH_WEEK_OFFSET, 7);
+            case MONTHLY -> date.getYear() * 12L + date.getMonthValue() - 1;
+        };
+    }
+
+    public LocalDate periodStart(long index) {
+        return switch (this) {
+            case DAILY -> LocalDate.ofEpochDay(index);
+            case WEEKLY -> LocalDate.ofEpochDay(index * 7 - EPOCH_WEEK_OFFSET);
+            case MONTHLY -> LocalDate.of(Math.toIntExact(Math.floorDiv(index, 12)),
+                    Math.toIntExact(Math.floorMod(index, 12)) + 1, 1);
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.touchgrass.domain.habit.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A server instance taking part in sending habit reminders, kept alive by
+ * renewing its lease. The live instances are counted to work out each one's
+ * share of the {@link ReminderPartition}s, including instances that don't
+ * hold any partitions yet.
+ */
+@Entity
+@Table(name = "reminder_instances")
+public class ReminderInstance {
+    @Id
+    @Column(name = "instance_id", length = 64)
+    private String instanceId;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    protected ReminderInstance() {
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+}
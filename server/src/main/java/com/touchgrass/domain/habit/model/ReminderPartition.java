@@ -0,0 +1,41 @@
+package com.touchgrass.domain.habit.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one slice of the users whose habit reminders a server instance
+ * sends. Users belong to partition {@code user_id mod partitions}; an
+ * instance holds a partition while it keeps renewing the lease, and another
+ * may take it over once the lease has run out. Rows are only changed through
+ * the conditional updates in {@code ReminderPartitionRepository}.
+ */
+@Entity
+@Table(name = "reminder_partitions")
+public class ReminderPartition {
+    @Id
+    @Column(name = "partition_id")
+    private int partitionId;
+
+    @Column(nullable = true, length = 64)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = true)
+    private LocalDateTime leaseUntil;
+
+    protected ReminderPartition() {
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+}
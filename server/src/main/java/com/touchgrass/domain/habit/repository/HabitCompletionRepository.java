@@ -0,0 +1,25 @@
+package com.touchgrass.domain.habit.repository;
+
+import com.touchgrass.domain.habit.model.HabitCompletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface HabitCompletionRepository extends JpaRepository<HabitCompletion, Long> {
+    /** Served by the (user_id, habit_id, completed_at) index, newest first. */
+    List<HabitCompletion> findByUserIdAndHabitIdOrderByCompletedAtDesc(Long userId, Long habitId, Pageable pageable);
+
+    /**
+     * Ids of the authors' photo posts that feeds pull rather than have
+     * pushed, newest first, below {@code before}. Served by the (user_id, id)
+     * index.
+     */
+    @Query("SELECT c.id FROM HabitCompletion c WHERE c.userId IN :authorIds AND c.uploadId IS NOT NULL "
+            + "AND c.feedPulled = true AND c.id < :before ORDER BY c.id DESC")
+    List<Long> findPulledPostIds(@Param("authorIds") Collection<Long> authorIds, @Param("before") long before,
+            Pageable pageable);
+}
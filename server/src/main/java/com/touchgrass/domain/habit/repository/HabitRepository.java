@@ -0,0 +1,22 @@
+package com.touchgrass.domain.habit.repository;
+
+import com.touchgrass.domain.habit.model.Habit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HabitRepository extends JpaRepository<Habit, Long> {
+    List<Habit> findByUserIdOrderByIdAsc(Long userId);
+
+    Optional<Habit> findByIdAndUserId(Long id, Long userId);
+
+    /** One keyset page, by id, of the habits of users in the given reminder partitions. */
+    @Query("SELECT h FROM Habit h WHERE h.id > :after AND MOD(h.userId, :partitions) IN :owned ORDER BY h.id")
+    List<Habit> findByReminderPartition(@Param("partitions") int partitions,
+            @Param("owned") Collection<Integer> owned, @Param("after") long after, Pageable pageable);
+}
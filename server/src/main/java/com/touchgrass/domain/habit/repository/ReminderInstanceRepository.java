@@ -0,0 +1,37 @@
+package com.touchgrass.domain.habit.repository;
+
+import com.touchgrass.domain.habit.model.ReminderInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ReminderInstanceRepository extends JpaRepository<ReminderInstance, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO reminder_instances (instance_id, lease_until) "
+            + "VALUES (:instanceId, :leaseUntil)", nativeQuery = true)
+    int insertIfAbsent(@Param("instanceId") String instanceId, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderInstance i SET i.leaseUntil = :leaseUntil WHERE i.instanceId = :instanceId")
+    int renew(@Param("instanceId") String instanceId, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT COUNT(i) FROM ReminderInstance i WHERE i.leaseUntil >= :now")
+    long countLive(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReminderInstance i WHERE i.leaseUntil < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReminderInstance i WHERE i.instanceId = :instanceId")
+    int remove(@Param("instanceId") String instanceId);
+}
@@ -0,0 +1,51 @@
+package com.touchgrass.domain.habit.repository;
+
+import com.touchgrass.domain.habit.model.ReminderPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReminderPartitionRepository extends JpaRepository<ReminderPartition, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO reminder_partitions (partition_id) VALUES (:partitionId)", nativeQuery = true)
+    int insertIfAbsent(@Param("partitionId") int partitionId);
+
+    /** Extends every lease {@code owner} still holds. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderPartition p SET p.leaseUntil = :leaseUntil "
+            + "WHERE p.owner = :owner AND p.leaseUntil >= :now")
+    int renew(@Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Takes a partition that nobody holds a live lease on. Only one of
+     * several concurrent callers gets a 1 back.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderPartition p SET p.owner = :owner, p.leaseUntil = :leaseUntil "
+            + "WHERE p.partitionId = :partitionId AND (p.leaseUntil IS NULL OR p.leaseUntil < :now)")
+    int claim(@Param("partitionId") int partitionId, @Param("owner") String owner,
+            @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderPartition p SET p.owner = null, p.leaseUntil = null "
+            + "WHERE p.partitionId = :partitionId AND p.owner = :owner")
+    int release(@Param("partitionId") int partitionId, @Param("owner") String owner);
+
+    @Query("SELECT p.partitionId FROM ReminderPartition p WHERE p.owner = :owner AND p.leaseUntil >= :now")
+    List<Integer> findOwned(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.partitionId FROM ReminderPartition p WHERE p.leaseUntil IS NULL OR p.leaseUntil < :now "
+            + "ORDER BY p.partitionId")
+    List<Integer> findClaimable(@Param("now") LocalDateTime now);
+}
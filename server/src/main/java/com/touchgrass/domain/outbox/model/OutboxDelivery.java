@@ -0,0 +1,39 @@
+package com.touchgrass.domain.outbox.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Records that one subscriber has handled an {@link OutboxEvent} whose other
+ * subscribers failed, so retrying the event doesn't run it again. Rows go
+ * when the event does.
+ */
+@Entity
+@Table(name = "outbox_deliveries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_deliveries_event_subscriber", columnNames = {"event_id", "subscriber"})
+})
+public class OutboxDelivery {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private Long eventId;
+
+    @Column(nullable = false, updatable = false, length = 64)
+    private String subscriber;
+
+    protected OutboxDelivery() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getSubscriber() {
+        return subscriber;
+    }
+}
@@ -0,0 +1,99 @@
+package com.touchgrass.domain.outbox.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event waiting to be handed to its subscribers, written in the
+ * same transaction as the change it describes. The relay claims pending
+ * events by pushing {@code available_at} out by a lease, and deletes them
+ * once every subscriber has handled them; events that keep failing end up
+ * {@link OutboxEventStatus#FAILED}. The idempotency key is unique, so
+ * publishing the same event twice stores it once.
+ *
+ * Rows are written and claimed with plain JDBC by {@code Outbox} and
+ * {@code OutboxRelay}, never through this entity.
+ */
+@Entity
+@Table(name = "outbox_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_events_idempotency_key", columnNames = "idempotency_key")
+}, indexes = {
+        @Index(name = "idx_outbox_events_status_available", columnList = "status, available_at, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 191)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxEventStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", nullable = true, length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected OutboxEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public OutboxEventStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
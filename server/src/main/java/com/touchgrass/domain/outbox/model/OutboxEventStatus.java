@@ -0,0 +1,6 @@
+package com.touchgrass.domain.outbox.model;
+
+public enum OutboxEventStatus {
+    PENDING,
+    FAILED
+}
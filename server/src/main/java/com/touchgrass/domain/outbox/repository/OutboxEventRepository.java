@@ -0,0 +1,13 @@
+package com.touchgrass.domain.outbox.repository;
+
+import com.touchgrass.domain.outbox.model.OutboxEvent;
+import com.touchgrass.domain.outbox.model.OutboxEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    Optional<OutboxEvent> findByIdempotencyKey(String idempotencyKey);
+
+    long countByStatus(OutboxEventStatus status);
+}
@@ -0,0 +1,101 @@
+package com.touchgrass.domain.social.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * One direction of a friendship between two users. Every friendship is stored
+ * twice, once from each side, so "friends of X" is always a range scan of
+ * X's rows in the (user_id, status, friend_id) index, whichever of the two
+ * sent the request.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "friendships", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_friendships_user_friend", columnNames = {"user_id", "friend_id"})
+}, indexes = {
+        @Index(name = "idx_friendships_user_status_friend", columnList = "user_id, status, friend_id")
+})
+public class Friendship {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "friend_id", nullable = false, updatable = false)
+    private Long friendId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private FriendshipStatus status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    protected Friendship() {
+    }
+
+    public Friendship(Long userId, Long friendId, FriendshipStatus status) {
+        this.userId = userId;
+        this.friendId = friendId;
+        this.status = status;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public void accept() {
+        this.status = FriendshipStatus.ACCEPTED;
+    }
+
+    public boolean isAccepted() {
+        return status == FriendshipStatus.ACCEPTED;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getFriendId() {
+        return friendId;
+    }
+
+    public FriendshipStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,12 @@
+package com.touchgrass.domain.social.model;
+
+/**
+ * State of one side of a friendship. A request is stored as a
+ * {@link #REQUESTED} row for the sender and a {@link #RECEIVED} row for the
+ * recipient; accepting turns both into {@link #ACCEPTED}.
+ */
+public enum FriendshipStatus {
+    REQUESTED,
+    RECEIVED,
+    ACCEPTED
+}
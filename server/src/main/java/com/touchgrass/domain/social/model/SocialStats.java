@@ -0,0 +1,42 @@
+package com.touchgrass.domain.social.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-user counters kept alongside the friendship rows so that deciding how
+ * to deliver a user's posts doesn't mean counting their friends, and a flag
+ * for readers to find the friends whose posts they must pull. Rows are only
+ * changed through {@code SocialStatsRepository}'s updates.
+ */
+@Entity
+@Table(name = "social_stats", indexes = {
+        @Index(name = "idx_social_stats_friend_count", columnList = "friend_count"),
+        @Index(name = "idx_social_stats_pulled_posts", columnList = "has_pulled_posts")
+})
+public class SocialStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "friend_count", nullable = false)
+    private long friendCount;
+
+    /** Set once the user has made a post that friends pull; never cleared while those posts exist. */
+    @Column(name = "has_pulled_posts", nullable = false)
+    private boolean hasPulledPosts;
+
+    protected SocialStats() {
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getFriendCount() {
+        return friendCount;
+    }
+
+    public boolean hasPulledPosts() {
+        return hasPulledPosts;
+    }
+}
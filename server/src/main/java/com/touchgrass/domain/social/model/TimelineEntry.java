@@ -0,0 +1,61 @@
+package com.touchgrass.domain.social.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post delivered to one user's timeline. Posts are habit completions, and
+ * completion ids grow in posting order, so a page of a timeline is a single
+ * descending range scan of the (owner_id, completion_id) index, keyed by the
+ * last id seen. The same index makes delivery idempotent.
+ *
+ * Entries are inserted in JDBC batches by {@code TimelineFanout}, never
+ * through this entity.
+ */
+@Entity
+@Table(name = "timeline_entries", uniqueConstraints = {
+        @UniqueConstraint(name = TimelineEntry.OWNER_COMPLETION_KEY, columnNames = {"owner_id", "completion_id"})
+})
+public class TimelineEntry {
+    public static final String OWNER_COMPLETION_KEY = "uk_timeline_entries_owner_completion";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private Long ownerId;
+
+    @Column(name = "completion_id", nullable = false, updatable = false)
+    private Long completionId;
+
+    @Column(name = "author_id", nullable = false, updatable = false)
+    private Long authorId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected TimelineEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getCompletionId() {
+        return completionId;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
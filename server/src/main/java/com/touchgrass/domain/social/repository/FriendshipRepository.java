@@ -0,0 +1,28 @@
+package com.touchgrass.domain.social.repository;
+
+import com.touchgrass.domain.social.model.Friendship;
+import com.touchgrass.domain.social.model.FriendshipStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
+    Optional<Friendship> findByUserIdAndFriendId(Long userId, Long friendId);
+
+    /** One keyset page of a user's friendships in a given state, by friend id. */
+    @Query("SELECT f FROM Friendship f WHERE f.userId = :userId AND f.status = :status AND f.friendId > :after "
+            + "ORDER BY f.friendId ASC")
+    List<Friendship> findPage(@Param("userId") Long userId, @Param("status") FriendshipStatus status,
+            @Param("after") long after, Pageable pageable);
+
+    /** Which of {@code candidates} are {@code userId}'s friends; index probes, not a scan of all friends. */
+    @Query("SELECT f.friendId FROM Friendship f WHERE f.userId = :userId "
+            + "AND f.status = com.touchgrass.domain.social.model.FriendshipStatus.ACCEPTED "
+            + "AND f.friendId IN :candidates")
+    List<Long> findFriendIdsAmong(@Param("userId") Long userId, @Param("candidates") Collection<Long> candidates);
+}
@@ -0,0 +1,40 @@
+package com.touchgrass.domain.social.repository;
+
+import com.touchgrass.domain.social.model.SocialStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface SocialStatsRepository extends JpaRepository<SocialStats, Long> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO social_stats (user_id, friend_count, has_pulled_posts) "
+            + "VALUES (:userId, 0, FALSE)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /** Applied in the database so concurrent changes to one user's friends don't lose counts. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SocialStats s SET s.friendCount = s.friendCount + :delta WHERE s.userId = :userId")
+    int adjustFriendCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("SELECT s.userId FROM SocialStats s WHERE s.friendCount > :threshold")
+    List<Long> findUserIdsWithFriendCountAbove(@Param("threshold") long threshold);
+
+    /** Conditional, so only a user's first pulled post writes to the row. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SocialStats s SET s.hasPulledPosts = true WHERE s.userId = :userId AND s.hasPulledPosts = false")
+    int markPulledPosts(@Param("userId") Long userId);
+
+    /** The reader's friends who have posts to pull; driven by the few flagged rows, probing the friendships key. */
+    @Query("SELECT s.userId FROM SocialStats s, Friendship f WHERE s.hasPulledPosts = true "
+            + "AND f.userId = :userId AND f.friendId = s.userId "
+            + "AND f.status = com.touchgrass.domain.social.model.FriendshipStatus.ACCEPTED")
+    List<Long> findFriendsWithPulledPosts(@Param("userId") Long userId);
+}
@@ -0,0 +1,24 @@
+package com.touchgrass.domain.social.repository;
+
+import com.touchgrass.domain.social.model.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    /** A page of a timeline, newest first; covered by the (owner_id, completion_id) index. */
+    @Query("SELECT t.completionId FROM TimelineEntry t WHERE t.ownerId = :ownerId AND t.completionId < :before "
+            + "ORDER BY t.completionId DESC")
+    List<Long> findCompletionIds(@Param("ownerId") Long ownerId, @Param("before") long before, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.ownerId = :ownerId AND t.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") Long ownerId, @Param("authorId") Long authorId);
+}
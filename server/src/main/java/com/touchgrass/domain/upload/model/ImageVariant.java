@@ -0,0 +1,51 @@
+package com.touchgrass.domain.upload.model;
+
+import java.util.Locale;
+
+/**
+ * The fixed sizes a photo is re-encoded to for display. Each variant fits the
+ * image inside a square of {@code maxEdge} pixels, keeping its aspect ratio;
+ * images already smaller than that are re-encoded but never upscaled.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumbnail", 160),
+    FEED("feed", 720),
+    FULL("full", 1440);
+
+    private final String name;
+    private final int maxEdge;
+
+    ImageVariant(String name, int maxEdge) {
+        this.name = name;
+        this.maxEdge = maxEdge;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    /**
+     * @return the variant called {@code name}, or {@code null} if there is none
+     */
+    public static ImageVariant fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (ImageVariant variant : values()) {
+            if (variant.name.equals(normalized)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
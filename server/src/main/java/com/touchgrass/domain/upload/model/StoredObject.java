@@ -0,0 +1,53 @@
+package com.touchgrass.domain.upload.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One copy of some content in the object store, keyed by its SHA-256.
+ * Rows are only ever inserted (see {@code StoredObjectRepository#insertIfAbsent}),
+ * never updated.
+ */
+@Entity
+@Table(name = "stored_objects")
+public class StoredObject {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "storage_key", nullable = false, length = 512)
+    private String storageKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected StoredObject() {
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
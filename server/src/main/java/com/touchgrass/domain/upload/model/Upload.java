@@ -0,0 +1,153 @@
+package com.touchgrass.domain.upload.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's upload. Chunked uploads stay {@link UploadStatus#UPLOADING} until
+ * every chunk has arrived and they are assembled; single-request uploads are
+ * created complete. A complete upload points at its content by SHA-256, so
+ * identical files share one {@link StoredObject}.
+ */
+@Entity
+@Table(name = "uploads", indexes = {
+        @Index(name = "idx_uploads_user", columnList = "user_id"),
+        @Index(name = "idx_uploads_status_expires", columnList = "status, expires_at")
+})
+public class Upload {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UploadStatus status;
+
+    @Column(nullable = true, length = 64)
+    private String sha256;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = true)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "completed_at", nullable = true)
+    private LocalDateTime completedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    protected Upload() {
+    }
+
+    public Upload(String id, Long userId, String contentType, long totalSize, int chunkSize, int chunkCount,
+            LocalDateTime expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.expiresAt = expiresAt;
+        this.status = UploadStatus.UPLOADING;
+    }
+
+    /** A single-request upload, complete as soon as it is created. */
+    public static Upload completed(String id, Long userId, String contentType, String sha256, long size) {
+        Upload upload = new Upload(id, userId, contentType, size, 0, 1, null);
+        upload.complete(sha256, size);
+        return upload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public void complete(String sha256, long size) {
+        this.sha256 = sha256;
+        this.totalSize = size;
+        this.status = UploadStatus.COMPLETE;
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = null;
+    }
+
+    public boolean isComplete() {
+        return status == UploadStatus.COMPLETE;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    /** Size of chunk {@code index}; every chunk is full-size except possibly the last. */
+    public long chunkLength(int index) {
+        return index == chunkCount - 1 ? totalSize - (long) index * chunkSize : chunkSize;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public UploadStatus getStatus() {
+        return status;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
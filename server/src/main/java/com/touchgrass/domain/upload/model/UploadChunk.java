@@ -0,0 +1,63 @@
+package com.touchgrass.domain.upload.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "upload_chunks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_upload_chunks_upload_index", columnNames = {"upload_id", "chunk_index"})
+})
+public class UploadChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, updatable = false, length = 36)
+    private String uploadId;
+
+    @Column(name = "chunk_index", nullable = false, updatable = false)
+    private int chunkIndex;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    protected UploadChunk() {
+    }
+
+    public UploadChunk(String uploadId, int chunkIndex, long size, String sha256) {
+        this.uploadId = uploadId;
+        this.chunkIndex = chunkIndex;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
@@ -0,0 +1,6 @@
+package com.touchgrass.domain.upload.model;
+
+public enum UploadStatus {
+    UPLOADING,
+    COMPLETE
+}
@@ -0,0 +1,75 @@
+package com.touchgrass.domain.upload.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Generation of the {@link ImageVariant}s for one piece of content, keyed by
+ * its SHA-256 like {@link StoredObject}, so identical photos are processed
+ * once.
+ *
+ * A worker claims a job by moving it to {@link VariantJobStatus#RUNNING} with
+ * a lease; if the process dies mid-job the lease runs out and the job is
+ * picked up again. Rows are only changed through the conditional updates in
+ * {@code VariantJobRepository}, never through this entity.
+ */
+@Entity
+@Table(name = "image_variant_jobs", indexes = {
+        @Index(name = "idx_image_variant_jobs_status_lease", columnList = "status, lease_until")
+})
+public class VariantJob {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private VariantJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "lease_until", nullable = true)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", nullable = true, length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected VariantJob() {
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public VariantJobStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
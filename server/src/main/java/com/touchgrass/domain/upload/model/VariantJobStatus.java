@@ -0,0 +1,8 @@
+package com.touchgrass.domain.upload.model;
+
+public enum VariantJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,26 @@
+package com.touchgrass.domain.upload.repository;
+
+import com.touchgrass.domain.upload.model.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+    /**
+     * Records content in a single statement that is a no-op when the hash is
+     * already known, so two users uploading the same file at once don't
+     * collide on the primary key.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO stored_objects (sha256, size, content_type, storage_key, created_at) "
+            + "VALUES (:sha256, :size, :contentType, :storageKey, :createdAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("sha256") String sha256, @Param("size") long size,
+            @Param("contentType") String contentType, @Param("storageKey") String storageKey,
+            @Param("createdAt") LocalDateTime createdAt);
+}
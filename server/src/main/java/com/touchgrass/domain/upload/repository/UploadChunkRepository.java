@@ -0,0 +1,23 @@
+package com.touchgrass.domain.upload.repository;
+
+import com.touchgrass.domain.upload.model.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, Long> {
+    Optional<UploadChunk> findByUploadIdAndChunkIndex(String uploadId, int chunkIndex);
+
+    @Query("select c.chunkIndex from UploadChunk c where c.uploadId = :uploadId order by c.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("uploadId") String uploadId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from UploadChunk c where c.uploadId = :uploadId")
+    int deleteByUploadId(@Param("uploadId") String uploadId);
+}
@@ -0,0 +1,16 @@
+package com.touchgrass.domain.upload.repository;
+
+import com.touchgrass.domain.upload.model.Upload;
+import com.touchgrass.domain.upload.model.UploadStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadRepository extends JpaRepository<Upload, String> {
+    Optional<Upload> findByIdAndUserId(String id, Long userId);
+
+    List<Upload> findByStatusAndExpiresAtBefore(UploadStatus status, LocalDateTime cutoff, Pageable pageable);
+}
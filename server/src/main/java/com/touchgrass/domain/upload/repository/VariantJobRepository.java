@@ -0,0 +1,66 @@
+package com.touchgrass.domain.upload.repository;
+
+import com.touchgrass.domain.upload.model.VariantJob;
+import com.touchgrass.domain.upload.model.VariantJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface VariantJobRepository extends JpaRepository<VariantJob, String> {
+    String PENDING = "com.touchgrass.domain.upload.model.VariantJobStatus.PENDING";
+    String RUNNING = "com.touchgrass.domain.upload.model.VariantJobStatus.RUNNING";
+    String RUNNABLE = "(j.status = " + PENDING + " OR (j.status = " + RUNNING + " AND j.leaseUntil < :now))";
+
+    /**
+     * Queues a job unless one already exists for this content.
+     *
+     * @return 1 if a job was queued, 0 if there already was one
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO image_variant_jobs (sha256, status, attempts, created_at, updated_at) "
+            + "VALUES (:sha256, 'PENDING', 0, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    /**
+     * Takes a job that is pending, or whose previous worker's lease has run
+     * out. Only one of several concurrent callers gets a 1 back.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE VariantJob j SET j.status = " + RUNNING + ", j.leaseUntil = :leaseUntil, "
+            + "j.attempts = j.attempts + 1, j.updatedAt = :now WHERE j.sha256 = :sha256 AND " + RUNNABLE)
+    int claim(@Param("sha256") String sha256, @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Ends a claimed job. A no-op if the lease was lost to another worker in
+     * the meantime and that worker already finished.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE VariantJob j SET j.status = :status, j.leaseUntil = null, j.lastError = :error, "
+            + "j.updatedAt = :now WHERE j.sha256 = :sha256 AND j.status = " + RUNNING)
+    int finish(@Param("sha256") String sha256, @Param("status") VariantJobStatus status,
+            @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /** Puts a job back in the queue with a fresh set of attempts, whatever state it was in. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE VariantJob j SET j.status = " + PENDING + ", j.attempts = 0, j.leaseUntil = null, "
+            + "j.lastError = null, j.updatedAt = :now WHERE j.sha256 = :sha256")
+    int reset(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.sha256 FROM VariantJob j WHERE " + RUNNABLE + " ORDER BY j.updatedAt ASC")
+    List<String> findRunnable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT j.status FROM VariantJob j WHERE j.sha256 = :sha256")
+    Optional<VariantJobStatus> findStatus(@Param("sha256") String sha256);
+}
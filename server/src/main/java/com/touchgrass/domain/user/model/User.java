@@ -1,6 +1,7 @@
 package com.touchgrass.domain.user.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,16 +11,25 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Entity
-@Table(name = "users")
+@DynamicUpdate
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id")
+})
 public class User implements UserDetails {
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -49,6 +59,13 @@ public class User implements UserDetails {
     @Column(name = "avatar_url", nullable = true)
     private String avatarUrl;
 
+    @Column(name = "credential_version", nullable = false)
+    private int credentialVersion;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -148,6 +165,10 @@ public class User implements UserDetails {
         this.updatedAt = now;
     }
 
+    public void revokeCredentials() {
+        this.credentialVersion++;
+    }
+
     public void updateProfile(String firstName, String lastName, LocalDate dateOfBirth, String avatarUrl) {
         LocalDateTime now = LocalDateTime.now();
         this.firstName = firstName;
@@ -254,4 +275,20 @@ public class User implements UserDetails {
     public void setAvatarUrl(String avatarUrl) {
         this.avatarUrl = avatarUrl;
     }
+
+    public int getCredentialVersion() {
+        return credentialVersion;
+    }
+
+    public void setCredentialVersion(int credentialVersion) {
+        this.credentialVersion = credentialVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
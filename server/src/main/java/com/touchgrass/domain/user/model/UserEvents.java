@@ -0,0 +1,18 @@
+package com.touchgrass.domain.user.model;
+
+/**
+ * Outbox event types for changes to users. The aggregate id is the user's
+ * id; idempotency keys are the type and id, plus the row version for
+ * updates. All three evict the user from every instance's cache.
+ */
+public final class UserEvents {
+    /** Payload: {@code username}. */
+    public static final String REGISTERED = "user.registered";
+    /** Payload: the new {@code version}. */
+    public static final String UPDATED = "user.updated";
+    /** Also clears up the user's data; no payload. */
+    public static final String DELETED = "user.deleted";
+
+    private UserEvents() {
+    }
+}
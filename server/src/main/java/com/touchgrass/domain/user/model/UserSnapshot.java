@@ -0,0 +1,67 @@
+package com.touchgrass.domain.user.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a {@link User} row, safe to share between requests from
+ * an in-process cache.
+ */
+public record UserSnapshot(
+        Long id,
+        String username,
+        String email,
+        String password,
+        String firstName,
+        String lastName,
+        LocalDate dateOfBirth,
+        boolean isAdmin,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime lastActive,
+        String avatarUrl,
+        int credentialVersion,
+        long version) {
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getDateOfBirth(),
+                user.isAdmin(),
+                user.getCreatedAt(),
+                user.getUpdatedAt(),
+                user.getLastActive(),
+                user.getAvatarUrl(),
+                user.getCredentialVersion(),
+                user.getVersion());
+    }
+
+    /**
+     * Returns a new detached entity with this snapshot's state, for callers
+     * that need a {@link User} (e.g. as a Spring Security principal).
+     */
+    public User toUser() {
+        User user = User.builder()
+                .username(username)
+                .email(email)
+                .password(password)
+                .firstName(firstName)
+                .lastName(lastName)
+                .dateOfBirth(dateOfBirth)
+                .isAdmin(isAdmin)
+                .avatarUrl(avatarUrl)
+                .build();
+        user.setId(id);
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(updatedAt);
+        user.setLastActive(lastActive);
+        user.setCredentialVersion(credentialVersion);
+        user.setVersion(version);
+        return user;
+    }
+}
@@ -0,0 +1,18 @@
+package com.touchgrass.domain.user.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns an admin sees when browsing users, selected directly by
+ * {@code UserRepository} so listings never load full {@link User} entities.
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        boolean isAdmin,
+        LocalDateTime createdAt,
+        LocalDateTime lastActive) {
+}
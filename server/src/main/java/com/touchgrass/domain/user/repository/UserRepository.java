@@ -1,8 +1,16 @@
 package com.touchgrass.domain.user.repository;
 
 import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,7 +18,76 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("select u from User u where u.username = :identifier or u.email = :identifier")
+    List<User> findAllByUsernameOrEmail(@Param("identifier") String identifier);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("select u.credentialVersion from User u where u.id = :id")
+    Optional<Integer> findCredentialVersionById(@Param("id") Long id);
+
+    /** Bumps the credential version, invalidating every token issued so far; see {@link User#revokeCredentials}. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.credentialVersion = u.credentialVersion + 1, u.version = u.version + 1 "
+            + "where u.id = :id")
+    int revokeCredentials(@Param("id") Long id);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /** The first keyset page of users, oldest first; walks {@code idx_users_created_at_id}. */
+    @Query("SELECT new com.touchgrass.domain.user.model.UserSummary(u.id, u.username, u.email, u.firstName, "
+            + "u.lastName, u.isAdmin, u.createdAt, u.lastActive) FROM User u "
+            + "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserSummary> findSummaries(Pageable pageable);
+
+    /** The keyset page of users after ({@code createdAt}, {@code id}); see {@link #findSummaries}. */
+    @Query("SELECT new com.touchgrass.domain.user.model.UserSummary(u.id, u.username, u.email, u.firstName, "
+            + "u.lastName, u.isAdmin, u.createdAt, u.lastActive) FROM User u "
+            + "WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) "
+            + "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserSummary> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * The ids of the first {@code limit} users, oldest first, whose username
+     * or email starts with {@code prefix} (a LIKE pattern ending in
+     * {@code %}, with wildcards in the user's input escaped by {@code !}).
+     *
+     * Each column is range-scanned on its own unique index and only the
+     * matches are sorted; a single query with {@code OR} between the two
+     * would walk every user in creation order instead.
+     */
+    @Query(value = "SELECT id FROM ("
+            + "(SELECT id, created_at FROM users WHERE username LIKE :prefix ESCAPE '!' "
+            + "ORDER BY created_at, id LIMIT :limit) "
+            + "UNION "
+            + "(SELECT id, created_at FROM users WHERE email LIKE :prefix ESCAPE '!' "
+            + "ORDER BY created_at, id LIMIT :limit)"
+            + ") matched ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    /** As {@link #findIdsByPrefix}, after ({@code createdAt}, {@code id}). */
+    @Query(value = "SELECT id FROM ("
+            + "(SELECT id, created_at FROM users WHERE username LIKE :prefix ESCAPE '!' "
+            + "AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id)) "
+            + "ORDER BY created_at, id LIMIT :limit) "
+            + "UNION "
+            + "(SELECT id, created_at FROM users WHERE email LIKE :prefix ESCAPE '!' "
+            + "AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id)) "
+            + "ORDER BY created_at, id LIMIT :limit)"
+            + ") matched ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByPrefixAfter(@Param("prefix") String prefix, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, @Param("limit") int limit);
+
+    /** Summaries of the given users, oldest first. */
+    @Query("SELECT new com.touchgrass.domain.user.model.UserSummary(u.id, u.username, u.email, u.firstName, "
+            + "u.lastName, u.isAdmin, u.createdAt, u.lastActive) FROM User u WHERE u.id IN :ids "
+            + "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,30 @@
+package com.touchgrass.infrastructure.auth;
+
+import com.touchgrass.domain.user.model.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Lightweight principal rebuilt from verified JWT claims, so authenticated
+ * requests don't need to load the {@code User} entity up front.
+ */
+public record AuthenticatedUser(Long id, String username, UserRole role, int credentialVersion)
+        implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role.getAuthority()));
+    }
+}
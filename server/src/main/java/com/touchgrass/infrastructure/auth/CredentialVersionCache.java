@@ -0,0 +1,61 @@
+package com.touchgrass.infrastructure.auth;
+
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.cache.InvalidationBus;
+import com.touchgrass.infrastructure.user.UserCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's credential version. Tokens carry the version
+ * they were issued with; bumping it in the database revokes them once the
+ * cached entry expires or is invalidated, without a SELECT on every request.
+ * Entries are also dropped whenever a user is invalidated on any instance.
+ */
+@Component
+public class CredentialVersionCache {
+    private static final int MAX_ENTRIES = 100_000;
+    private static final int MISSING = -1;
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${jwt.credential-version-ttl:30000}")
+    private long ttlInMs;
+
+    public CredentialVersionCache(UserRepository userRepository, InvalidationBus invalidationBus) {
+        this.userRepository = userRepository;
+        invalidationBus.subscribe(UserCache.CACHE_NAME, key -> invalidate(Long.valueOf(key)));
+    }
+
+    public boolean isCurrent(AuthenticatedUser principal) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(principal.id());
+        if (entry == null || entry.expiresAt() < now) {
+            entry = load(principal.id(), now);
+        }
+        return entry.version() != MISSING && entry.version() == principal.credentialVersion();
+    }
+
+    public void invalidate(Long userId) {
+        entries.remove(userId);
+    }
+
+    private Entry load(Long userId, long now) {
+        int version = userRepository.findCredentialVersionById(userId).orElse(MISSING);
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(e -> e.expiresAt() < now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        Entry entry = new Entry(version, now + ttlInMs);
+        entries.put(userId, entry);
+        return entry;
+    }
+
+    private record Entry(int version, long expiresAt) {
+    }
+}
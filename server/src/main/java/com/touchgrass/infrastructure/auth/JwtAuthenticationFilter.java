@@ -1,12 +1,17 @@
 package com.touchgrass.infrastructure.auth;
 
 import com.touchgrass.domain.user.model.User;
-import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.security.RoutePolicy;
+import com.touchgrass.infrastructure.metrics.StageTimers;
+import com.touchgrass.infrastructure.user.LastActiveTracker;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,35 +21,43 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Collection;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private static final List<String> PUBLIC_PATHS = Arrays.asList(
-            "/api/auth/register",
-            "/api/auth/login");
+    private static final String REJECTED = "rejected";
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
-    private final UserRepository userRepository;
+    private final LastActiveTracker lastActiveTracker;
+    private final CredentialVersionCache credentialVersionCache;
+    private final StageTimers stageTimers;
+    private final RoutePolicy routePolicy;
+
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
-            UserRepository userRepository) {
+            LastActiveTracker lastActiveTracker, CredentialVersionCache credentialVersionCache,
+            MeterRegistry meterRegistry, RoutePolicy routePolicy) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
-        this.userRepository = userRepository;
+        this.lastActiveTracker = lastActiveTracker;
+        this.credentialVersionCache = credentialVersionCache;
+        this.stageTimers = new StageTimers(meterRegistry, "auth.filter.stage");
+        this.routePolicy = routePolicy;
+    }
+
+    /** Public routes skip the filter entirely, before any header or token is looked at. */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routePolicy.matches(request);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            if (isPublicPath(request.getRequestURI())) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
             String jwt = getJwtFromRequest(request);
 
             if (!StringUtils.hasText(jwt)) {
@@ -52,21 +65,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String username = tokenProvider.extractUsername(jwt);
+            if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+
+            ParsedToken token = stageTimers.time("parse", () -> tokenProvider.validate(jwt));
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (statelessPrincipal) {
+                AuthenticatedUser principal = token.toAuthenticatedUser();
+                if (principal != null) {
+                    long start = System.nanoTime();
+                    boolean current = credentialVersionCache.isCurrent(principal);
+                    stageTimers.record("user_load", current ? StageTimers.SUCCESS : REJECTED, start);
+                    if (!current) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        return;
+                    }
 
-                if (tokenProvider.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authenticate(request, principal, principal.getAuthorities());
+                    stageTimers.run("last_active", () -> lastActiveTracker.touch(principal.id()));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+            }
 
-                    User user = (User) userDetails;
-                    user.updateLastActive();
-                    userRepository.save(user);
+            String username = token.subject();
+
+            if (username != null) {
+                UserDetails userDetails = stageTimers.time("user_load",
+                        () -> userDetailsService.loadUserByUsername(username));
+
+                if (tokenProvider.validateToken(token, userDetails)) {
+                    authenticate(request, userDetails, userDetails.getAuthorities());
+
+                    stageTimers.run("last_active", () -> lastActiveTracker.touch(((User) userDetails).getId()));
 
                     filterChain.doFilter(request, response);
                 } else {
@@ -80,8 +114,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    private boolean isPublicPath(String requestURI) {
-        return PUBLIC_PATHS.stream().anyMatch(path -> requestURI.startsWith(path));
+    private void authenticate(HttpServletRequest request, Object principal,
+            Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
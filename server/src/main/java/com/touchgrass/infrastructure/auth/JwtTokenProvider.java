@@ -1,6 +1,10 @@
 package com.touchgrass.infrastructure.auth;
 
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,15 +14,23 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIAL_VERSION = "cv";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -26,12 +38,23 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
     private Key signingKey;
+    private JwtParser parser;
+
+    // Keyed by SHA-256 of the token so raw bearer tokens aren't retained on the heap.
+    private final ConcurrentHashMap<ByteBuffer, ParsedToken> verifiedTokens = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens.clear();
     }
 
     public void setJwtSecret(String jwtSecret) {
@@ -42,10 +65,28 @@ public class JwtTokenProvider {
         this.jwtExpirationInMs = jwtExpirationInMs;
     }
 
+    public void setVerifiedCacheSize(int verifiedCacheSize) {
+        this.verifiedCacheSize = verifiedCacheSize;
+    }
+
+    public long getExpiresInSeconds() {
+        return jwtExpirationInMs / 1000;
+    }
+
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        if (userDetails instanceof User user) {
+            return generateToken(user);
+        }
+        return createToken(new HashMap<>(), userDetails.getUsername());
+    }
+
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.isAdmin() ? UserRole.ADMIN.name() : UserRole.USER.name());
+        claims.put(CLAIM_CREDENTIAL_VERSION, user.getCredentialVersion());
+        return createToken(claims, user.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -58,17 +99,52 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry once and returns the parsed token.
+     * Recently verified tokens are served from a bounded cache until they expire.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public ParsedToken validate(String token) {
+        if (verifiedCacheSize <= 0) {
+            return parse(token);
+        }
+
+        Instant now = Instant.now();
+        ByteBuffer digest = digest(token);
+        ParsedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+
+        ParsedToken parsed = parse(token);
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            verifiedTokens.values().removeIf(entry -> entry.isExpired(now));
+            if (verifiedTokens.size() >= verifiedCacheSize) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(digest, parsed);
+        return parsed;
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(validate(token), userDetails);
+    }
+
+    public boolean validateToken(ParsedToken token, UserDetails userDetails) {
+        return token.subject().equals(userDetails.getUsername()) && !token.isExpired(Instant.now());
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return validate(token).subject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(validate(token).expiresAt());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -76,15 +152,30 @@ public class JwtTokenProvider {
         return claimsResolver.apply(claims);
     }
 
+    private ParsedToken parse(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null) {
+            throw new ExpiredJwtException(null, claims, "Token has no expiration");
+        }
+        Map<String, Object> custom = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (value != null && !Claims.SUBJECT.equals(name) && !Claims.EXPIRATION.equals(name)) {
+                custom.put(name, value);
+            }
+        });
+        return new ParsedToken(claims.getSubject(), claims.getExpiration().toInstant(), custom);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
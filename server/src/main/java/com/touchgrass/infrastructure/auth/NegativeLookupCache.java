@@ -0,0 +1,84 @@
+package com.touchgrass.infrastructure.auth;
+
+import com.touchgrass.infrastructure.cache.CacheInvalidation;
+import com.touchgrass.infrastructure.cache.InvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers login identifiers that matched no account, so repeated attempts
+ * against non-existent users (credential stuffing) don't reach the database.
+ * Entries expire after a short TTL and are dropped, on every instance, when
+ * a matching user registers or is imported.
+ */
+@Component
+public class NegativeLookupCache {
+    public static final String CACHE_NAME = "negative-lookups";
+
+    // No account has an empty identifier, so it never needs invalidating on its own.
+    private static final String ALL = "";
+
+    private final ConcurrentHashMap<String, Long> expiries = new ConcurrentHashMap<>();
+    private final InvalidationBus invalidationBus;
+
+    @Value("${auth.negative-lookup.ttl:60000}")
+    private long ttlInMs;
+
+    @Value("${auth.negative-lookup.max-size:100000}")
+    private int maxSize;
+
+    public NegativeLookupCache(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(CACHE_NAME, this::evict);
+    }
+
+    public boolean isKnownMissing(String identifier) {
+        Long expiresAt = expiries.get(identifier);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            expiries.remove(identifier, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void recordMissing(String identifier) {
+        long now = System.currentTimeMillis();
+        if (expiries.size() >= maxSize) {
+            expiries.values().removeIf(expiresAt -> expiresAt < now);
+            if (expiries.size() >= maxSize) {
+                expiries.clear();
+            }
+        }
+        expiries.put(identifier, now + ttlInMs);
+    }
+
+    /**
+     * Forgets that {@code identifier} was missing, here straight away and on
+     * every other instance once the surrounding transaction commits.
+     */
+    public void invalidate(String identifier) {
+        if (identifier != null && !identifier.equals(ALL)) {
+            evict(identifier);
+            invalidationBus.publish(new CacheInvalidation(CACHE_NAME, identifier));
+        }
+    }
+
+    /** Forgets every missing identifier on every instance, for bulk changes that would need one message per user. */
+    public void invalidateAll() {
+        evict(ALL);
+        invalidationBus.publish(new CacheInvalidation(CACHE_NAME, ALL));
+    }
+
+    private void evict(String identifier) {
+        if (identifier.equals(ALL)) {
+            expiries.clear();
+        } else {
+            expiries.remove(identifier);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.touchgrass.infrastructure.auth;
+
+import com.touchgrass.domain.user.model.UserRole;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable result of verifying a JWT once: the subject, expiry and the
+ * custom claims the server issues.
+ */
+public record ParsedToken(String subject, Instant expiresAt, Map<String, Object> claims) {
+
+    public ParsedToken {
+        claims = Map.copyOf(claims);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Returns the principal carried by the claims, or null for tokens issued
+     * without them.
+     */
+    public AuthenticatedUser toAuthenticatedUser() {
+        Object userId = claims.get(JwtTokenProvider.CLAIM_USER_ID);
+        Object role = claims.get(JwtTokenProvider.CLAIM_ROLE);
+        Object credentialVersion = claims.get(JwtTokenProvider.CLAIM_CREDENTIAL_VERSION);
+        if (!(userId instanceof Number) || !(role instanceof String)
+                || !(credentialVersion instanceof Number)) {
+            return null;
+        }
+        return new AuthenticatedUser(((Number) userId).longValue(), subject, UserRole.valueOf((String) role),
+                ((Number) credentialVersion).intValue());
+    }
+}
@@ -0,0 +1,236 @@
+package com.touchgrass.infrastructure.auth;
+
+import com.touchgrass.domain.auth.model.RefreshToken;
+import com.touchgrass.domain.auth.repository.RefreshTokenRepository;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.user.UserCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues and rotates the opaque refresh tokens that stand behind
+ * short-lived access tokens, keeping only their SHA-256 in
+ * {@link RefreshToken} rows.
+ *
+ * Each token's successor is derived from it with an HMAC keyed from the
+ * JWT secret, so it can be handed out again without being stored. A token
+ * presented again within {@code jwt.refresh.reuse-grace} ms of its rotation,
+ * as when a client retries a refresh whose response it lost or two of its
+ * requests race, gets the same successor back as long as that hasn't been
+ * used yet.
+ *
+ * Presenting a rotated token any later, or after its successor was used,
+ * means it has been copied. The whole family is revoked and the user's
+ * credential version bumped, which ends every session of the user: access
+ * tokens are turned away once the {@link CredentialVersionCache}s drop the
+ * old version, and the other refresh tokens when next presented.
+ */
+@Component
+public class RefreshTokenStore {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenStore.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final Duration expiration;
+    private final Duration reuseGrace;
+    private final SecretKeySpec successorKey;
+    private final SecureRandom random = new SecureRandom();
+
+    private final LongAdder rotatedCount = new LongAdder();
+    private final LongAdder reusedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public RefreshTokenStore(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+            UserCache userCache, @Value("${jwt.secret}") String secret,
+            @Value("${jwt.refresh.expiration:2592000000}") long expirationInMs,
+            @Value("${jwt.refresh.reuse-grace:30000}") long reuseGraceInMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.expiration = Duration.ofMillis(expirationInMs);
+        this.reuseGrace = Duration.ofMillis(reuseGraceInMs);
+        // A key of its own, rather than the JWT signing key itself.
+        this.successorKey = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8),
+                HMAC_ALGORITHM), "refresh-token-successor"), HMAC_ALGORITHM);
+    }
+
+    /** Starts a new token family for a user who has just proved their password. */
+    public String issue(Long userId, int credentialVersion) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        save(token, userId, UUID.randomUUID().toString(), credentialVersion, LocalDateTime.now());
+        return token;
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family.
+     *
+     * @return the user and new token, or empty if the token is unknown, expired, revoked or reused
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String token) {
+        if (token == null || token.isEmpty()) {
+            rejectedCount.increment();
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token)).orElse(null);
+        if (current == null || current.isExpired(now) || current.getRevokedAt() != null) {
+            rejectedCount.increment();
+            return Optional.empty();
+        }
+        String next = successor(token);
+        if (current.getRotatedAt() != null) {
+            return reissue(current, next, current.getRotatedAt(), now);
+        }
+        if (refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            // A concurrent refresh of the same token got there first, just now.
+            return reissue(current, next, now, now);
+        }
+        if (!hasCurrentCredentials(current, now)) {
+            return Optional.empty();
+        }
+
+        save(next, current.getUserId(), current.getFamilyId(), current.getCredentialVersion(), now);
+        rotatedCount.increment();
+        return Optional.of(new Rotation(current.getUserId(), current.getCredentialVersion(), next));
+    }
+
+    /** Revokes the family a token belongs to, as on logout; false if the token is unknown. */
+    @Transactional
+    public boolean revoke(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        RefreshToken found = refreshTokenRepository.findByTokenHash(hash(token)).orElse(null);
+        if (found == null) {
+            return false;
+        }
+        refreshTokenRepository.revokeFamily(found.getFamilyId(), LocalDateTime.now());
+        return true;
+    }
+
+    /** Deletes expired tokens, rotated and revoked ones included; until then they serve to spot reuse. */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval:3600000}")
+    public int purge() {
+        return refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    public long getRotatedCount() {
+        return rotatedCount.sum();
+    }
+
+    public long getReusedCount() {
+        return reusedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Hands out {@code next}, the successor of a token rotated at
+     * {@code rotatedAt}, again if that was within the grace period and the
+     * successor is still unused; treats the token as stolen otherwise.
+     */
+    private Optional<Rotation> reissue(RefreshToken rotated, String next, LocalDateTime rotatedAt,
+            LocalDateTime now) {
+        if (rotatedAt.plus(reuseGrace).isBefore(now)) {
+            revokeReusedFamily(rotated, now);
+            return Optional.empty();
+        }
+        RefreshToken successor = refreshTokenRepository.findCurrentByTokenHash(hash(next)).orElse(null);
+        if (successor == null || successor.isExpired(now) || successor.getRevokedAt() != null) {
+            // The rotation was rolled back, or the family has been revoked since.
+            rejectedCount.increment();
+            return Optional.empty();
+        }
+        if (successor.getRotatedAt() != null) {
+            revokeReusedFamily(rotated, now);
+            return Optional.empty();
+        }
+        if (!hasCurrentCredentials(successor, now)) {
+            return Optional.empty();
+        }
+        rotatedCount.increment();
+        return Optional.of(new Rotation(successor.getUserId(), successor.getCredentialVersion(), next));
+    }
+
+    /** False, revoking the family, if the user's credentials have changed since the family was started. */
+    private boolean hasCurrentCredentials(RefreshToken token, LocalDateTime now) {
+        Integer credentialVersion = userRepository.findCredentialVersionById(token.getUserId()).orElse(null);
+        if (credentialVersion != null && credentialVersion == token.getCredentialVersion()) {
+            return true;
+        }
+        // E.g. by a password change.
+        refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+        rejectedCount.increment();
+        return false;
+    }
+
+    private void revokeReusedFamily(RefreshToken reused, LocalDateTime now) {
+        log.warn("Refresh token reuse for user {}, revoking token family {}", reused.getUserId(),
+                reused.getFamilyId());
+        refreshTokenRepository.revokeFamily(reused.getFamilyId(), now);
+        userRepository.revokeCredentials(reused.getUserId());
+        // Published on commit; drops the cached credential version on every instance.
+        userCache.invalidate(reused.getUserId());
+        reusedCount.increment();
+    }
+
+    private void save(String token, Long userId, String familyId, int credentialVersion, LocalDateTime now) {
+        refreshTokenRepository.save(new RefreshToken(hash(token), userId, familyId, credentialVersion, now,
+                now.plus(expiration)));
+    }
+
+    private String successor(String token) {
+        byte[] mac = hmac(successorKey, token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+
+    private static byte[] hmac(SecretKeySpec key, String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    // The tokens are random, so a fast unsalted hash is enough to make a leaked table useless.
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record Rotation(Long userId, int credentialVersion, String refreshToken) {
+    }
+}
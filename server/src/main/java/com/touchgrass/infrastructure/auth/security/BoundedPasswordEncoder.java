@@ -0,0 +1,108 @@
+package com.touchgrass.infrastructure.auth.security;
+
+import com.touchgrass.core.util.BoundedExecutors;
+import com.touchgrass.domain.exceptions.ServiceOverloadedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs hashing and verification on a fixed pool sized to the CPU, so a login
+ * burst can't park every servlet worker in BCrypt. Work beyond the queue limit
+ * is rejected straight away with a {@link ServiceOverloadedException}.
+ *
+ * The pool deliberately uses platform threads: with virtual request threads
+ * it is what keeps CPU-bound hashing from starving the carrier threads.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashTimeNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, int retryAfterSeconds) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.executor = BoundedExecutors.fixed("password-hash", threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    public long getTotalHashTimeNanos() {
+        return hashTimeNanos.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    hashTimeNanos.add(System.nanoTime() - start);
+                    hashCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new ServiceOverloadedException("Too many requests, please try again shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
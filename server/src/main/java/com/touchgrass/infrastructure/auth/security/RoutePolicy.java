@@ -0,0 +1,148 @@
+package com.touchgrass.infrastructure.auth.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The routes that need no authentication, for both {@link SecurityConfig}
+ * and the JWT filter, so the two can't disagree.
+ *
+ * Patterns are literal paths, optionally ending in {@code /**} for
+ * everything below, and are compiled once into a trie of path segments; a
+ * request is matched by walking its raw path down the trie, without
+ * decoding or parsing it. A path that only matches once decoded or
+ * normalised (encoded characters, path parameters, empty segments) is
+ * treated as protected. Pre-flight OPTIONS requests are always public.
+ *
+ * The Prometheus scrape is public only on a management port of its own,
+ * which is not exposed outside the cluster; on the API port it needs a
+ * token like any other route.
+ */
+@Component
+public class RoutePolicy implements RequestMatcher {
+    private static final List<String> PUBLIC_PATTERNS = List.of(
+            "/api/auth/**",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/actuator/health");
+    private static final List<String> MANAGEMENT_PATTERNS = List.of(
+            "/actuator/prometheus");
+    private static final String ANY_BELOW = "/**";
+
+    private final Node publicRoutes = new Node();
+    private final Node managementRoutes = new Node();
+    private final int managementPort;
+
+    /** A policy for a server without a separate management port. */
+    public RoutePolicy() {
+        this(-1, -1);
+    }
+
+    @Autowired
+    public RoutePolicy(@Value("${management.server.port:-1}") int managementPort,
+            @Value("${server.port:8080}") int serverPort) {
+        this.managementPort = managementPort > 0 && managementPort != serverPort ? managementPort : -1;
+        for (String pattern : PUBLIC_PATTERNS) {
+            add(publicRoutes, pattern);
+        }
+        for (String pattern : MANAGEMENT_PATTERNS) {
+            add(managementRoutes, pattern);
+        }
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        int from = request.getContextPath().length();
+        return isPublic(method, uri, from)
+                || managementPort > 0 && request.getLocalPort() == managementPort
+                        && matches(managementRoutes, uri, from);
+    }
+
+    /** Whether a request for {@code path}, relative to the context path, may go through unauthenticated. */
+    public boolean isPublic(String method, String path) {
+        return isPublic(method, path, 0);
+    }
+
+    private boolean isPublic(String method, String uri, int from) {
+        return HttpMethod.OPTIONS.matches(method) || matches(publicRoutes, uri, from);
+    }
+
+    private static boolean matches(Node routes, String uri, int from) {
+        if (uri.length() <= from || uri.charAt(from) != '/') {
+            return false;
+        }
+        Node node = routes;
+        int start = from + 1;
+        while (true) {
+            if (node.anyBelow) {
+                return true;
+            }
+            int end = uri.indexOf('/', start);
+            node = node.child(uri, start, end < 0 ? uri.length() : end);
+            if (node == null) {
+                return false;
+            }
+            if (end < 0) {
+                return node.exact || node.anyBelow;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static void add(Node routes, String pattern) {
+        boolean anyBelow = pattern.endsWith(ANY_BELOW);
+        String path = anyBelow ? pattern.substring(0, pattern.length() - ANY_BELOW.length()) : pattern;
+        if (!path.startsWith("/") || path.length() < 2 || path.endsWith("/")
+                || path.contains("*") || path.contains("{") || path.contains("//")) {
+            throw new IllegalArgumentException("Unsupported route pattern: " + pattern);
+        }
+        Node node = routes;
+        for (String segment : path.substring(1).split("/")) {
+            node = node.addChild(segment);
+        }
+        if (anyBelow) {
+            node.anyBelow = true;
+        } else {
+            node.exact = true;
+        }
+    }
+
+    /** A trie node; children are few, so they are scanned in place rather than hashed from a substring. */
+    private static final class Node {
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private boolean exact;
+        private boolean anyBelow;
+
+        private Node child(String uri, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].length() == length && uri.regionMatches(start, segments[i], 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            return children[children.length - 1] = new Node();
+        }
+    }
+}
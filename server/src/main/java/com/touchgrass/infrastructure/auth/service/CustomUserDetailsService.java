@@ -1,26 +1,48 @@
 package com.touchgrass.infrastructure.auth.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
 import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.user.UserCache;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserCache userCache) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return userCache.findByUsername(username)
+                .map(UserSnapshot::toUser)
                 .orElseThrow(() -> {
                     return new UsernameNotFoundException("User not found with username: " + username);
                 });
 
     }
+
+    /**
+     * Called after a successful login when the stored hash was made with a
+     * lower BCrypt cost than the one currently configured.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User not found with username: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        User saved = userRepository.save(entity);
+        userCache.invalidate(saved);
+        return saved;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package com.touchgrass.infrastructure.cache;
+
+public record CacheInvalidation(String cacheName, String key) {
+}
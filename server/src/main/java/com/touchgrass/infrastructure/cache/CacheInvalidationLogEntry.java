@@ -0,0 +1,47 @@
+package com.touchgrass.infrastructure.cache;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Row in the shared invalidation log tailed by {@link JdbcPollingInvalidationBus}.
+ * Mapped so the schema is managed with the rest of the entities; reads and
+ * writes go through JDBC.
+ */
+@Entity
+@Table(name = "cache_invalidation_log", indexes = {
+        @Index(name = "idx_cache_invalidation_log_created_at", columnList = "created_at")
+})
+public class CacheInvalidationLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 64)
+    private String cacheName;
+
+    @Column(name = "cache_key", nullable = false)
+    private String cacheKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected CacheInvalidationLogEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
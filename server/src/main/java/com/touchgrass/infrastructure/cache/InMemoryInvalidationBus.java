@@ -0,0 +1,25 @@
+package com.touchgrass.infrastructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-JVM bus for tests and single-instance deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "in-memory")
+public class InMemoryInvalidationBus implements InvalidationBus {
+    private final LocalSubscribers subscribers = new LocalSubscribers();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        subscribers.deliverAfterCommit(invalidation);
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<String> listener) {
+        subscribers.add(cacheName, listener);
+    }
+}
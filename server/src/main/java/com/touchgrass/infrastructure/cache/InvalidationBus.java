@@ -0,0 +1,15 @@
+package com.touchgrass.infrastructure.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache evictions to every server instance, including this one.
+ * Implementations must deliver each invalidation to local subscribers, and
+ * defer delivery until commit when published inside a transaction.
+ */
+public interface InvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(String cacheName, Consumer<String> listener);
+}
@@ -0,0 +1,120 @@
+package com.touchgrass.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus over the {@code cache_invalidation_log} table. Publishing
+ * appends a row (in the caller's transaction, if any); every instance tails
+ * the table by id in batches and evicts locally.
+ *
+ * Auto-increment ids can become visible out of order when transactions commit
+ * concurrently, so each poll re-reads a small window below the high-water
+ * mark and skips ids it has already delivered.
+ *
+ * Polls are serialised with a {@link ReentrantLock} rather than
+ * {@code synchronized}: the lock is held across JDBC calls, which would pin
+ * the carrier thread when the scheduler runs on virtual threads.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcPollingInvalidationBus implements InvalidationBus {
+    private static final Logger log = LoggerFactory.getLogger(JdbcPollingInvalidationBus.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidation_log (cache_name, cache_key, created_at) VALUES (?, ?, ?)";
+    private static final String POLL_SQL = "SELECT id, cache_name, cache_key FROM cache_invalidation_log "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM cache_invalidation_log";
+    private static final String PURGE_SQL = "DELETE FROM cache_invalidation_log WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long lookback;
+    private final long retentionInMs;
+    private final LocalSubscribers subscribers = new LocalSubscribers();
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    private final TreeSet<Long> deliveredIds = new TreeSet<>();
+    private long highWaterMark = -1;
+
+    public JdbcPollingInvalidationBus(JdbcTemplate jdbcTemplate,
+            @Value("${cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${cache.invalidation.lookback:100}") long lookback,
+            @Value("${cache.invalidation.retention:3600000}") long retentionInMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.lookback = lookback;
+        this.retentionInMs = retentionInMs;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        jdbcTemplate.update(INSERT_SQL, invalidation.cacheName(), invalidation.key(),
+                Timestamp.valueOf(LocalDateTime.now()));
+        subscribers.deliverAfterCommit(invalidation);
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<String> listener) {
+        subscribers.add(cacheName, listener);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:250}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            if (highWaterMark < 0) {
+                // Start from the current tail; older rows predate this instance's caches.
+                Long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+                highWaterMark = maxId == null ? 0 : maxId;
+                return;
+            }
+
+            long from = Math.max(0, highWaterMark - lookback);
+            List<LogRow> rows;
+            do {
+                rows = jdbcTemplate.query(POLL_SQL, (rs, rowNum) -> new LogRow(
+                        rs.getLong("id"), rs.getString("cache_name"), rs.getString("cache_key")), from, batchSize);
+                for (LogRow row : rows) {
+                    if (deliveredIds.add(row.id())) {
+                        subscribers.deliver(new CacheInvalidation(row.cacheName(), row.key()));
+                    }
+                    from = row.id();
+                }
+                highWaterMark = Math.max(highWaterMark, from);
+            } while (rows.size() == batchSize);
+            deliveredIds.headSet(highWaterMark - lookback, true).clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll cache invalidation log", e);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval:60000}")
+    public void purge() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionInMs));
+            jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff));
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge cache invalidation log", e);
+        }
+    }
+
+    private record LogRow(long id, String cacheName, String key) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.touchgrass.infrastructure.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber registry shared by the {@link InvalidationBus} implementations.
+ */
+class LocalSubscribers {
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    void add(String cacheName, Consumer<String> listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    void deliver(CacheInvalidation invalidation) {
+        List<Consumer<String>> subscribers = listeners.get(invalidation.cacheName());
+        if (subscribers != null) {
+            subscribers.forEach(listener -> listener.accept(invalidation.key()));
+        }
+    }
+
+    void deliverAfterCommit(CacheInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(invalidation);
+                }
+            });
+        } else {
+            deliver(invalidation);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.touchgrass.infrastructure.habit;
+
+import com.touchgrass.domain.habit.repository.ReminderInstanceRepository;
+import com.touchgrass.domain.habit.repository.ReminderPartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Splits the work of sending habit reminders between server instances. Users
+ * are spread over a fixed number of partitions by id, and each instance
+ * holds leases on about its fair share of them in the
+ * {@code reminder_partitions} table: the partition count divided by the
+ * number of live instances, which renew their own lease in
+ * {@code reminder_instances}. Leases of an instance that stops renewing run
+ * out and are taken over by the others; one that holds more than its share
+ * (because another instance started) gives some back.
+ *
+ * The held set is only trusted while the leases have at least a third of
+ * their time left since the last successful renewal, so work started on
+ * it has that long to finish before another instance could take a
+ * partition over. If renewals fall behind, this instance stops acting on
+ * its partitions until they catch up.
+ */
+@Component
+public class ReminderPartitionLeases {
+    private final ReminderPartitionRepository partitionRepository;
+    private final ReminderInstanceRepository instanceRepository;
+    private final int partitions;
+    private final long leaseInMs;
+    private final String owner = UUID.randomUUID().toString();
+    private volatile Set<Integer> owned = Set.of();
+    private volatile long trustedUntil;
+    private boolean initialized;
+
+    public ReminderPartitionLeases(ReminderPartitionRepository partitionRepository,
+            ReminderInstanceRepository instanceRepository,
+            @Value("${reminders.partitions:16}") int partitions,
+            @Value("${reminders.lease:30000}") long leaseInMs) {
+        this.partitionRepository = partitionRepository;
+        this.instanceRepository = instanceRepository;
+        this.partitions = partitions;
+        this.leaseInMs = leaseInMs;
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public int partitionOf(Long userId) {
+        return Math.toIntExact(Math.floorMod(userId, (long) partitions));
+    }
+
+    /** Whether the user's partition is held, and its lease can still be trusted. */
+    public boolean owns(Long userId) {
+        return isCurrent() && owned.contains(partitionOf(userId));
+    }
+
+    /** Whether the leases were renewed recently enough to act on them. */
+    public boolean isCurrent() {
+        return System.currentTimeMillis() < trustedUntil;
+    }
+
+    /** The partitions held as of the last {@link #rebalance()}. */
+    public Set<Integer> owned() {
+        return owned;
+    }
+
+    /**
+     * Renews this instance's leases and takes or gives back partitions to
+     * get to its fair share. Must be called well within the lease time; not
+     * safe to call concurrently.
+     *
+     * @return the partitions now held
+     */
+    public Set<Integer> rebalance() {
+        if (!initialized) {
+            for (int partition = 0; partition < partitions; partition++) {
+                partitionRepository.insertIfAbsent(partition);
+            }
+            initialized = true;
+        }
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusNanos(leaseInMs * 1_000_000);
+        if (instanceRepository.renew(owner, leaseUntil) == 0) {
+            instanceRepository.insertIfAbsent(owner, leaseUntil);
+        }
+        instanceRepository.deleteExpired(now);
+        partitionRepository.renew(owner, now, leaseUntil);
+        TreeSet<Integer> held = new TreeSet<>(partitionRepository.findOwned(owner, now));
+
+        long instances = Math.max(1, instanceRepository.countLive(now));
+        long share = (partitions + instances - 1) / instances;
+        while (held.size() > share) {
+            int partition = held.pollLast();
+            partitionRepository.release(partition, owner);
+        }
+        if (held.size() < share) {
+            List<Integer> claimable = new ArrayList<>(partitionRepository.findClaimable(now));
+            for (int i = 0; i < claimable.size() && held.size() < share; i++) {
+                if (partitionRepository.claim(claimable.get(i), owner, now, leaseUntil) == 1) {
+                    held.add(claimable.get(i));
+                }
+            }
+        }
+        owned = Set.copyOf(held);
+        // The leases run from before the renewal, however long it took.
+        trustedUntil = startedAt + leaseInMs * 2 / 3;
+        return owned;
+    }
+
+    /** Gives up every lease, so other instances can take the partitions over at once. */
+    public void releaseAll() {
+        Set<Integer> held = owned;
+        owned = Set.of();
+        trustedUntil = 0;
+        for (int partition : held) {
+            partitionRepository.release(partition, owner);
+        }
+        instanceRepository.remove(owner);
+    }
+}
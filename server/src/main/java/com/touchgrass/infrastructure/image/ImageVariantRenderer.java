@@ -0,0 +1,268 @@
+package com.touchgrass.infrastructure.image;
+
+import com.touchgrass.domain.upload.model.ImageVariant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Decodes a photo once and scales it down to every {@link ImageVariant},
+ * re-encoded as JPEG without the original's metadata. A JPEG's EXIF
+ * orientation is applied to the pixels first, since the variants no longer
+ * carry the tag that told viewers to turn it.
+ *
+ * Memory is bounded by the output, not the input: the dimensions are read
+ * from the header and anything over {@code images.max-pixels} is refused
+ * before a single pixel is decoded, and the decoder subsamples on the way in
+ * so the raster it produces is at most about twice the largest variant's edge.
+ * The encoded bytes are buffered while decoding, which is bounded by
+ * {@code uploads.max-size}.
+ */
+@Component
+public class ImageVariantRenderer {
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final String APP1_MARKER = "225";
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int NORMAL_ORIENTATION = 1;
+    private static final List<ImageVariant> LARGEST_FIRST = Stream.of(ImageVariant.values())
+            .sorted(Comparator.comparingInt(ImageVariant::getMaxEdge).reversed())
+            .toList();
+
+    @FunctionalInterface
+    public interface VariantSink {
+        void accept(ImageVariant variant, BufferedImage image) throws IOException;
+    }
+
+    private final long maxPixels;
+
+    public ImageVariantRenderer(@Value("${images.max-pixels:50000000}") long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    /** Whether there is a decoder for this type at all; others aren't worth queueing. */
+    public boolean canRender(String contentType) {
+        return ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+
+    /**
+     * Produces every variant from {@code source}, largest first, each scaled
+     * from the one before it so the work shrinks as it goes.
+     *
+     * @throws UnprocessableImageException if the content can't be decoded or is too large
+     */
+    public void render(ReadableByteChannel source, VariantSink sink) throws IOException {
+        BufferedImage current = decode(source, LARGEST_FIRST.get(0).getMaxEdge());
+        for (ImageVariant variant : LARGEST_FIRST) {
+            current = fit(current, variant.getMaxEdge());
+            sink.accept(variant, current);
+        }
+    }
+
+    public void writeJpeg(BufferedImage image, WritableByteChannel target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        // Closing the image stream flushes it but leaves the target open.
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(Channels.newOutputStream(target))) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    BufferedImage decode(ReadableByteChannel source, int minEdge) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(Channels.newInputStream(source))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnprocessableImageException("Unrecognised image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                boolean jpeg = "jpeg".equalsIgnoreCase(reader.getFormatName());
+                // Only a JPEG's metadata is needed, for its orientation.
+                reader.setInput(input, true, !jpeg);
+                int width;
+                int height;
+                try {
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } catch (IIOException e) {
+                    throw new UnprocessableImageException("Unreadable image header", e);
+                }
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new UnprocessableImageException("Image is " + width + "x" + height
+                            + ", over the limit of " + maxPixels + " pixels");
+                }
+
+                // Keep the decoded long edge at or above minEdge so no variant is upscaled from it.
+                int subsampling = Math.max(1, Math.max(width, height) / minEdge);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image;
+                try {
+                    image = reader.read(0, param);
+                } catch (IIOException | RuntimeException e) {
+                    // Decoders signal truncated or malformed data in all sorts of ways.
+                    throw new UnprocessableImageException("Corrupt image data", e);
+                }
+                return jpeg ? orient(image, orientation(reader)) : image;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** The EXIF orientation (1 to 8) of the JPEG being read; 1, as is, if it has none or it can't be read. */
+    static int orientation(ImageReader reader) {
+        IIOMetadata metadata;
+        try {
+            metadata = reader.getImageMetadata(0);
+        } catch (IOException | RuntimeException e) {
+            return NORMAL_ORIENTATION;
+        }
+        if (metadata == null) {
+            return NORMAL_ORIENTATION;
+        }
+        Node markers = metadata.getAsTree(JPEG_METADATA_FORMAT).getLastChild();
+        for (Node marker = markers.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+            Node tag = marker.getAttributes().getNamedItem("MarkerTag");
+            if (tag != null && APP1_MARKER.equals(tag.getNodeValue())
+                    && ((IIOMetadataNode) marker).getUserObject() instanceof byte[] data) {
+                int orientation = exifOrientation(data);
+                if (orientation != 0) {
+                    return orientation;
+                }
+            }
+        }
+        return NORMAL_ORIENTATION;
+    }
+
+    /** The orientation tag from the first IFD of an APP1 Exif segment, or 0 if it isn't one or has none. */
+    static int exifOrientation(byte[] app1) {
+        if (app1.length < EXIF_HEADER.length + 8
+                || !ByteBuffer.wrap(app1, 0, EXIF_HEADER.length).equals(ByteBuffer.wrap(EXIF_HEADER))) {
+            return 0;
+        }
+        // Offsets in the TIFF structure are from its header, just after "Exif\0\0".
+        ByteBuffer tiff = ByteBuffer.wrap(app1, EXIF_HEADER.length, app1.length - EXIF_HEADER.length).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 0;
+        }
+        long ifd = Integer.toUnsignedLong(tiff.getInt(4));
+        if (ifd > tiff.limit() - 2) {
+            return 0;
+        }
+        int entries = Short.toUnsignedInt(tiff.getShort((int) ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry > tiff.limit() - 12) {
+                return 0;
+            }
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                // A SHORT, left-justified in the value field.
+                int orientation = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                return orientation >= 1 && orientation <= 8 ? orientation : 0;
+            }
+        }
+        return 0;
+    }
+
+    /** Turns and flips {@code source} as EXIF {@code orientation} says it should be shown. */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // Each maps a stored pixel (x, y) to where it is shown: (m00 x + m01 y + m02, m10 x + m11 y + m12).
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swapped = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swapped ? h : w, swapped ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    /** Scales {@code source} down to fit within {@code maxEdge}, as opaque RGB. */
+    static BufferedImage fit(BufferedImage source, int maxEdge) {
+        int sourceWidth = source.getWidth();
+        int sourceHeight = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(sourceWidth, sourceHeight));
+        int width = Math.max(1, (int) Math.round(sourceWidth * scale));
+        int height = Math.max(1, (int) Math.round(sourceHeight * scale));
+        if (width == sourceWidth && height == sourceHeight && source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+
+        // Bilinear only samples a 2x2 neighbourhood, so halve step by step
+        // rather than dropping straight to a much smaller size.
+        BufferedImage current = source;
+        int stepWidth = sourceWidth;
+        int stepHeight = sourceHeight;
+        do {
+            stepWidth = Math.max(width, stepWidth / 2);
+            stepHeight = Math.max(height, stepHeight / 2);
+            BufferedImage next = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha; transparent areas go white.
+                graphics.drawImage(current, 0, 0, stepWidth, stepHeight, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (stepWidth != width || stepHeight != height);
+        return current;
+    }
+}
@@ -0,0 +1,15 @@
+package com.touchgrass.infrastructure.image;
+
+/**
+ * The content can't be turned into variants and retrying won't change that:
+ * it is not in a format we can decode, is corrupt, or is over the pixel limit.
+ */
+public class UnprocessableImageException extends RuntimeException {
+    public UnprocessableImageException(String message) {
+        super(message);
+    }
+
+    public UnprocessableImageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
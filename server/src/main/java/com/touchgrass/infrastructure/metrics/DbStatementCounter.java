@@ -0,0 +1,35 @@
+package com.touchgrass.infrastructure.metrics;
+
+/**
+ * Counts JDBC statements prepared on the current thread while a scope is
+ * open. {@link StatementCountingDataSource} increments it and
+ * {@link DbStatementMetricsFilter} opens one scope per request; work outside
+ * a request (scheduled flushes, bus polling) is not counted.
+ */
+final class DbStatementCounter {
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private DbStatementCounter() {
+    }
+
+    static void begin() {
+        CURRENT.set(new long[1]);
+    }
+
+    /**
+     * Closes the current scope and returns the number of statements counted,
+     * or 0 if no scope was open.
+     */
+    static long end() {
+        long[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        long[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
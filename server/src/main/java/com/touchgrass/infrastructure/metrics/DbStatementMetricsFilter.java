@@ -0,0 +1,68 @@
+package com.touchgrass.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Records the JDBC statements each request executes as
+ * {@code http.server.requests.db.statements}, tagged by method, URI pattern
+ * and outcome. When {@code metrics.db-statements-header.enabled} is set (for
+ * non-production profiles) the count is also returned in the
+ * {@value #HEADER} response header, which buffers the response body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DbStatementMetricsFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-DB-Statements";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metrics.db-statements-header.enabled:false}")
+    private boolean headerEnabled;
+
+    public DbStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = headerEnabled ? new ContentCachingResponseWrapper(response) : null;
+        DbStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long statements = DbStatementCounter.end();
+            record(request, response, statements);
+            if (buffered != null) {
+                buffered.setHeader(HEADER, Long.toString(statements));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("outcome", Outcome.forStatus(response.getStatus()).name())
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
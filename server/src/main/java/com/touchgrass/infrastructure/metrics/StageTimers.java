@@ -0,0 +1,65 @@
+package com.touchgrass.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * One timer per stage of a hot path, tagged by {@code stage} and
+ * {@code outcome}. Timers are registered on first use and cached locally.
+ */
+public class StageTimers {
+    public static final String SUCCESS = "success";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageTimers(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    public void record(String stage, String outcome, long startNanos) {
+        timer(stage, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs {@code work} as the given stage. A thrown exception is recorded
+     * with its simple class name as the outcome and rethrown.
+     */
+    public <T> T time(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            record(stage, outcome, start);
+        }
+    }
+
+    public void run(String stage, Runnable work) {
+        time(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static String outcomeOf(Throwable e) {
+        return e.getClass().getSimpleName();
+    }
+
+    private Timer timer(String stage, String outcome) {
+        return timers.computeIfAbsent(stage + '|' + outcome, key -> Timer.builder(name)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+}
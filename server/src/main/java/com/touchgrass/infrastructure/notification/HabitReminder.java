@@ -0,0 +1,7 @@
+package com.touchgrass.infrastructure.notification;
+
+import java.time.Instant;
+
+/** A nudge to complete a habit before the period in {@code periodEndsAt} runs out. */
+public record HabitReminder(Long userId, Long habitId, String habitName, Instant periodEndsAt) {
+}
@@ -0,0 +1,29 @@
+package com.touchgrass.infrastructure.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Stand-in {@link NotificationSender} that logs each notification instead of delivering it. */
+@Component
+public class LoggingNotificationSender implements NotificationSender {
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    private final LongAdder sentCount = new LongAdder();
+
+    @Override
+    public void sendHabitReminders(List<HabitReminder> reminders) {
+        for (HabitReminder reminder : reminders) {
+            log.info("Reminder for user {}: habit {} ('{}') is due before {}", reminder.userId(),
+                    reminder.habitId(), reminder.habitName(), reminder.periodEndsAt());
+        }
+        sentCount.add(reminders.size());
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+}
@@ -0,0 +1,13 @@
+package com.touchgrass.infrastructure.notification;
+
+import java.util.List;
+
+/**
+ * Delivers notifications to users' devices. Reminders are handed over in
+ * batches; an exception means none of the batch is known to have been sent,
+ * and the caller will try the whole batch again.
+ */
+public interface NotificationSender {
+
+    void sendHabitReminders(List<HabitReminder> reminders);
+}
@@ -0,0 +1,50 @@
+package com.touchgrass.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Publishes domain events for {@link OutboxSubscriber}s. The event is
+ * stored in the caller's transaction, so it exists exactly when the change
+ * it describes does, and {@link OutboxRelay} delivers it once committed.
+ */
+@Component
+public class Outbox {
+    private static final String INSERT_SQL = "INSERT IGNORE INTO outbox_events "
+            + "(event_type, aggregate_id, idempotency_key, payload, status, attempts, available_at, created_at) "
+            + "VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Outbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stores an event. Publishing again with the same idempotency key is a
+     * no-op, so retried requests don't deliver an event twice.
+     *
+     * @param payload serialised as JSON
+     * @return whether the event was new
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean publish(String eventType, Long aggregateId, String idempotencyKey, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise " + eventType + " payload", e);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(INSERT_SQL, eventType, aggregateId, idempotencyKey, json, now, now) == 1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.touchgrass.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as handed to subscribers. {@code attempt} counts from 1;
+ * a message can arrive more than once, always with the same
+ * {@code idempotencyKey}.
+ */
+public record OutboxMessage(Long id, String type, Long aggregateId, String idempotencyKey, JsonNode payload,
+        int attempt, LocalDateTime createdAt) {
+}
@@ -0,0 +1,254 @@
+package com.touchgrass.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.touchgrass.core.util.BoundedExecutors;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers {@link Outbox} events to the {@link OutboxSubscriber}s.
+ *
+ * A poller claims pending events in batches, oldest first, with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}: concurrent pollers on other
+ * instances skip each other's rows instead of waiting, and the claim pushes
+ * each event's {@code available_at} out by a lease, so a batch lost with a
+ * crashed process comes round again. Each batch is handed to a small
+ * bounded pool, which runs its events through the subscribers in order and
+ * then deletes the delivered ones in one JDBC batch. An event a subscriber
+ * fails on is retried after a growing delay, skipping the subscribers that
+ * already handled it, until it is given up as failed.
+ *
+ * Delivery is at least once: an event whose batch outlives its lease, or
+ * whose process dies before the delete, is delivered again.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String CLAIM_SQL = "SELECT id, event_type, aggregate_id, idempotency_key, payload, "
+            + "attempts, created_at FROM outbox_events WHERE status = 'PENDING' AND available_at <= ? "
+            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String LEASE_SQL = "UPDATE outbox_events SET available_at = ?, attempts = attempts + 1 "
+            + "WHERE id = ?";
+    private static final String DELIVERED_SQL = "SELECT subscriber FROM outbox_deliveries WHERE event_id = ?";
+    private static final String RECORD_DELIVERY_SQL =
+            "INSERT IGNORE INTO outbox_deliveries (event_id, subscriber) VALUES (?, ?)";
+    private static final String RETRY_SQL = "UPDATE outbox_events SET status = ?, available_at = ?, last_error = ? "
+            + "WHERE id = ?";
+    private static final String DELETE_DELIVERIES_SQL = "DELETE FROM outbox_deliveries WHERE event_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<OutboxSubscriber> subscribers;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final long leaseInMs;
+    private final long retryDelayInMs;
+    private final int maxAttempts;
+
+    private volatile long lagInMs;
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, List<OutboxSubscriber> subscribers,
+            @Value("${outbox.relay.workers:2}") int workers,
+            @Value("${outbox.relay.queue-capacity:16}") int queueCapacity,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.lease:60000}") long leaseInMs,
+            @Value("${outbox.relay.retry-delay:5000}") long retryDelayInMs,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.subscribers = List.copyOf(subscribers);
+        this.batchSize = batchSize;
+        this.leaseInMs = leaseInMs;
+        this.retryDelayInMs = retryDelayInMs;
+        this.maxAttempts = maxAttempts;
+
+        this.executor = BoundedExecutors.fixed("outbox-relay", workers, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Claims batches of due events and queues them for delivery while the
+     * pool has room.
+     *
+     * @return the number of events claimed
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:500}")
+    public int relay() {
+        int claimed = 0;
+        while (executor.getQueue().remainingCapacity() > 0) {
+            List<OutboxMessage> batch = claim();
+            if (batch.isEmpty()) {
+                break;
+            }
+            claimed += batch.size();
+            try {
+                executor.execute(() -> deliver(batch));
+            } catch (RejectedExecutionException e) {
+                // Comes round again when the lease runs out.
+                log.warn("Outbox relay queue is full, leaving {} claimed events", batch.size());
+                break;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return claimed;
+    }
+
+    /** Age of the oldest event in the last batch claimed, or 0 if the outbox was empty. */
+    public long getLagInMs() {
+        return lagInMs;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Batches still queued keep their rows and are claimed again after the lease.
+        executor.shutdownNow();
+    }
+
+    private List<OutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp leaseUntil = Timestamp.valueOf(now.plus(Duration.ofMillis(leaseInMs)));
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            List<OutboxMessage> rows = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxMessage(
+                    rs.getLong("id"), rs.getString("event_type"), rs.getLong("aggregate_id"),
+                    rs.getString("idempotency_key"), parse(rs.getString("payload")), rs.getInt("attempts") + 1,
+                    rs.getTimestamp("created_at").toLocalDateTime()), Timestamp.valueOf(now), batchSize);
+            jdbcTemplate.batchUpdate(LEASE_SQL, rows, batchSize, (ps, message) -> {
+                ps.setTimestamp(1, leaseUntil);
+                ps.setLong(2, message.id());
+            });
+            return rows;
+        });
+        lagInMs = batch.isEmpty() ? 0 : Duration.between(batch.get(0).createdAt(), now).toMillis();
+        return batch;
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        List<OutboxMessage> delivered = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            try {
+                if (deliver(message)) {
+                    delivered.add(message);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Outbox event {} could not be recorded; its lease will expire", message.id(), e);
+            }
+        }
+        if (delivered.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OutboxMessage> retried = delivered.stream().filter(message -> message.attempt() > 1).toList();
+                if (!retried.isEmpty()) {
+                    jdbcTemplate.batchUpdate(DELETE_DELIVERIES_SQL, retried, batchSize,
+                            (ps, message) -> ps.setLong(1, message.id()));
+                }
+                jdbcTemplate.batchUpdate(DELETE_SQL, delivered, batchSize,
+                        (ps, message) -> ps.setLong(1, message.id()));
+            });
+            deliveredCount.add(delivered.size());
+        } catch (RuntimeException e) {
+            log.warn("Deleting {} delivered outbox events failed; they will be delivered again", delivered.size(), e);
+        }
+    }
+
+    /** Runs one event through the subscribers that still need it; false if one of them failed. */
+    private boolean deliver(OutboxMessage message) {
+        Set<String> done = message.attempt() > 1
+                ? Set.copyOf(jdbcTemplate.queryForList(DELIVERED_SQL, String.class, message.id()))
+                : Set.of();
+        List<String> handledBy = new ArrayList<>();
+        RuntimeException failure = null;
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (!subscriber.handles(message.type()) || done.contains(subscriber.name())) {
+                continue;
+            }
+            try {
+                subscriber.handle(message);
+                handledBy.add(subscriber.name());
+            } catch (RuntimeException e) {
+                log.warn("Outbox subscriber {} failed on event {} (attempt {} of {})", subscriber.name(),
+                        message.id(), message.attempt(), maxAttempts, e);
+                failure = e;
+            }
+        }
+        if (failure == null) {
+            return true;
+        }
+
+        boolean retry = message.attempt() < maxAttempts;
+        String error = failure.toString();
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        Timestamp retryAt = Timestamp.valueOf(LocalDateTime.now().plus(
+                Duration.ofMillis(retryDelayInMs * message.attempt())));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(RECORD_DELIVERY_SQL, handledBy, batchSize, (ps, name) -> {
+                ps.setLong(1, message.id());
+                ps.setString(2, name);
+            });
+            jdbcTemplate.update(RETRY_SQL, retry ? "PENDING" : "FAILED", retryAt, lastError, message.id());
+        });
+        if (retry) {
+            retriedCount.increment();
+        } else {
+            failedCount.increment();
+        }
+        return false;
+    }
+
+    private JsonNode parse(String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            // Subscribers fail on the missing fields, and the event ends up failed.
+            return MissingNode.getInstance();
+        }
+    }
+}
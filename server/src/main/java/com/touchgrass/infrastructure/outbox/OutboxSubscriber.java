@@ -0,0 +1,17 @@
+package com.touchgrass.infrastructure.outbox;
+
+/**
+ * Handles outbox events in the background, after the transaction that
+ * published them has committed. Delivery is at least once: a subscriber
+ * must cope with seeing a message again, e.g. by keying its writes on the
+ * message's idempotency key. Throwing makes the relay try again later.
+ */
+public interface OutboxSubscriber {
+
+    /** Names the subscriber in delivery records; keep it stable across releases. */
+    String name();
+
+    boolean handles(String eventType);
+
+    void handle(OutboxMessage message);
+}
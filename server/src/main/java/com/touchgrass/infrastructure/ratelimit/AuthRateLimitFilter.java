@@ -0,0 +1,201 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits the login and registration endpoints, which each cost a
+ * password hash, before they reach Spring Security. Requests are limited
+ * per client IP and, for login, per login identifier (the {@code username}
+ * field of the body), so neither one client nor a credential-stuffing run
+ * spread over many clients can keep the hashing pool busy. Refused
+ * requests get 429 with Retry-After.
+ *
+ * The client IP is the request's remote address; behind a proxy, set
+ * {@code server.forward-headers-strategy} so it is the real client's.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    // Login bodies are tiny; only this much is read ahead to find the identifier.
+    private static final int MAX_INSPECTED_BODY = 4096;
+    private static final int MAX_IDENTIFIER_LENGTH = 150;
+    private static final String IDENTIFIER_FIELD = "username";
+
+    private final RateLimiter rateLimiter;
+    private final JsonFactory jsonFactory;
+    private final Map<String, Route> routes;
+
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByIdentifier = new LongAdder();
+
+    public AuthRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper,
+            @Value("${rate-limit.login.per-ip.limit:30}") int loginPerIp,
+            @Value("${rate-limit.login.per-ip.period:60000}") long loginPerIpPeriodInMs,
+            @Value("${rate-limit.login.per-identifier.limit:10}") int loginPerIdentifier,
+            @Value("${rate-limit.login.per-identifier.period:60000}") long loginPerIdentifierPeriodInMs,
+            @Value("${rate-limit.register.per-ip.limit:10}") int registerPerIp,
+            @Value("${rate-limit.register.per-ip.period:600000}") long registerPerIpPeriodInMs) {
+        this.rateLimiter = rateLimiter;
+        this.jsonFactory = objectMapper.getFactory();
+        this.routes = Map.of(
+                "/api/auth/login", new Route("login", RateLimit.of(loginPerIp, loginPerIpPeriodInMs),
+                        RateLimit.of(loginPerIdentifier, loginPerIdentifierPeriodInMs)),
+                "/api/auth/register", new Route("register", RateLimit.of(registerPerIp, registerPerIpPeriodInMs),
+                        null));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !routes.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = routes.get(request.getRequestURI());
+        long waitInMs = rateLimiter.tryAcquire(route.name() + ":ip:" + request.getRemoteAddr(), route.perIp());
+        if (waitInMs > 0) {
+            rejectedByIp.increment();
+            reject(response, waitInMs);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        if (route.perIdentifier() != null) {
+            byte[] head = request.getInputStream().readNBytes(MAX_INSPECTED_BODY);
+            forwarded = new ReplayingRequest(request, head);
+            String identifier = identifier(head);
+            if (identifier != null) {
+                waitInMs = rateLimiter.tryAcquire(route.name() + ":id:" + identifier, route.perIdentifier());
+                if (waitInMs > 0) {
+                    rejectedByIdentifier.increment();
+                    reject(response, waitInMs);
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    public long getRejectedByIpCount() {
+        return rejectedByIp.sum();
+    }
+
+    public long getRejectedByIdentifierCount() {
+        return rejectedByIdentifier.sum();
+    }
+
+    private static void reject(HttpServletResponse response, long waitInMs) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitInMs + 999) / 1000));
+    }
+
+    /** The top-level identifier field of a JSON body, normalised; null if absent or unreadable. */
+    private String identifier(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (IDENTIFIER_FIELD.equals(name) && value == JsonToken.VALUE_STRING) {
+                    String identifier = parser.getText().trim().toLowerCase(Locale.ROOT);
+                    return identifier.length() > MAX_IDENTIFIER_LENGTH
+                            ? identifier.substring(0, MAX_IDENTIFIER_LENGTH)
+                            : identifier;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Malformed, or cut off before the field: limited per IP only, and the controller rejects it.
+        }
+        return null;
+    }
+
+    private record Route(String name, RateLimit perIp, RateLimit perIdentifier) {
+    }
+
+    /** Serves the already-read head of the body again, followed by the rest of it. */
+    private static final class ReplayingRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream input;
+
+        ReplayingRequest(HttpServletRequest request, byte[] head) throws IOException {
+            super(request);
+            InputStream body = new SequenceInputStream(new ByteArrayInputStream(head), request.getInputStream());
+            this.input = new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = body.read(buffer, offset, length);
+                    finished = read < 0;
+                    return read;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Blocking reads only");
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return input;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(input, charset));
+        }
+    }
+}
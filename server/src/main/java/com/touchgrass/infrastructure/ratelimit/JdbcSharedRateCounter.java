@@ -0,0 +1,151 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared request counts in the {@code rate_limit_counters} table.
+ *
+ * Requests are counted in memory and pushed to the table in JDBC batches
+ * every sync interval, and the totals of the keys this instance has seen
+ * are read back at the same time, so the request path never touches the
+ * database. A key's count is the last total read plus what this instance
+ * has counted since, which is short of the true count by whatever the
+ * other instances counted since their last sync.
+ *
+ * Syncs are serialised with a {@link ReentrantLock} rather than
+ * {@code synchronized}, as the lock is held across JDBC calls.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.shared-counter", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcSharedRateCounter implements SharedRateCounter {
+    private static final String INSERT_SQL = "INSERT IGNORE INTO rate_limit_counters "
+            + "(bucket_key, window_start, window_end, hits) VALUES (?, ?, ?, 0)";
+    private static final String ADD_SQL = "UPDATE rate_limit_counters SET hits = hits + ? "
+            + "WHERE bucket_key = ? AND window_start = ?";
+    private static final String READ_SQL = "SELECT bucket_key, hits FROM rate_limit_counters "
+            + "WHERE window_start = ? AND bucket_key IN (%s)";
+    private static final String PURGE_SQL = "DELETE FROM rate_limit_counters WHERE window_end < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final ConcurrentHashMap<WindowKey, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    public JdbcSharedRateCounter(JdbcTemplate jdbcTemplate,
+            @Value("${rate-limit.sync-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void increment(String key, long windowStart, long windowEnd) {
+        counters.computeIfAbsent(new WindowKey(key, windowStart), k -> new Counter(windowEnd)).pending.increment();
+    }
+
+    @Override
+    public long count(String key, long windowStart) {
+        Counter counter = counters.get(new WindowKey(key, windowStart));
+        return counter == null ? 0 : counter.synced + counter.pending.sum();
+    }
+
+    /** Pushes this instance's new counts and reads back the totals of every live window it has seen. */
+    @Scheduled(fixedDelayString = "${rate-limit.sync-interval:1000}")
+    public void sync() {
+        syncLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            // Windows that have ended can't limit anything any more.
+            counters.values().removeIf(counter -> counter.windowEnd <= now);
+            if (counters.isEmpty()) {
+                return;
+            }
+
+            List<Delta> deltas = new ArrayList<>();
+            Map<Long, List<String>> keysByWindow = new HashMap<>();
+            Map<WindowKey, Counter> live = new HashMap<>();
+            counters.forEach((windowKey, counter) -> {
+                long delta = counter.pending.sumThenReset();
+                if (delta > 0) {
+                    deltas.add(new Delta(windowKey, counter.windowEnd, delta));
+                    // Counted as synced straight away, so count() doesn't dip until the totals are read back.
+                    counter.synced += delta;
+                }
+                keysByWindow.computeIfAbsent(windowKey.windowStart(), w -> new ArrayList<>()).add(windowKey.key());
+                live.put(windowKey, counter);
+            });
+
+            if (!deltas.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, deltas, batchSize, (ps, delta) -> {
+                    ps.setString(1, delta.windowKey().key());
+                    ps.setLong(2, delta.windowKey().windowStart());
+                    ps.setLong(3, delta.windowEnd());
+                });
+                jdbcTemplate.batchUpdate(ADD_SQL, deltas, batchSize, (ps, delta) -> {
+                    ps.setLong(1, delta.hits());
+                    ps.setString(2, delta.windowKey().key());
+                    ps.setLong(3, delta.windowKey().windowStart());
+                });
+            }
+            keysByWindow.forEach((windowStart, keys) -> readTotals(windowStart, keys, live));
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Deletes the counts of windows that have ended, whichever instance wrote them. */
+    @Scheduled(fixedDelayString = "${rate-limit.purge-interval:60000}")
+    public int purge() {
+        return jdbcTemplate.update(PURGE_SQL, System.currentTimeMillis());
+    }
+
+    public int getTrackedCount() {
+        return counters.size();
+    }
+
+    private void readTotals(long windowStart, List<String> keys, Map<WindowKey, Counter> live) {
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + batchSize));
+            String sql = String.format(READ_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = windowStart;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(sql, rs -> {
+                Counter counter = live.get(new WindowKey(rs.getString("bucket_key"), windowStart));
+                if (counter != null) {
+                    counter.synced = rs.getLong("hits");
+                }
+            }, args);
+        }
+    }
+
+    private record WindowKey(String key, long windowStart) {
+    }
+
+    private record Delta(WindowKey windowKey, long windowEnd, long hits) {
+    }
+
+    private static final class Counter {
+        private final LongAdder pending = new LongAdder();
+        private final long windowEnd;
+        private volatile long synced;
+
+        private Counter(long windowEnd) {
+            this.windowEnd = windowEnd;
+        }
+    }
+}
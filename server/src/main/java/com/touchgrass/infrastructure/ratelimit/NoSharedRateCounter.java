@@ -0,0 +1,22 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares nothing, so each instance enforces the full limits on its own. For
+ * single-instance deployments and load tests.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.shared-counter", havingValue = "none")
+public class NoSharedRateCounter implements SharedRateCounter {
+
+    @Override
+    public void increment(String key, long windowStart, long windowEnd) {
+    }
+
+    @Override
+    public long count(String key, long windowStart) {
+        return 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import java.time.Duration;
+
+/** At most {@code limit} requests per {@code period}, which may all arrive at once. */
+public record RateLimit(int limit, Duration period) {
+
+    public RateLimit {
+        if (limit < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Invalid rate limit " + limit + " per " + period);
+        }
+    }
+
+    public static RateLimit of(int limit, long periodInMs) {
+        return new RateLimit(limit, Duration.ofMillis(periodInMs));
+    }
+}
@@ -0,0 +1,35 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import jakarta.persistence.*;
+
+/**
+ * Row of the shared request counts kept by {@link JdbcSharedRateCounter}.
+ * Mapped so the schema is managed with the rest of the entities; reads and
+ * writes go through JDBC.
+ */
+@Entity
+@Table(name = "rate_limit_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rate_limit_counters_key_window", columnNames = {"bucket_key", "window_start"})
+}, indexes = {
+        @Index(name = "idx_rate_limit_counters_window_end", columnList = "window_end")
+})
+public class RateLimitCounterEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_key", nullable = false, length = 191)
+    private String bucketKey;
+
+    @Column(name = "window_start", nullable = false)
+    private long windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private long windowEnd;
+
+    @Column(nullable = false)
+    private long hits;
+
+    protected RateLimitCounterEntry() {
+    }
+}
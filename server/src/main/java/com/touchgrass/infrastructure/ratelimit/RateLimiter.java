@@ -0,0 +1,82 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, backed by a {@link SharedRateCounter}.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the time at which it
+ * will be full again (the generic cell rate algorithm), so taking a token
+ * is one compare-and-set without locks. Buckets live in a bounded Caffeine
+ * map and are dropped after being idle for {@code idle}; an idle bucket
+ * would have refilled by then anyway, as long as no limit's period is
+ * longer than that.
+ *
+ * A request the local bucket admits is also counted in the shared counter's
+ * fixed window for the key, and turned away if all instances together have
+ * used up the limit there.
+ */
+@Component
+public class RateLimiter {
+    private final SharedRateCounter sharedCounter;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(SharedRateCounter sharedCounter,
+            @Value("${rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${rate-limit.idle:3600000}") long idleInMs) {
+        this.sharedCounter = sharedCounter;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(idleInMs))
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code key}.
+     *
+     * @return 0 if the request may go ahead, otherwise how many milliseconds to wait before trying again
+     */
+    public long tryAcquire(String key, RateLimit limit) {
+        long waitInNanos = tryLocal(buckets.get(key, k -> new AtomicLong(System.nanoTime())), limit,
+                System.nanoTime());
+        if (waitInNanos > 0) {
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitInNanos));
+        }
+
+        long now = System.currentTimeMillis();
+        long period = limit.period().toMillis();
+        long windowStart = now - Math.floorMod(now, period);
+        if (sharedCounter.count(key, windowStart) >= limit.limit()) {
+            return windowStart + period - now;
+        }
+        sharedCounter.increment(key, windowStart, windowStart + period);
+        return 0;
+    }
+
+    public long getKeyCount() {
+        return buckets.estimatedSize();
+    }
+
+    private static long tryLocal(AtomicLong fullAt, RateLimit limit, long now) {
+        long interval = limit.period().toNanos() / limit.limit();
+        long burst = limit.period().toNanos() - interval;
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - burst - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+}
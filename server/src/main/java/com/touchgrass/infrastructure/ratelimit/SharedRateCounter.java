@@ -0,0 +1,15 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+/**
+ * Request counts per key and fixed time window, shared between server
+ * instances so that a {@link RateLimiter} enforces roughly global limits.
+ * Counts may lag behind the other instances by a sync interval.
+ */
+public interface SharedRateCounter {
+
+    /** Counts one request against {@code key} in the window {@code [windowStart, windowEnd)}, in epoch millis. */
+    void increment(String key, long windowStart, long windowEnd);
+
+    /** Requests counted against {@code key} in the window starting at {@code windowStart}, by all instances. */
+    long count(String key, long windowStart);
+}
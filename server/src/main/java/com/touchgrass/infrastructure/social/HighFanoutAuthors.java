@@ -0,0 +1,46 @@
+package com.touchgrass.infrastructure.social;
+
+import com.touchgrass.domain.social.repository.SocialStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * The users with more friends than {@code feed.fanout.max-friends}. Posts
+ * they make are not pushed into every friend's timeline; readers pull them
+ * instead.
+ *
+ * The set is small and consulted on every post, so it is held in memory and
+ * refreshed periodically; instances may briefly disagree about it. It only
+ * decides how a new post is delivered: the decision is stored with the post
+ * and both the fan-out and readers follow it, so a post is always delivered
+ * exactly one way. Someone who drops back below the limit gets pushed again
+ * from then on, and their earlier posts are still pulled.
+ */
+@Component
+public class HighFanoutAuthors {
+    private final SocialStatsRepository statsRepository;
+    private final long maxFriends;
+    private volatile Set<Long> authors = Set.of();
+
+    public HighFanoutAuthors(SocialStatsRepository statsRepository,
+            @Value("${feed.fanout.max-friends:1000}") long maxFriends) {
+        this.statsRepository = statsRepository;
+        this.maxFriends = maxFriends;
+    }
+
+    public boolean contains(Long userId) {
+        return authors.contains(userId);
+    }
+
+    public int size() {
+        return authors.size();
+    }
+
+    @Scheduled(fixedDelayString = "${feed.fanout.refresh-interval:60000}")
+    public void refresh() {
+        authors = Set.copyOf(statsRepository.findUserIdsWithFriendCountAbove(maxFriends));
+    }
+}
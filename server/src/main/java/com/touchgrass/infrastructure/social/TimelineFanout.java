@@ -0,0 +1,217 @@
+package com.touchgrass.infrastructure.social;
+
+import com.touchgrass.core.util.BoundedExecutors;
+import com.touchgrass.infrastructure.outbox.OutboxMessage;
+import com.touchgrass.infrastructure.outbox.OutboxSubscriber;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes posts into timelines (fan-out on write). A post goes to its
+ * author's own timeline and, unless it was marked to be pulled by readers
+ * when it was made (see {@link HighFanoutAuthors}), to each friend's,
+ * walking the friend list in keyset pages and inserting each page as one
+ * JDBC batch in one transaction.
+ *
+ * Posts arrive as {@link #PHOTO_POSTED} outbox events, so they are delivered
+ * in the background once the post commits and survive a restart. Backfills
+ * for new friendships run on a small background pool, started once the
+ * friendship commits; ones still queued when the process stops, or that
+ * don't fit in the queue, are lost. Inserts ignore entries that already
+ * exist, so a delivery can safely be repeated, and only go ahead while the
+ * friendship is still accepted.
+ */
+@Component
+public class TimelineFanout implements OutboxSubscriber {
+    /** Outbox event for a photo post: the aggregate is the completion, the payload holds its {@code authorId}. */
+    public static final String PHOTO_POSTED = "photo.posted";
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineFanout.class);
+
+    private static final String INSERT_OWN_SQL = "INSERT IGNORE INTO timeline_entries "
+            + "(owner_id, completion_id, author_id, created_at) VALUES (?, ?, ?, ?)";
+    // Friendship checks are repeated in the insert, so a friendship ended
+    // while a delivery is in flight doesn't leave the post behind.
+    private static final String INSERT_FRIEND_SQL = "INSERT IGNORE INTO timeline_entries "
+            + "(owner_id, completion_id, author_id, created_at) "
+            + "SELECT user_id, ?, friend_id, ? FROM friendships "
+            + "WHERE user_id = ? AND friend_id = ? AND status = 'ACCEPTED'";
+    private static final String PULLED_SQL = "SELECT feed_pulled FROM habit_completions WHERE id = ?";
+    private static final String FRIENDS_PAGE_SQL = "SELECT friend_id FROM friendships "
+            + "WHERE user_id = ? AND status = 'ACCEPTED' AND friend_id > ? ORDER BY friend_id LIMIT ?";
+    private static final String BACKFILL_SQL = "INSERT IGNORE INTO timeline_entries "
+            + "(owner_id, completion_id, author_id, created_at) "
+            + "SELECT ?, id, user_id, ? FROM habit_completions "
+            + "WHERE user_id = ? AND upload_id IS NOT NULL AND feed_pulled = FALSE "
+            + "AND EXISTS (SELECT 1 FROM friendships "
+            + "WHERE user_id = ? AND friend_id = ? AND status = 'ACCEPTED') "
+            + "ORDER BY id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int backfillPosts;
+
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public TimelineFanout(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${feed.fanout.workers:2}") int workers,
+            @Value("${feed.fanout.queue-capacity:10000}") int queueCapacity,
+            @Value("${feed.fanout.batch-size:500}") int batchSize,
+            @Value("${feed.backfill-posts:20}") int backfillPosts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.backfillPosts = backfillPosts;
+
+        this.executor = BoundedExecutors.fixed("timeline-fanout", workers, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Copies an author's recent posts into a new friend's timeline in the background, after commit. */
+    public void submitBackfill(Long ownerId, Long authorId) {
+        execute("backfill of " + authorId + " for " + ownerId, () -> backfill(ownerId, authorId));
+    }
+
+    @Override
+    public String name() {
+        return "timeline-fanout";
+    }
+
+    @Override
+    public boolean handles(String eventType) {
+        return PHOTO_POSTED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        fanOut(message.payload().required("authorId").asLong(), message.aggregateId());
+    }
+
+    /**
+     * Delivers a post on the calling thread.
+     *
+     * @return the number of timelines written to
+     */
+    public int fanOut(Long authorId, Long completionId) {
+        List<Boolean> pulled = jdbcTemplate.queryForList(PULLED_SQL, Boolean.class, completionId);
+        if (pulled.isEmpty()) {
+            // Deleted before it could be delivered.
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int delivered = jdbcTemplate.update(INSERT_OWN_SQL, authorId, completionId, authorId, now);
+        deliveredCount.add(delivered);
+        if (pulled.get(0)) {
+            return delivered;
+        }
+
+        long after = 0;
+        while (true) {
+            List<Long> friends = jdbcTemplate.queryForList(FRIENDS_PAGE_SQL, Long.class, authorId, after, batchSize);
+            if (friends.isEmpty()) {
+                break;
+            }
+            delivered += insertForFriends(friends, authorId, completionId, now);
+            if (friends.size() < batchSize) {
+                break;
+            }
+            after = friends.get(friends.size() - 1);
+        }
+        return delivered;
+    }
+
+    /**
+     * Copies an author's most recent photo posts into {@code ownerId}'s
+     * timeline, so a new friendship doesn't start with an empty feed. Posts
+     * that readers pull are skipped here.
+     */
+    public int backfill(Long ownerId, Long authorId) {
+        int inserted = jdbcTemplate.update(BACKFILL_SQL, ownerId, Timestamp.valueOf(LocalDateTime.now()), authorId,
+                ownerId, authorId, backfillPosts);
+        deliveredCount.add(inserted);
+        return inserted;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private int insertForFriends(List<Long> owners, Long authorId, Long completionId, Timestamp now) {
+        int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_FRIEND_SQL, owners,
+                batchSize, (ps, ownerId) -> {
+                    ps.setLong(1, completionId);
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, ownerId);
+                    ps.setLong(4, authorId);
+                }));
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers that rewrite batches report "succeeded, count unknown" per row.
+                inserted += count > 0 || count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+            }
+        }
+        deliveredCount.add(inserted);
+        return inserted;
+    }
+
+    private void execute(String description, Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(description, task);
+                }
+            });
+        } else {
+            enqueue(description, task);
+        }
+    }
+
+    private void enqueue(String description, Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("Timeline delivery failed for {}", description, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            log.warn("Timeline delivery queue is full, dropping {}", description);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.touchgrass.infrastructure.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * {@link ObjectStore} on the local filesystem, standing in for S3 in
+ * development and single-node deployments. Keys map to paths under the
+ * root; new objects are written to a staging directory on the same
+ * filesystem and renamed into place atomically on commit.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemObjectStore implements ObjectStore {
+    private static final String STAGING_DIR = ".staging";
+
+    private final Path root;
+    private final Path staging;
+
+    public FileSystemObjectStore(@Value("${storage.filesystem.root:./data/objects}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.staging = this.root.resolve(STAGING_DIR);
+        try {
+            Files.createDirectories(staging);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create object store at " + this.root, e);
+        }
+    }
+
+    @Override
+    public ObjectWriter newObject() throws IOException {
+        Path file = staging.resolve(UUID.randomUUID().toString());
+        return new FileObjectWriter(file, FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public ReadableByteChannel open(String key) throws IOException {
+        return FileChannel.open(path(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(path(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(path(key));
+    }
+
+    @Override
+    public void deleteAll(String prefix) throws IOException {
+        Path dir = path(prefix);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Path path(String key) {
+        return root.resolve(ObjectKeys.check(key));
+    }
+
+    private final class FileObjectWriter implements ObjectWriter {
+        private final Path file;
+        private final FileChannel channel;
+        private boolean committed;
+
+        FileObjectWriter(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void commit(String key) throws IOException {
+            Path target = path(key);
+            channel.force(false);
+            channel.close();
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            if (!committed) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.touchgrass.infrastructure.storage;
+
+import java.util.regex.Pattern;
+
+final class ObjectKeys {
+    private static final Pattern VALID_KEY = Pattern.compile("[a-z0-9_-][a-z0-9._-]*(/[a-z0-9_-][a-z0-9._-]*)*");
+
+    private ObjectKeys() {
+    }
+
+    static String check(String key) {
+        if (key == null || key.length() > 512 || !VALID_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return key;
+    }
+}
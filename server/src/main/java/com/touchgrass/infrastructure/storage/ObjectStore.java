@@ -0,0 +1,29 @@
+package com.touchgrass.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Flat key/value blob storage. Keys are {@code /}-separated paths of
+ * lowercase letters, digits, {@code .}, {@code _} and {@code -}.
+ *
+ * Objects are written through an {@link ObjectWriter} and only become
+ * visible under a key once committed, so readers never see a partial object
+ * and the key can depend on the content (e.g. its hash).
+ */
+public interface ObjectStore {
+
+    ObjectWriter newObject() throws IOException;
+
+    /**
+     * @throws java.nio.file.NoSuchFileException if there is no object under {@code key}
+     */
+    ReadableByteChannel open(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /** Deletes every object whose key starts with {@code prefix + "/"}. */
+    void deleteAll(String prefix) throws IOException;
+}
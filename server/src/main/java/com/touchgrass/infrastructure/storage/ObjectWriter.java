@@ -0,0 +1,17 @@
+package com.touchgrass.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An object being written. Closing it without {@link #commit(String)}
+ * discards what was written.
+ */
+public interface ObjectWriter extends WritableByteChannel {
+
+    /**
+     * Publishes the written bytes under {@code key}, replacing any existing
+     * object, and closes the writer.
+     */
+    void commit(String key) throws IOException;
+}
@@ -0,0 +1,121 @@
+package com.touchgrass.infrastructure.storage;
+
+import com.touchgrass.domain.exceptions.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed pool of direct buffers shared by every streaming transfer, bounding
+ * the memory and number of transfers writing to storage at once.
+ *
+ * A transfer reads its source into a small buffer of its own
+ * ({@code read-size}) and only borrows a pooled buffer once a read has
+ * returned data, handing it back before reading again. A slow or stalled
+ * client therefore holds no pooled buffer while it is waited on; how long
+ * that wait may last is the servlet container's upload read timeout
+ * ({@code uploads.transfer.idle-timeout}). When the pool is empty a transfer
+ * waits, and while it waits it is not reading its socket, which pushes back
+ * on the client through TCP flow control. A wait longer than the timeout
+ * fails with a {@link ServiceOverloadedException}.
+ */
+@Component
+public class TransferBuffers {
+    private final BlockingQueue<ByteBuffer> pool;
+    private final int bufferCount;
+    private final int readSize;
+    private final long waitInMs;
+    private final int retryAfterSeconds;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public TransferBuffers(@Value("${uploads.transfer.buffers:128}") int buffers,
+            @Value("${uploads.transfer.buffer-size:65536}") int bufferSize,
+            @Value("${uploads.transfer.read-size:8192}") int readSize,
+            @Value("${uploads.transfer.wait-timeout:10000}") long waitInMs,
+            @Value("${uploads.transfer.retry-after-seconds:2}") int retryAfterSeconds) {
+        this.pool = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            pool.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        this.bufferCount = buffers;
+        this.readSize = Math.min(readSize, bufferSize);
+        this.waitInMs = waitInMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Copies {@code source} to {@code target} until EOF, feeding every byte to
+     * {@code digest}. Stops reading once more than {@code limit} bytes have
+     * arrived, so a return value above {@code limit} means the source was too
+     * long and the target holds a truncated copy.
+     *
+     * @return bytes copied
+     */
+    public long transfer(ReadableByteChannel source, WritableByteChannel target, MessageDigest digest, long limit)
+            throws IOException {
+        ByteBuffer staging = ByteBuffer.allocate(readSize);
+        long total = 0;
+        while (total <= limit) {
+            staging.clear();
+            staging.limit((int) Math.min(staging.capacity(), limit - total + 1));
+            int read = source.read(staging);
+            if (read < 0) {
+                break;
+            }
+            if (read == 0) {
+                continue;
+            }
+            total += read;
+            staging.flip();
+            digest.update(staging.duplicate());
+
+            ByteBuffer buffer = borrow();
+            try {
+                buffer.clear();
+                buffer.put(staging).flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+            } finally {
+                pool.offer(buffer);
+            }
+        }
+        return total;
+    }
+
+    public int getAvailable() {
+        return pool.size();
+    }
+
+    public int getCapacity() {
+        return bufferCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private ByteBuffer borrow() throws IOException {
+        try {
+            ByteBuffer buffer = pool.poll(waitInMs, TimeUnit.MILLISECONDS);
+            if (buffer == null) {
+                rejectedCount.increment();
+                throw new ServiceOverloadedException("Too many uploads in progress, please retry", retryAfterSeconds);
+            }
+            return buffer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a transfer buffer");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.touchgrass.infrastructure.user;
+
+import com.touchgrass.domain.user.model.UserEvents;
+import com.touchgrass.infrastructure.outbox.OutboxMessage;
+import com.touchgrass.infrastructure.outbox.OutboxSubscriber;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes what a deleted user leaves behind: habits and their completions,
+ * friendships on both sides (taking one off each former friend's count),
+ * timeline entries they own or wrote, uploads and refresh tokens.
+ *
+ * Runs off {@link UserEvents#DELETED} in one transaction, so a retried
+ * delivery finds the friendships already gone and counts nothing twice.
+ * Unfinished upload sessions are expired rather than deleted, leaving their
+ * chunks to the usual session purge; stored content is shared by hash
+ * between users and is not touched.
+ */
+@Component
+public class DeletedUserCleanup implements OutboxSubscriber {
+    private static final String FRIENDS_SQL = "SELECT friend_id FROM friendships "
+            + "WHERE user_id = ? AND status = 'ACCEPTED'";
+    private static final String DECREMENT_FRIEND_COUNT_SQL = "UPDATE social_stats "
+            + "SET friend_count = friend_count - 1 WHERE user_id = ? AND friend_count > 0";
+    private static final String EXPIRE_SESSIONS_SQL = "UPDATE uploads SET expires_at = ? "
+            + "WHERE user_id = ? AND status = 'UPLOADING'";
+    private static final List<String> DELETE_SQL = List.of(
+            "DELETE FROM friendships WHERE user_id = ?",
+            "DELETE FROM friendships WHERE friend_id = ?",
+            "DELETE FROM timeline_entries WHERE owner_id = ?",
+            "DELETE FROM timeline_entries WHERE author_id = ?",
+            "DELETE FROM habit_completions WHERE user_id = ?",
+            "DELETE FROM habits WHERE user_id = ?",
+            "DELETE FROM uploads WHERE user_id = ? AND status = 'COMPLETE'",
+            "DELETE FROM refresh_tokens WHERE user_id = ?",
+            "DELETE FROM social_stats WHERE user_id = ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeletedUserCleanup(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String name() {
+        return "deleted-user-cleanup";
+    }
+
+    @Override
+    public boolean handles(String eventType) {
+        return UserEvents.DELETED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        cleanUp(message.aggregateId());
+    }
+
+    /**
+     * Removes a deleted user's data on the calling thread.
+     *
+     * @return the number of rows deleted
+     */
+    public int cleanUp(Long userId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> friends = jdbcTemplate.queryForList(FRIENDS_SQL, Long.class, userId);
+            if (!friends.isEmpty()) {
+                jdbcTemplate.batchUpdate(DECREMENT_FRIEND_COUNT_SQL, friends, friends.size(),
+                        (ps, friendId) -> ps.setLong(1, friendId));
+            }
+            jdbcTemplate.update(EXPIRE_SESSIONS_SQL, Timestamp.valueOf(LocalDateTime.now()), userId);
+            int rows = 0;
+            for (String sql : DELETE_SQL) {
+                rows += jdbcTemplate.update(sql, userId);
+            }
+            return rows;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -0,0 +1,123 @@
+package com.touchgrass.infrastructure.user;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for {@code users.last_active}. Touches are coalesced per
+ * user in memory and flushed periodically as a single JDBC batch that only
+ * writes {@code last_active}, so {@code updated_at} and the rest of the row are
+ * left alone.
+ *
+ * Request threads never write: once {@code max-pending} users are waiting
+ * for the next flush, touches for users not already waiting are dropped and
+ * counted. A dropped touch only leaves {@code last_active} a little stale,
+ * and the user's next request after the flush records it again.
+ */
+@Component
+public class LastActiveTracker {
+    private static final Logger log = LoggerFactory.getLogger(LastActiveTracker.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_active = ? WHERE id = ? "
+            + "AND (last_active IS NULL OR last_active < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder droppedCount = new LongAdder();
+    // Set by the first drop since the last flush, so a full buffer logs once per flush interval.
+    private final AtomicBoolean dropping = new AtomicBoolean();
+
+    @Value("${user.last-active.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${user.last-active.batch-size:500}")
+    private int batchSize;
+
+    public LastActiveTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void touch(Long userId) {
+        touch(userId, LocalDateTime.now());
+    }
+
+    public void touch(Long userId, LocalDateTime lastActive) {
+        // Coalescing into an existing entry costs nothing; only new users are turned away when full.
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) {
+            droppedCount.increment();
+            if (dropping.compareAndSet(false, true)) {
+                log.warn("{} users awaiting a last-active flush, dropping touches until the next one", maxPending);
+            }
+            return;
+        }
+        pending.merge(userId, lastActive, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-active.flush-interval:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        dropping.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // Only take entries that haven't been touched again since we read them;
+            // newer values stay queued for the next flush.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, entry) -> {
+                Timestamp lastActive = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, lastActive);
+                ps.setLong(2, entry.getKey());
+                ps.setTimestamp(3, lastActive);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} last-active timestamps, requeueing", batch.size(), e);
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                    (current, failed) -> current.isAfter(failed) ? current : failed));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.touchgrass.infrastructure.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.cache.CacheInvalidation;
+import com.touchgrass.infrastructure.cache.InvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * In-process read-through cache of {@link UserSnapshot}s, addressable by id
+ * or username. Every write path must call {@link #invalidate(User)} (or
+ * {@link #invalidate(Long)}); the eviction is broadcast over the
+ * {@link InvalidationBus} so other instances drop their copy too.
+ *
+ * Writes that publish a {@link com.touchgrass.domain.user.model.UserEvents
+ * user event} leave the broadcast to {@link UserCacheInvalidator}, which
+ * runs once the write has committed, and only {@link #evictLocal(User)} so
+ * the writing instance reads its own write straight away.
+ */
+@Component
+public class UserCache {
+    public static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+    private final InvalidationBus invalidationBus;
+    private final Cache<Long, UserSnapshot> usersById;
+    private final Cache<String, Long> idsByUsername;
+
+    public UserCache(UserRepository userRepository,
+            InvalidationBus invalidationBus,
+            @Value("${user.cache.max-size:10000}") long maxSize,
+            @Value("${user.cache.ttl:300000}") long ttlInMs) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlInMs))
+                .recordStats()
+                .build();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlInMs))
+                .build();
+
+        invalidationBus.subscribe(CACHE_NAME, key -> evict(Long.valueOf(key)));
+    }
+
+    public Optional<UserSnapshot> findById(Long id) {
+        UserSnapshot cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findById(id).map(this::put);
+    }
+
+    public Optional<UserSnapshot> findByUsername(String username) {
+        Long id = idsByUsername.getIfPresent(username);
+        if (id != null) {
+            UserSnapshot cached = usersById.getIfPresent(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        return userRepository.findByUsername(username).map(user -> {
+            UserSnapshot snapshot = put(user);
+            idsByUsername.put(username, snapshot.id());
+            return snapshot;
+        });
+    }
+
+    public UserSnapshot put(User user) {
+        UserSnapshot snapshot = UserSnapshot.from(user);
+        usersById.put(snapshot.id(), snapshot);
+        idsByUsername.put(snapshot.username(), snapshot.id());
+        return snapshot;
+    }
+
+    public void invalidate(User user) {
+        idsByUsername.invalidate(user.getUsername());
+        invalidate(user.getId());
+    }
+
+    public void invalidate(Long id) {
+        evict(id);
+        invalidationBus.publish(new CacheInvalidation(CACHE_NAME, String.valueOf(id)));
+    }
+
+    /** Drops the user from this instance only; see the class comment for when that is enough. */
+    public void evictLocal(User user) {
+        idsByUsername.invalidate(user.getUsername());
+        evict(user.getId());
+    }
+
+    public void evictLocal(Long id) {
+        evict(id);
+    }
+
+    private void evict(Long id) {
+        UserSnapshot cached = usersById.getIfPresent(id);
+        usersById.invalidate(id);
+        if (cached != null) {
+            idsByUsername.invalidate(cached.username());
+        }
+    }
+
+    public CacheStats stats() {
+        return usersById.stats();
+    }
+
+    public long estimatedSize() {
+        return usersById.estimatedSize();
+    }
+}
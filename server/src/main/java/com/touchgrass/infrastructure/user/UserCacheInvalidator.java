@@ -0,0 +1,42 @@
+package com.touchgrass.infrastructure.user;
+
+import com.touchgrass.domain.user.model.UserEvents;
+import com.touchgrass.infrastructure.outbox.OutboxMessage;
+import com.touchgrass.infrastructure.outbox.OutboxSubscriber;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Evicts a registered, updated or deleted user from every instance's
+ * {@link UserCache}. Coming from the outbox, the eviction happens only after
+ * the change has committed, so a read racing the write can't put the old
+ * row back for the rest of the TTL; evicting again on a redelivery is
+ * harmless.
+ */
+@Component
+public class UserCacheInvalidator implements OutboxSubscriber {
+    private static final Set<String> EVENT_TYPES = Set.of(UserEvents.REGISTERED, UserEvents.UPDATED,
+            UserEvents.DELETED);
+
+    private final UserCache userCache;
+
+    public UserCacheInvalidator(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @Override
+    public String name() {
+        return "user-cache";
+    }
+
+    @Override
+    public boolean handles(String eventType) {
+        return EVENT_TYPES.contains(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        userCache.invalidate(message.aggregateId());
+    }
+}
@@ -0,0 +1,120 @@
+package com.touchgrass.interfaces.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.touchgrass.application.user.dto.UserImportResult;
+import com.touchgrass.application.user.dto.UserSummaryPage;
+import com.touchgrass.application.user.dto.UserTransferFormat;
+import com.touchgrass.application.user.exception.UserErrorCode;
+import com.touchgrass.application.user.exception.UserValidationException;
+import com.touchgrass.application.user.service.UserDirectoryService;
+import com.touchgrass.application.user.service.UserTransferService;
+import com.touchgrass.domain.exceptions.PermissionDeniedException;
+import com.touchgrass.domain.user.model.UserRole;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+    private final UserDirectoryService directoryService;
+    private final UserTransferService transferService;
+
+    public AdminUserController(UserDirectoryService directoryService, UserTransferService transferService) {
+        this.directoryService = directoryService;
+        this.transferService = transferService;
+    }
+
+    private void checkAdminPermission(Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> UserRole.ADMIN.getAuthority().equals(authority.getAuthority()));
+        if (!admin) {
+            throw new PermissionDeniedException("Only admin users can manage users");
+        }
+    }
+
+    private static UserTransferFormat transferFormat(String name) {
+        UserTransferFormat format = UserTransferFormat.fromName(name);
+        if (format == null) {
+            throw new UserValidationException("format", "must be ndjson or csv");
+        }
+        return format;
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleValidationError(UserValidationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), UserErrorCode.VALIDATION_ERROR.getCode()));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<UserSummaryPage>> listUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        checkAdminPermission(authentication);
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(directoryService.list(q, after, limit)));
+        } catch (UserValidationException e) {
+            return handleValidationError(e);
+        }
+    }
+
+    /** Every matching user as newline-delimited JSON, streamed while it is read. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String q,
+            Authentication authentication) {
+        checkAdminPermission(authentication);
+
+        return ResponseEntity.ok()
+                .contentType(UserTransferFormat.NDJSON.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .body(out -> directoryService.export(q, out));
+    }
+
+    /**
+     * Every user, including password hashes, as NDJSON or CSV. The output can
+     * be imported again with {@code POST /bulk}.
+     */
+    @GetMapping("/bulk")
+    public ResponseEntity<StreamingResponseBody> exportAllUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+        checkAdminPermission(authentication);
+        UserTransferFormat transferFormat = transferFormat(format);
+
+        return ResponseEntity.ok()
+                .contentType(transferFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users-backup." + transferFormat.getName() + "\"")
+                .body(out -> transferService.export(transferFormat, out));
+    }
+
+    /** Creates users from an NDJSON or CSV request body, reporting rows that were skipped. */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<UserImportResult>> importUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        checkAdminPermission(authentication);
+
+        try {
+            UserImportResult result = transferService.importUsers(transferFormat(format), request.getInputStream());
+            return ResponseEntity.ok(ApiResponse.success(result));
+        } catch (UserValidationException e) {
+            return handleValidationError(e);
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.touchgrass.interfaces.rest;
 
 import com.touchgrass.application.auth.dto.AuthRequest;
 import com.touchgrass.application.auth.dto.AuthResponse;
+import com.touchgrass.application.auth.dto.RefreshRequest;
 import com.touchgrass.application.auth.dto.RegisterRequest;
 import com.touchgrass.application.auth.exception.AuthErrorCode;
 import com.touchgrass.application.auth.exception.AuthenticationException;
+import com.touchgrass.application.auth.exception.InvalidRefreshTokenException;
 import com.touchgrass.application.auth.service.AuthService;
+import com.touchgrass.domain.exceptions.ServiceOverloadedException;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,6 +33,8 @@ public class AuthController {
         } catch (AuthenticationException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), AuthErrorCode.AUTHENTICATION_ERROR.getCode()));
+        } catch (ServiceOverloadedException e) {
+            return handleOverloaded(e);
         }
     }
 
@@ -39,6 +46,31 @@ public class AuthController {
         } catch (AuthenticationException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage(), AuthErrorCode.REGISTRATION_ERROR.getCode()));
+        } catch (ServiceOverloadedException e) {
+            return handleOverloaded(e);
         }
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(@RequestBody RefreshRequest request) {
+        try {
+            AuthResponse response = authService.refresh(request);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(e.getMessage(), AuthErrorCode.INVALID_REFRESH_TOKEN.getCode()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleOverloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage(), AuthErrorCode.SERVICE_UNAVAILABLE.getCode()));
+    }
 }
\ No newline at end of file
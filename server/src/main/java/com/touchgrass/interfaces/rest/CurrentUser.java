@@ -0,0 +1,31 @@
+package com.touchgrass.interfaces.rest;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.infrastructure.auth.AuthenticatedUser;
+import com.touchgrass.infrastructure.user.UserCache;
+
+/**
+ * Resolves the authenticated user's id. Token-authenticated requests already
+ * carry it in the principal; the cache lookup covers any other principal.
+ */
+final class CurrentUser {
+    private CurrentUser() {
+    }
+
+    static Long id(Authentication authentication, UserCache userCache) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        return userCache.findByUsername(authentication.getName())
+                .map(UserSnapshot::id)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.touchgrass.interfaces.rest;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.touchgrass.application.social.dto.FeedPage;
+import com.touchgrass.application.social.service.FeedService;
+import com.touchgrass.infrastructure.user.UserCache;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private final FeedService feedService;
+    private final UserCache userCache;
+
+    public FeedController(FeedService feedService, UserCache userCache) {
+        this.feedService = feedService;
+        this.userCache = userCache;
+    }
+
+    @GetMapping
+    public ApiResponse<FeedPage> timeline(
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        return ApiResponse.success(feedService.timeline(CurrentUser.id(authentication, userCache), before, limit));
+    }
+}
@@ -0,0 +1,91 @@
+package com.touchgrass.interfaces.rest;
+
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.touchgrass.application.social.dto.FriendResponse;
+import com.touchgrass.application.social.exception.SocialErrorCode;
+import com.touchgrass.application.social.exception.SocialValidationException;
+import com.touchgrass.application.social.service.FriendshipService;
+import com.touchgrass.domain.exceptions.FriendshipNotFoundException;
+import com.touchgrass.domain.exceptions.UserNotFoundException;
+import com.touchgrass.domain.social.model.FriendshipStatus;
+import com.touchgrass.infrastructure.user.UserCache;
+
+/**
+ * Friends and friend requests. Adding someone who has already sent you a
+ * request accepts it; removing covers unfriending, cancelling and declining.
+ */
+@RestController
+@RequestMapping("/api/friends")
+public class FriendController {
+
+    private final FriendshipService friendshipService;
+    private final UserCache userCache;
+
+    public FriendController(FriendshipService friendshipService, UserCache userCache) {
+        this.friendshipService = friendshipService;
+        this.userCache = userCache;
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Friendship was changed concurrently, please retry",
+                        SocialErrorCode.FRIENDSHIP_CONFLICT.getCode()));
+    }
+
+    @GetMapping
+    public ApiResponse<List<FriendResponse>> listFriends(
+            @RequestParam(defaultValue = "ACCEPTED") FriendshipStatus status,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        return ApiResponse.success(friendshipService.listFriends(CurrentUser.id(authentication, userCache), status,
+                after, limit));
+    }
+
+    @PostMapping("/{userId}")
+    public ResponseEntity<ApiResponse<FriendResponse>> addFriend(
+            @PathVariable Long userId,
+            Authentication authentication) {
+        try {
+            FriendResponse friend = friendshipService.addFriend(CurrentUser.id(authentication, userCache), userId);
+            return ResponseEntity.ok(ApiResponse.success(friend));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage(), SocialErrorCode.USER_NOT_FOUND.getCode()));
+        } catch (SocialValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage(), SocialErrorCode.VALIDATION_ERROR.getCode()));
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+            return handleConflict();
+        }
+    }
+
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<ApiResponse<Void>> removeFriend(
+            @PathVariable Long userId,
+            Authentication authentication) {
+        try {
+            friendshipService.removeFriend(CurrentUser.id(authentication, userCache), userId);
+            return ResponseEntity.ok(ApiResponse.success(null));
+        } catch (FriendshipNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage(), SocialErrorCode.FRIENDSHIP_NOT_FOUND.getCode()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return handleConflict();
+        }
+    }
+}
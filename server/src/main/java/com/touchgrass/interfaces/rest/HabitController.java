@@ -0,0 +1,112 @@
+package com.touchgrass.interfaces.rest;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.touchgrass.application.habit.dto.CompleteHabitRequest;
+import com.touchgrass.application.habit.dto.CompletionResponse;
+import com.touchgrass.application.habit.dto.CompletionResult;
+import com.touchgrass.application.habit.dto.CreateHabitRequest;
+import com.touchgrass.application.habit.dto.HabitResponse;
+import com.touchgrass.application.habit.exception.HabitErrorCode;
+import com.touchgrass.application.habit.exception.HabitValidationException;
+import com.touchgrass.application.habit.service.HabitService;
+import com.touchgrass.domain.exceptions.HabitNotFoundException;
+import com.touchgrass.infrastructure.user.UserCache;
+
+@RestController
+@RequestMapping("/api/habits")
+public class HabitController {
+
+    private final HabitService habitService;
+    private final UserCache userCache;
+
+    public HabitController(HabitService habitService, UserCache userCache) {
+        this.habitService = habitService;
+        this.userCache = userCache;
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleHabitNotFound(HabitNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), HabitErrorCode.HABIT_NOT_FOUND.getCode()));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleValidationError(HabitValidationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), HabitErrorCode.VALIDATION_ERROR.getCode()));
+    }
+
+    @GetMapping
+    public ApiResponse<List<HabitResponse>> listHabits(Authentication authentication) {
+        return ApiResponse.success(habitService.listHabits(CurrentUser.id(authentication, userCache)));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<HabitResponse>> createHabit(
+            @RequestBody CreateHabitRequest request,
+            Authentication authentication) {
+        try {
+            HabitResponse habit = habitService.createHabit(CurrentUser.id(authentication, userCache), request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(habit));
+        } catch (HabitValidationException e) {
+            return handleValidationError(e);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<HabitResponse>> getHabit(
+            @PathVariable Long id,
+            Authentication authentication) {
+        try {
+            HabitResponse habit = habitService.getHabit(CurrentUser.id(authentication, userCache), id);
+            return ResponseEntity.ok(ApiResponse.success(habit));
+        } catch (HabitNotFoundException e) {
+            return handleHabitNotFound(e);
+        }
+    }
+
+    @PostMapping("/{id}/completions")
+    public ResponseEntity<ApiResponse<CompletionResult>> completeHabit(
+            @PathVariable Long id,
+            @RequestBody(required = false) CompleteHabitRequest request,
+            Authentication authentication) {
+        try {
+            CompletionResult result = habitService.completeHabit(CurrentUser.id(authentication, userCache), id,
+                    request != null ? request : new CompleteHabitRequest(null, null, null));
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(result));
+        } catch (HabitNotFoundException e) {
+            return handleHabitNotFound(e);
+        } catch (HabitValidationException e) {
+            return handleValidationError(e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Habit was completed concurrently, please retry",
+                            HabitErrorCode.UPDATE_CONFLICT.getCode()));
+        }
+    }
+
+    @GetMapping("/{id}/completions")
+    public ResponseEntity<ApiResponse<List<CompletionResponse>>> listCompletions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        try {
+            List<CompletionResponse> completions =
+                    habitService.recentCompletions(CurrentUser.id(authentication, userCache), id, limit);
+            return ResponseEntity.ok(ApiResponse.success(completions));
+        } catch (HabitNotFoundException e) {
+            return handleHabitNotFound(e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.touchgrass.interfaces.rest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.touchgrass.application.upload.dto.CreateUploadSessionRequest;
+import com.touchgrass.application.upload.dto.UploadContent;
+import com.touchgrass.application.upload.dto.UploadResponse;
+import com.touchgrass.application.upload.dto.UploadSessionResponse;
+import com.touchgrass.application.upload.exception.ChecksumMismatchException;
+import com.touchgrass.application.upload.exception.UploadErrorCode;
+import com.touchgrass.application.upload.exception.UploadIncompleteException;
+import com.touchgrass.application.upload.exception.UploadValidationException;
+import com.touchgrass.application.upload.exception.VariantNotReadyException;
+import com.touchgrass.application.upload.service.UploadService;
+import com.touchgrass.domain.exceptions.ServiceOverloadedException;
+import com.touchgrass.domain.exceptions.UploadNotFoundException;
+import com.touchgrass.domain.upload.model.ImageVariant;
+import com.touchgrass.infrastructure.user.UserCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Photo uploads. Small files can be sent in one request, either as the raw
+ * body or as a multipart {@code file} part; larger ones go through a chunked
+ * session that can be resumed after a dropped connection. Photos are also
+ * served as resized variants, generated in the background after upload.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadController {
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+    private static final String VARIANT_RETRY_AFTER_SECONDS = "5";
+
+    private final UploadService uploadService;
+    private final UserCache userCache;
+
+    public UploadController(UploadService uploadService, UserCache userCache) {
+        this.uploadService = uploadService;
+        this.userCache = userCache;
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleUploadNotFound(UploadNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage(), UploadErrorCode.UPLOAD_NOT_FOUND.getCode()));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleValidationError(RuntimeException e, UploadErrorCode code) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), code.getCode()));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Upload was modified concurrently, please retry",
+                        UploadErrorCode.UPLOAD_CONFLICT.getCode()));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleOverloaded(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage(), UploadErrorCode.SERVICE_UNAVAILABLE.getCode()));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<UploadResponse>> upload(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        return store(authentication, request.getContentType(), request.getContentLengthLong(),
+                Channels.newChannel(request.getInputStream()));
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<UploadResponse>> uploadMultipart(
+            @RequestPart("file") MultipartFile file,
+            Authentication authentication) throws IOException {
+        try (ReadableByteChannel body = Channels.newChannel(file.getInputStream())) {
+            return store(authentication, file.getContentType(), file.getSize(), body);
+        }
+    }
+
+    private ResponseEntity<ApiResponse<UploadResponse>> store(Authentication authentication, String contentType,
+            long contentLength, ReadableByteChannel body) throws IOException {
+        try {
+            UploadResponse upload = uploadService.upload(CurrentUser.id(authentication, userCache), contentType,
+                    contentLength, body);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(upload));
+        } catch (UploadValidationException e) {
+            return handleValidationError(e, UploadErrorCode.VALIDATION_ERROR);
+        } catch (ServiceOverloadedException e) {
+            return handleOverloaded(e);
+        }
+    }
+
+    @PostMapping("/sessions")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+            @RequestBody CreateUploadSessionRequest request,
+            Authentication authentication) {
+        try {
+            UploadSessionResponse session =
+                    uploadService.createSession(CurrentUser.id(authentication, userCache), request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(session));
+        } catch (UploadValidationException e) {
+            return handleValidationError(e, UploadErrorCode.VALIDATION_ERROR);
+        }
+    }
+
+    @GetMapping("/sessions/{id}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(
+            @PathVariable String id,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    uploadService.getSession(CurrentUser.id(authentication, userCache), id)));
+        } catch (UploadNotFoundException e) {
+            return handleUploadNotFound(e);
+        }
+    }
+
+    @PutMapping("/sessions/{id}/chunks/{index}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> putChunk(
+            @PathVariable String id,
+            @PathVariable int index,
+            @RequestHeader(name = CHUNK_CHECKSUM_HEADER, required = false) String checksum,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        try {
+            UploadSessionResponse session = uploadService.putChunk(CurrentUser.id(authentication, userCache), id,
+                    index, checksum, Channels.newChannel(request.getInputStream()));
+            return ResponseEntity.ok(ApiResponse.success(session));
+        } catch (UploadNotFoundException e) {
+            return handleUploadNotFound(e);
+        } catch (UploadValidationException e) {
+            return handleValidationError(e, UploadErrorCode.VALIDATION_ERROR);
+        } catch (ChecksumMismatchException e) {
+            return handleValidationError(e, UploadErrorCode.CHECKSUM_MISMATCH);
+        } catch (DataIntegrityViolationException e) {
+            return handleConflict();
+        } catch (ServiceOverloadedException e) {
+            return handleOverloaded(e);
+        }
+    }
+
+    @PostMapping("/sessions/{id}/complete")
+    public ResponseEntity<ApiResponse<UploadResponse>> completeSession(
+            @PathVariable String id,
+            Authentication authentication) throws IOException {
+        try {
+            UploadResponse upload = uploadService.completeSession(CurrentUser.id(authentication, userCache), id);
+            return ResponseEntity.ok(ApiResponse.success(upload));
+        } catch (UploadNotFoundException e) {
+            return handleUploadNotFound(e);
+        } catch (UploadIncompleteException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage(), UploadErrorCode.UPLOAD_INCOMPLETE.getCode()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return handleConflict();
+        } catch (ServiceOverloadedException e) {
+            return handleOverloaded(e);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<UploadResponse>> getUpload(
+            @PathVariable String id,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    uploadService.getUpload(CurrentUser.id(authentication, userCache), id)));
+        } catch (UploadNotFoundException e) {
+            return handleUploadNotFound(e);
+        }
+    }
+
+    @GetMapping("/{id}/content")
+    public ResponseEntity<Resource> getContent(
+            @PathVariable String id,
+            Authentication authentication) throws IOException {
+        try {
+            UploadContent content = uploadService.openContent(CurrentUser.id(authentication, userCache), id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(content.contentType()))
+                    .contentLength(content.size())
+                    .eTag(content.sha256())
+                    // An upload's bytes never change once it is complete.
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                    .body(new InputStreamResource(Channels.newInputStream(content.channel())));
+        } catch (UploadNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/variants/{variant}")
+    public ResponseEntity<Resource> getVariant(
+            @PathVariable String id,
+            @PathVariable String variant) throws IOException {
+        ImageVariant imageVariant = ImageVariant.fromName(variant);
+        if (imageVariant == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            UploadContent content = uploadService.openVariant(id, imageVariant);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .eTag(content.sha256() + "-" + imageVariant.getName())
+                    // Not immutable: regenerating variants, e.g. after resizing them, reuses the URL.
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePrivate());
+            if (content.size() >= 0) {
+                response.contentLength(content.size());
+            }
+            return response.body(new InputStreamResource(Channels.newInputStream(content.channel())));
+        } catch (UploadNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (VariantNotReadyException e) {
+            ResponseEntity.HeadersBuilder<?> response = ResponseEntity.notFound();
+            if (e.isPending()) {
+                response.header(HttpHeaders.RETRY_AFTER, VARIANT_RETRY_AFTER_SECONDS);
+            }
+            return response.build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.touchgrass.interfaces.rest;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,36 +16,37 @@ import org.springframework.web.bind.annotation.RestController;
 import com.touchgrass.application.auth.exception.AuthenticationException;
 import com.touchgrass.application.user.dto.UserResponse;
 import com.touchgrass.application.user.exception.UserErrorCode;
+import com.touchgrass.application.user.exception.UserValidationException;
 import com.touchgrass.application.user.service.UserService;
 import com.touchgrass.domain.exceptions.PermissionDeniedException;
-import com.touchgrass.domain.exceptions.UserNotFoundException;
-import com.touchgrass.domain.user.model.User;
-import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.domain.user.model.UserRole;
+import com.touchgrass.domain.user.model.UserSnapshot;
+import com.touchgrass.infrastructure.user.UserCache;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
-    private final UserRepository userRepository;
     private final UserService userService;
+    private final UserCache userCache;
 
-    public UserController(UserRepository userRepository, UserService userService) {
-        this.userRepository = userRepository;
+    public UserController(UserService userService, UserCache userCache) {
         this.userService = userService;
+        this.userCache = userCache;
     }
 
-    private User findCurrentUser(Authentication authentication) {
-        return userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new AuthenticationException("Current user not found"));
+    private UserSnapshot findUserById(Long id) {
+        return userCache.findById(id)
+                .orElseThrow(() -> new AuthenticationException("User not found"));
     }
 
-    private User findUserById(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new AuthenticationException("User not found"));
+    private boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> UserRole.ADMIN.getAuthority().equals(authority.getAuthority()));
     }
 
-    private void checkAdminPermission(User currentUser) {
-        if (!currentUser.isAdmin()) {
+    private void checkAdminPermission(Authentication authentication) {
+        if (!isAdmin(authentication)) {
             throw new AuthenticationException("You don't have permission to perform this action");
         }
     }
@@ -59,9 +61,20 @@ public class UserController {
                 .body(ApiResponse.error(e.getMessage(), UserErrorCode.PERMISSION_DENIED.getCode()));
     }
 
+    private <T> ResponseEntity<ApiResponse<T>> handleValidationError(UserValidationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage(), UserErrorCode.VALIDATION_ERROR.getCode()));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> handleUpdateConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("User was modified concurrently, please retry",
+                        UserErrorCode.UPDATE_CONFLICT.getCode()));
+    }
+
     @GetMapping("/me")
     public ApiResponse<UserResponse> getCurrentUser(Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName())
+        UserSnapshot user = userCache.findByUsername(authentication.getName())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return ApiResponse.success(UserResponse.from(user));
     }
@@ -69,8 +82,7 @@ public class UserController {
     @DeleteMapping("/me")
     public ResponseEntity<ApiResponse<Void>> deleteCurrentUser(Authentication authentication) {
         try {
-            User currentUser = findCurrentUser(authentication);
-            userRepository.deleteById(currentUser.getId());
+            userService.deleteCurrentUser(authentication.getName());
             return ResponseEntity.ok(ApiResponse.success(null));
         } catch (AuthenticationException e) {
             return handleUserNotFound(e);
@@ -81,13 +93,14 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserResponse>> updateCurrentUser(
             @RequestBody String json,
             Authentication authentication) {
-        System.err.println("\nIn updateCurrentUser:");
-        System.err.println("Request body: " + json);
-
-        User currentUser = (User) authentication.getPrincipal();
-        userService.updateUserFromJson(currentUser, json);
-        userRepository.save(currentUser);
-        return ResponseEntity.ok(ApiResponse.success(UserResponse.from(currentUser)));
+        try {
+            UserResponse user = userService.updateCurrentUser(authentication.getName(), json);
+            return ResponseEntity.ok(ApiResponse.success(user));
+        } catch (UserValidationException e) {
+            return handleValidationError(e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return handleUpdateConflict();
+        }
     }
 
     @GetMapping("/{id}")
@@ -95,7 +108,7 @@ public class UserController {
             @PathVariable Long id,
             Authentication authentication) {
         try {
-            User user = findUserById(id);
+            UserSnapshot user = findUserById(id);
             return ResponseEntity.ok(ApiResponse.success(UserResponse.from(user)));
         } catch (AuthenticationException e) {
             return handleUserNotFound(e);
@@ -107,10 +120,9 @@ public class UserController {
             @PathVariable Long id,
             Authentication authentication) {
         try {
-            User currentUser = findCurrentUser(authentication);
-            checkAdminPermission(currentUser);
+            checkAdminPermission(authentication);
 
-            userRepository.deleteById(id);
+            userService.deleteUser(id);
             return ResponseEntity.ok(ApiResponse.success(null));
         } catch (AuthenticationException e) {
             if (e.getMessage().contains("permission")) {
@@ -125,16 +137,17 @@ public class UserController {
             @PathVariable Long id,
             @RequestBody String json,
             Authentication authentication) {
-        User currentUser = (User) authentication.getPrincipal();
-        if (!currentUser.isAdmin()) {
+        if (!isAdmin(authentication)) {
             throw new PermissionDeniedException("Only admin users can update other users");
         }
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
-
-        userService.updateUserFromJson(user, json);
-        userRepository.save(user);
-        return ResponseEntity.ok(ApiResponse.success(UserResponse.from(user)));
+        try {
+            UserResponse user = userService.updateUser(id, json);
+            return ResponseEntity.ok(ApiResponse.success(user));
+        } catch (UserValidationException e) {
+            return handleValidationError(e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return handleUpdateConflict();
+        }
     }
 }
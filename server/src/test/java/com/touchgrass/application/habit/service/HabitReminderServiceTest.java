@@ -0,0 +1,131 @@
+package com.touchgrass.application.habit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitFrequency;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.habit.ReminderPartitionLeases;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HabitReminderServiceTest {
+
+    @Autowired
+    private HabitReminderService reminderService;
+
+    @Autowired
+    private ReminderPartitionLeases leases;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // Other test contexts share the database; wait for them to hand over a share of the partitions.
+        long deadline = System.currentTimeMillis() + 15_000;
+        reminderService.rebalance();
+        while (leases.owned().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            reminderService.rebalance();
+        }
+        for (int attempt = 0; attempt < 100 && user == null; attempt++) {
+            String uniqueId = UUID.randomUUID().toString().substring(0, 8);
+            User candidate = userRepository.save(User.builder()
+                    .username("reminded_" + uniqueId)
+                    .email("reminded_" + uniqueId + "@example.com")
+                    .password("password")
+                    .isAdmin(false)
+                    .build());
+            if (leases.owns(candidate.getId())) {
+                user = candidate;
+            } else {
+                userRepository.delete(candidate);
+            }
+        }
+        assertNotNull(user);
+        // Send whatever other tests left due.
+        reminderService.dispatchDue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        habitRepository.deleteAll(habitRepository.findByUserIdOrderByIdAsc(user.getId()));
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void dispatchDue_ShouldRemindOncePerPeriod() {
+        Habit habit = habitRepository.save(habit());
+        long sentBefore = reminderService.getSentCount();
+
+        reminderService.onHabitChanged(habit.getId());
+        assertEquals(1, reminderService.dispatchDue());
+
+        assertEquals(sentBefore + 1, reminderService.getSentCount());
+        Long remindedPeriod = jdbcTemplate.queryForObject(
+                "SELECT last_reminded_period FROM habits WHERE id = ?", Long.class, habit.getId());
+        assertNotNull(remindedPeriod);
+        assertEquals(habit.reminderPeriod(Instant.now()), remindedPeriod.longValue());
+
+        // Re-reading the habit finds this period already reminded about.
+        reminderService.onHabitChanged(habit.getId());
+        assertEquals(0, reminderService.dispatchDue());
+    }
+
+    @Test
+    void dispatchDue_ShouldSkipPeriodsAlreadyCompleted() {
+        Habit habit = habitRepository.save(habit());
+        habit.recordCompletion(Instant.now());
+        habit = habitRepository.save(habit);
+
+        reminderService.onHabitChanged(habit.getId());
+
+        assertEquals(0, reminderService.dispatchDue());
+    }
+
+    @Test
+    void dispatchDue_ShouldWaitForStaleLeasesToBeRenewed() {
+        Habit habit = habitRepository.save(habit());
+        reminderService.onHabitChanged(habit.getId());
+        // As if renewals had stalled for most of the lease.
+        ReflectionTestUtils.setField(leases, "trustedUntil", System.currentTimeMillis() - 1);
+
+        assertEquals(0, reminderService.dispatchDue());
+
+        reminderService.rebalance();
+        assertEquals(1, reminderService.dispatchDue());
+    }
+
+    private Habit habit() {
+        return Habit.builder()
+                .userId(user.getId())
+                .name("Walk outside")
+                .frequency(HabitFrequency.DAILY)
+                .timeZone("UTC")
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.touchgrass.application.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.touchgrass.application.user.exception.UserValidationException;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.outbox.Outbox;
+import com.touchgrass.infrastructure.user.UserCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserServiceTest {
+    private final UserService userService = new UserService(new ObjectMapper(),
+            mock(UserRepository.class), mock(UserCache.class), mock(Outbox.class), new SimpleMeterRegistry());
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        user.setDateOfBirth(LocalDate.of(1815, 12, 10));
+    }
+
+    @Test
+    void updateUserFromJson_ShouldAcceptSnakeAndCamelCaseNames() {
+        boolean changed = userService.updateUserFromJson(user,
+                "{\"first_name\":\"Grace\",\"lastName\":\"Hopper\",\"date_of_birth\":\"1906-12-09\"}");
+
+        assertTrue(changed);
+        assertEquals("Grace", user.getFirstName());
+        assertEquals("Hopper", user.getLastName());
+        assertEquals(LocalDate.of(1906, 12, 9), user.getDateOfBirth());
+    }
+
+    @Test
+    void updateUserFromJson_ShouldReportNoChangeForIdenticalValues() {
+        assertFalse(userService.updateUserFromJson(user,
+                "{\"firstName\":\"Ada\",\"date_of_birth\":\"1815-12-10\"}"));
+    }
+
+    @Test
+    void updateUserFromJson_ShouldIgnoreUnknownFields() {
+        assertFalse(userService.updateUserFromJson(user,
+                "{\"username\":\"hacker\",\"nested\":{\"first_name\":\"x\"},\"list\":[1,2]}"));
+        assertEquals("Ada", user.getFirstName());
+    }
+
+    @Test
+    void updateUserFromJson_ShouldClearFieldOnNull() {
+        assertTrue(userService.updateUserFromJson(user, "{\"date_of_birth\":null}"));
+        assertNull(user.getDateOfBirth());
+    }
+
+    @Test
+    void updateUserFromJson_ShouldRejectInvalidDate() {
+        UserValidationException e = assertThrows(UserValidationException.class,
+                () -> userService.updateUserFromJson(user, "{\"dateOfBirth\":\"10/12/1815\"}"));
+        assertEquals("date_of_birth", e.getField());
+    }
+
+    @Test
+    void updateUserFromJson_ShouldRejectNonStringValue() {
+        UserValidationException e = assertThrows(UserValidationException.class,
+                () -> userService.updateUserFromJson(user, "{\"first_name\":42}"));
+        assertEquals("first_name", e.getField());
+    }
+
+    @Test
+    void updateUserFromJson_ShouldRejectMalformedBody() {
+        assertThrows(UserValidationException.class, () -> userService.updateUserFromJson(user, "{\"first_name\":"));
+        assertThrows(UserValidationException.class, () -> userService.updateUserFromJson(user, "[]"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.touchgrass.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Keys come out on the tick they are due, across every level and beyond the top one")
+    void keysFireOnTheirTick() {
+        // 4 levels of 8 one-second buckets cover 8^4 s ahead; deadlines go well past that.
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, 8, 4, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 2000; key++) {
+            long deadline = random.nextLong(20_000) * 1000 + random.nextInt(1000);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        for (long now = 0; now <= 20_000 * 1000L; now += 1000) {
+            for (Integer key : wheel.advance(now, Integer.MAX_VALUE)) {
+                long deadlineTick = deadlines.remove(key) / 1000;
+                assertEquals(deadlineTick, now / 1000, "key " + key);
+            }
+        }
+        assertTrue(deadlines.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Rescheduling replaces the old deadline and cancelling removes the key")
+    void rescheduleAndCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 64, 3, 0);
+        wheel.schedule("a", 5_000);
+        wheel.schedule("b", 5_000);
+        wheel.schedule("c", 500_000);
+        wheel.schedule("a", 90_000);
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+
+        assertEquals(List.of(), wheel.advance(60_000, 10));
+        assertEquals(List.of("a"), wheel.advance(90_000, 10));
+        assertTrue(wheel.contains("c"));
+
+        wheel.cancelIf(key -> key.equals("c"));
+        assertEquals(List.of(), wheel.advance(1_000_000, 10));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Due keys beyond the limit, and deadlines already past, come out on the next call")
+    void limitAndOverdueKeys() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, 64, 2, 10_000);
+        for (int key = 0; key < 5; key++) {
+            wheel.schedule(key, 12_000);
+        }
+        wheel.schedule(5, 13_000);
+        wheel.schedule(6, 1_000);
+
+        List<Integer> due = new ArrayList<>(wheel.advance(20_000, 3));
+        assertEquals(List.of(6, 0, 1), due);
+        due.addAll(wheel.advance(20_000, 3));
+        due.addAll(wheel.advance(20_000, 3));
+        assertEquals(List.of(6, 0, 1, 2, 3, 4, 5), due);
+    }
+}
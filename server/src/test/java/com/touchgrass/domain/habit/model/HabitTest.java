@@ -0,0 +1,186 @@
+package com.touchgrass.domain.habit.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HabitTest {
+
+    private static Habit habit(HabitFrequency frequency, String timeZone, LocalDate createdOn) {
+        Habit habit = Habit.builder()
+                .userId(1L)
+                .name("Walk outside")
+                .frequency(frequency)
+                .timeZone(timeZone)
+                .build();
+        habit.setStartPeriod(frequency.periodIndex(createdOn));
+        return habit;
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+
+    @Nested
+    @DisplayName("Daily streaks")
+    class Daily {
+
+        @Test
+        void consecutiveDaysExtendTheStreak() {
+            Habit habit = habit(HabitFrequency.DAILY, "UTC", LocalDate.of(2024, 3, 1));
+
+            assertTrue(habit.recordCompletion(at("2024-03-01T08:00:00Z")));
+            assertTrue(habit.recordCompletion(at("2024-03-02T21:00:00Z")));
+            assertTrue(habit.recordCompletion(at("2024-03-03T07:30:00Z")));
+
+            assertEquals(3, habit.currentStreak(at("2024-03-03T12:00:00Z")));
+            assertEquals(3, habit.getLongestStreak());
+            assertEquals(at("2024-03-04T00:00:00Z"), habit.getNextDueAt());
+            assertFalse(habit.isDue(at("2024-03-03T23:59:59Z")));
+            assertTrue(habit.isDue(at("2024-03-04T00:00:00Z")));
+        }
+
+        @Test
+        void secondCompletionInTheSamePeriodOnlyCounts() {
+            Habit habit = habit(HabitFrequency.DAILY, "UTC", LocalDate.of(2024, 3, 1));
+
+            habit.recordCompletion(at("2024-03-01T08:00:00Z"));
+            assertFalse(habit.recordCompletion(at("2024-03-01T18:00:00Z")));
+
+            assertEquals(1, habit.currentStreak(at("2024-03-01T20:00:00Z")));
+            assertEquals(2, habit.getCompletionCount());
+            assertEquals(at("2024-03-01T18:00:00Z"), habit.getLastCompletedAt());
+        }
+
+        @Test
+        void gapRestartsTheStreakButKeepsTheLongest() {
+            Habit habit = habit(HabitFrequency.DAILY, "UTC", LocalDate.of(2024, 3, 1));
+
+            habit.recordCompletion(at("2024-03-01T08:00:00Z"));
+            habit.recordCompletion(at("2024-03-02T08:00:00Z"));
+            habit.recordCompletion(at("2024-03-05T08:00:00Z"));
+
+            assertEquals(1, habit.currentStreak(at("2024-03-05T09:00:00Z")));
+            assertEquals(2, habit.getLongestStreak());
+        }
+
+        @Test
+        void streakReadsAsZeroOnceItCanNoLongerBeExtended() {
+            Habit habit = habit(HabitFrequency.DAILY, "UTC", LocalDate.of(2024, 3, 1));
+            habit.recordCompletion(at("2024-03-01T08:00:00Z"));
+
+            assertEquals(1, habit.currentStreak(at("2024-03-02T23:00:00Z")));
+            assertEquals(0, habit.currentStreak(at("2024-03-03T00:00:00Z")));
+        }
+
+        @Test
+        void backfilledCompletionDoesNotRewriteTheStreak() {
+            Habit habit = habit(HabitFrequency.DAILY, "UTC", LocalDate.of(2024, 3, 1));
+            habit.recordCompletion(at("2024-03-03T08:00:00Z"));
+
+            assertFalse(habit.recordCompletion(at("2024-03-02T08:00:00Z")));
+
+            assertEquals(1, habit.currentStreak(at("2024-03-03T09:00:00Z")));
+            assertEquals(2, habit.getCompletionCount());
+            assertEquals(at("2024-03-03T08:00:00Z"), habit.getLastCompletedAt());
+        }
+
+        @Test
+        void daysAreCountedInTheHabitsTimeZone() {
+            Habit habit = habit(HabitFrequency.DAILY, "Australia/Sydney", LocalDate.of(2024, 3, 1));
+
+            // 23:00 and 13:00 UTC are the 2nd and 3rd in Sydney (UTC+11).
+            habit.recordCompletion(at("2024-03-01T23:00:00Z"));
+            habit.recordCompletion(at("2024-03-02T13:00:00Z"));
+
+            assertEquals(2, habit.getCurrentStreak());
+            assertEquals(at("2024-03-03T13:00:00Z"), habit.getNextDueAt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Weekly and monthly streaks")
+    class Periods {
+
+        @Test
+        void weeksStartOnMonday() {
+            Habit habit = habit(HabitFrequency.WEEKLY, "UTC", LocalDate.of(2024, 3, 4));
+
+            habit.recordCompletion(at("2024-03-10T20:00:00Z"));
+            habit.recordCompletion(at("2024-03-11T08:00:00Z"));
+
+            assertEquals(2, habit.getCurrentStreak());
+            assertEquals(at("2024-03-18T00:00:00Z"), habit.getNextDueAt());
+        }
+
+        @Test
+        void monthsRollOverTheYear() {
+            Habit habit = habit(HabitFrequency.MONTHLY, "UTC", LocalDate.of(2023, 12, 1));
+
+            habit.recordCompletion(at("2023-12-31T12:00:00Z"));
+            habit.recordCompletion(at("2024-01-15T12:00:00Z"));
+
+            assertEquals(2, habit.getCurrentStreak());
+            assertEquals(at("2024-02-01T00:00:00Z"), habit.getNextDueAt());
+        }
+
+        @Test
+        void periodStartInvertsPeriodIndex() {
+            LocalDate date = LocalDate.of(1969, 12, 31);
+            for (int i = 0; i < 800; i++, date = date.plusDays(1)) {
+                for (HabitFrequency frequency : HabitFrequency.values()) {
+                    long index = frequency.periodIndex(date);
+                    LocalDate start = frequency.periodStart(index);
+                    assertFalse(start.isAfter(date), frequency + " " + date);
+                    assertEquals(index + 1, frequency.periodIndex(frequency.periodStart(index + 1)));
+                    assertEquals(index, frequency.periodIndex(start));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Reminders")
+    class Reminders {
+
+        @Test
+        void remindsBeforeTheCurrentPeriodEndsUntilItIsCompleted() {
+            Habit habit = habit(HabitFrequency.DAILY, "Europe/Berlin", LocalDate.of(2024, 3, 1));
+            Instant now = at("2024-03-02T09:00:00Z");
+
+            long period = habit.reminderPeriod(now);
+            assertEquals(HabitFrequency.DAILY.periodIndex(LocalDate.of(2024, 3, 2)), period);
+            // Midnight in Berlin is 23:00 UTC; three hours before that.
+            assertEquals(at("2024-03-02T20:00:00Z"), habit.reminderAt(period, Duration.ofHours(3)));
+
+            habit.recordCompletion(at("2024-03-02T10:00:00Z"));
+            assertEquals(period + 1, habit.reminderPeriod(now));
+        }
+
+        @Test
+        void leadLongerThanThePeriodRemindsAtItsStart() {
+            Habit habit = habit(HabitFrequency.WEEKLY, "UTC", LocalDate.of(2024, 3, 1));
+            long period = habit.reminderPeriod(at("2024-03-06T12:00:00Z"));
+
+            assertEquals(at("2024-03-10T00:00:00Z"), habit.reminderAt(period, Duration.ofDays(1)));
+            assertEquals(at("2024-03-04T00:00:00Z"), habit.reminderAt(period, Duration.ofDays(30)));
+        }
+    }
+
+    @Test
+    void adherenceIsCompletedPeriodsOverElapsedPeriods() {
+        Habit habit = habit(HabitFrequency.DAILY, "UTC", LocalDate.of(2024, 3, 1));
+
+        habit.recordCompletion(at("2024-03-01T08:00:00Z"));
+        habit.recordCompletion(at("2024-03-01T09:00:00Z"));
+        habit.recordCompletion(at("2024-03-03T08:00:00Z"));
+
+        assertEquals(0.5, habit.adherence(at("2024-03-04T12:00:00Z")), 1e-9);
+    }
+}
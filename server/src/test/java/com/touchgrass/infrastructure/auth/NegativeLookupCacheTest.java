@@ -0,0 +1,47 @@
+package com.touchgrass.infrastructure.auth;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.touchgrass.infrastructure.cache.InMemoryInvalidationBus;
+
+class NegativeLookupCacheTest {
+    // Two instances' caches on one bus.
+    private final InMemoryInvalidationBus bus = new InMemoryInvalidationBus();
+    private final NegativeLookupCache here = cache(bus);
+    private final NegativeLookupCache there = cache(bus);
+
+    @Test
+    void invalidate_ShouldReachEveryInstance() {
+        here.recordMissing("alice");
+        there.recordMissing("alice");
+        there.recordMissing("bob");
+
+        here.invalidate("alice");
+
+        assertFalse(here.isKnownMissing("alice"));
+        assertFalse(there.isKnownMissing("alice"));
+        assertTrue(there.isKnownMissing("bob"));
+    }
+
+    @Test
+    void invalidateAll_ShouldClearEveryInstance() {
+        here.recordMissing("alice");
+        there.recordMissing("bob");
+
+        here.invalidateAll();
+
+        assertFalse(here.isKnownMissing("alice"));
+        assertFalse(there.isKnownMissing("bob"));
+    }
+
+    private static NegativeLookupCache cache(InMemoryInvalidationBus bus) {
+        NegativeLookupCache cache = new NegativeLookupCache(bus);
+        ReflectionTestUtils.setField(cache, "ttlInMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        return cache;
+    }
+}
@@ -0,0 +1,83 @@
+package com.touchgrass.infrastructure.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.touchgrass.domain.exceptions.ServiceOverloadedException;
+
+class BoundedPasswordEncoderTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hashed:" + rawPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_ShouldRejectWhenPoolAndQueueAreFull() throws Exception {
+        callers.submit(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("queued"));
+        waitForQueueDepth(1);
+
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class,
+                () -> encoder.encode("rejected"));
+        assertEquals(2, e.getRetryAfterSeconds());
+        assertEquals(1, encoder.getRejectedCount());
+    }
+
+    @Test
+    void matches_ShouldRunOnPoolAndRecordLatency() {
+        release.countDown();
+
+        assertTrue(encoder.matches("password", encoder.encode("password")));
+        assertEquals(2, encoder.getHashCount());
+        assertTrue(encoder.getTotalHashTimeNanos() > 0);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
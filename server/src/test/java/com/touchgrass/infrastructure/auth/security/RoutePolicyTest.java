@@ -0,0 +1,82 @@
+package com.touchgrass.infrastructure.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.touchgrass.infrastructure.auth.CredentialVersionCache;
+import com.touchgrass.infrastructure.auth.JwtAuthenticationFilter;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.user.LastActiveTracker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RoutePolicyTest {
+    private final RoutePolicy routePolicy = new RoutePolicy();
+
+    @Test
+    void isPublic_ShouldMatchTheConfiguredPatternsOnly() {
+        assertTrue(routePolicy.isPublic("POST", "/api/auth/login"));
+        assertTrue(routePolicy.isPublic("POST", "/api/auth/register"));
+        assertTrue(routePolicy.isPublic("GET", "/swagger-ui/index.html"));
+        assertTrue(routePolicy.isPublic("GET", "/v3/api-docs"));
+        assertTrue(routePolicy.isPublic("GET", "/v3/api-docs/swagger-config"));
+        assertTrue(routePolicy.isPublic("GET", "/actuator/health"));
+        assertTrue(routePolicy.isPublic("GET", "/api/auth"));
+        assertTrue(routePolicy.isPublic("OPTIONS", "/api/users/me"));
+
+        assertFalse(routePolicy.isPublic("GET", "/api/users/me"));
+        assertFalse(routePolicy.isPublic("GET", "/api/authx"));
+        assertFalse(routePolicy.isPublic("GET", "/actuator/env"));
+        assertFalse(routePolicy.isPublic("GET", "/actuator/healthz"));
+        assertFalse(routePolicy.isPublic("GET", "/v3"));
+        assertFalse(routePolicy.isPublic("GET", "/"));
+        // Only the literal path is public; anything needing decoding or normalising is not.
+        assertFalse(routePolicy.isPublic("GET", "/actuator/health/"));
+        assertFalse(routePolicy.isPublic("GET", "/api/%61uth/login"));
+        assertFalse(routePolicy.isPublic("GET", "/api;x=1/auth/login"));
+        assertFalse(routePolicy.isPublic("GET", "//api/auth/login"));
+    }
+
+    @Test
+    void matches_ShouldOnlyOpenTheScrapeOnASeparateManagementPort() {
+        MockHttpServletRequest scrape = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        scrape.setLocalPort(8081);
+        assertTrue(new RoutePolicy(8081, 8080).matches(scrape));
+        assertFalse(new RoutePolicy(8080, 8080).matches(scrape));
+        assertFalse(routePolicy.matches(scrape));
+
+        scrape.setLocalPort(8080);
+        assertFalse(new RoutePolicy(8081, 8080).matches(scrape));
+    }
+
+    @Test
+    void jwtFilter_ShouldPassPublicRoutesWithoutLookingAtTheToken() throws Exception {
+        JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, mock(UserDetailsService.class),
+                mock(LastActiveTracker.class), mock(CredentialVersionCache.class), new SimpleMeterRegistry(),
+                routePolicy);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+        request.addHeader("Authorization", "Bearer not-a-token");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(request, chain.getRequest());
+        verifyNoInteractions(tokenProvider);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/me"), rejected, new MockFilterChain());
+        assertEquals(401, rejected.getStatus());
+    }
+}
@@ -0,0 +1,51 @@
+package com.touchgrass.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcPollingInvalidationBusTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcPollingInvalidationBus publisher;
+    private JdbcPollingInvalidationBus otherInstance;
+    private final List<String> published = new CopyOnWriteArrayList<>();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        publisher = new JdbcPollingInvalidationBus(jdbcTemplate, 2, 10, 3_600_000);
+        otherInstance = new JdbcPollingInvalidationBus(jdbcTemplate, 2, 10, 3_600_000);
+        publisher.subscribe("users", published::add);
+        otherInstance.subscribe("users", received::add);
+        otherInstance.subscribe("other", key -> received.add("other:" + key));
+        otherInstance.poll();
+    }
+
+    @Test
+    void publish_ShouldDeliverLocallyAndToOtherInstancesOnce() {
+        publisher.publish(new CacheInvalidation("users", "1"));
+        publisher.publish(new CacheInvalidation("users", "2"));
+        publisher.publish(new CacheInvalidation("other", "3"));
+
+        assertEquals(List.of("1", "2"), published);
+        assertEquals(List.of(), received);
+
+        otherInstance.poll();
+        otherInstance.poll();
+
+        assertEquals(List.of("1", "2", "other:3"), received);
+    }
+}
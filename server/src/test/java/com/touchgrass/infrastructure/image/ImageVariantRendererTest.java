@@ -0,0 +1,172 @@
+package com.touchgrass.infrastructure.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.touchgrass.domain.upload.model.ImageVariant;
+
+class ImageVariantRendererTest {
+    private final ImageVariantRenderer renderer = new ImageVariantRenderer(50_000_000);
+
+    private static ReadableByteChannel png(int width, int height, int type) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.GREEN);
+        graphics.fillRect(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private Map<ImageVariant, BufferedImage> render(ReadableByteChannel source) throws IOException {
+        Map<ImageVariant, BufferedImage> rendered = new EnumMap<>(ImageVariant.class);
+        renderer.render(source, (variant, image) -> {
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+            renderer.writeJpeg(image, Channels.newChannel(jpeg));
+            rendered.put(variant, ImageIO.read(new ByteArrayInputStream(jpeg.toByteArray())));
+        });
+        return rendered;
+    }
+
+    @Test
+    void render_ShouldFitEachVariantKeepingAspectRatio() throws Exception {
+        Map<ImageVariant, BufferedImage> rendered = render(png(3000, 1500, BufferedImage.TYPE_INT_RGB));
+
+        assertEquals(1440, rendered.get(ImageVariant.FULL).getWidth());
+        assertEquals(720, rendered.get(ImageVariant.FULL).getHeight());
+        assertEquals(720, rendered.get(ImageVariant.FEED).getWidth());
+        assertEquals(360, rendered.get(ImageVariant.FEED).getHeight());
+        assertEquals(160, rendered.get(ImageVariant.THUMBNAIL).getWidth());
+        assertEquals(80, rendered.get(ImageVariant.THUMBNAIL).getHeight());
+    }
+
+    @Test
+    void render_ShouldNotUpscaleSmallImages() throws Exception {
+        Map<ImageVariant, BufferedImage> rendered = render(png(300, 100, BufferedImage.TYPE_INT_RGB));
+
+        assertEquals(300, rendered.get(ImageVariant.FULL).getWidth());
+        assertEquals(300, rendered.get(ImageVariant.FEED).getWidth());
+        assertEquals(160, rendered.get(ImageVariant.THUMBNAIL).getWidth());
+        assertEquals(53, rendered.get(ImageVariant.THUMBNAIL).getHeight());
+    }
+
+    @Test
+    void render_ShouldFlattenTransparencyOntoWhite() throws Exception {
+        BufferedImage thumbnail = render(png(400, 400, BufferedImage.TYPE_INT_ARGB)).get(ImageVariant.THUMBNAIL);
+
+        Color corner = new Color(thumbnail.getRGB(0, 0));
+        assertTrue(corner.getRed() > 240 && corner.getGreen() > 240 && corner.getBlue() > 240);
+    }
+
+    @Test
+    void decode_ShouldSubsampleLargeImages() throws Exception {
+        BufferedImage decoded = renderer.decode(png(4000, 2000, BufferedImage.TYPE_INT_RGB), 1440);
+
+        // Every second pixel: still at least 1440 wide, but a quarter of the pixels.
+        assertEquals(2000, decoded.getWidth());
+        assertEquals(1000, decoded.getHeight());
+    }
+
+    @Test
+    void decode_ShouldApplyTheExifOrientationOfAJpeg() throws Exception {
+        // Stored sideways: red on the left, blue on the right; orientation 6 turns it 90 degrees clockwise.
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 100, 100);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(100, 0, 100, 100);
+        graphics.dispose();
+
+        BufferedImage decoded = renderer.decode(jpegWithOrientation(image, 6), 1440);
+
+        assertEquals(100, decoded.getWidth());
+        assertEquals(200, decoded.getHeight());
+        assertTrue(new Color(decoded.getRGB(50, 20)).getRed() > 200);
+        assertTrue(new Color(decoded.getRGB(50, 180)).getBlue() > 200);
+    }
+
+    @Test
+    void decode_ShouldLeaveJpegsWithoutOrientationAsTheyAre() throws Exception {
+        BufferedImage decoded = renderer.decode(jpegWithOrientation(
+                new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), 0), 1440);
+
+        assertEquals(200, decoded.getWidth());
+        assertEquals(100, decoded.getHeight());
+    }
+
+    @Test
+    void decode_ShouldRejectImagesOverThePixelLimitFromTheHeader() {
+        // A PNG that claims to be 100000 x 100000 but has no pixel data at all.
+        UnprocessableImageException e = assertThrows(UnprocessableImageException.class,
+                () -> renderer.decode(pngHeader(100_000, 100_000), 1440));
+        assertTrue(e.getMessage().contains("over the limit"));
+    }
+
+    @Test
+    void decode_ShouldRejectContentThatIsNotAnImage() {
+        byte[] garbage = "definitely not a photo".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(UnprocessableImageException.class,
+                () -> renderer.decode(Channels.newChannel(new ByteArrayInputStream(garbage)), 1440));
+    }
+
+    /** Encodes {@code image} as a JPEG with an Exif segment holding {@code orientation}, or none if 0. */
+    private static ReadableByteChannel jpegWithOrientation(BufferedImage image, int orientation) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", encoded);
+        byte[] jpeg = encoded.toByteArray();
+        if (orientation == 0) {
+            return Channels.newChannel(new ByteArrayInputStream(jpeg));
+        }
+
+        // Big-endian TIFF header, then one IFD with a single SHORT entry.
+        ByteBuffer exif = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4);
+        exif.put("Exif".getBytes(StandardCharsets.US_ASCII)).put((byte) 0).put((byte) 0)
+                .put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+        // After the SOI and the JFIF APP0 segment, which the decoder insists comes first.
+        int at = 4 + ((jpeg[4] & 0xFF) << 8 | jpeg[5] & 0xFF);
+        ByteBuffer withExif = ByteBuffer.allocate(jpeg.length + 4 + exif.capacity());
+        withExif.put(jpeg, 0, at)
+                .put((byte) 0xFF).put((byte) 0xE1).putShort((short) (exif.capacity() + 2)).put(exif.array())
+                .put(jpeg, at, jpeg.length - at);
+        return Channels.newChannel(new ByteArrayInputStream(withExif.array()));
+    }
+
+    private static ReadableByteChannel pngHeader(int width, int height) {
+        ByteBuffer ihdr = ByteBuffer.allocate(17);
+        ihdr.put("IHDR".getBytes(StandardCharsets.US_ASCII))
+                .putInt(width).putInt(height)
+                .put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.array());
+
+        ByteBuffer png = ByteBuffer.allocate(8 + 4 + 17 + 4);
+        png.put(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'})
+                .putInt(13).put(ihdr.array()).putInt((int) crc.getValue());
+        return Channels.newChannel(new ByteArrayInputStream(png.array()));
+    }
+}
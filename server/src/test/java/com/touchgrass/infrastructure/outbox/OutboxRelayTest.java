@@ -0,0 +1,173 @@
+package com.touchgrass.infrastructure.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.touchgrass.domain.outbox.model.OutboxEventStatus;
+import com.touchgrass.domain.outbox.repository.OutboxEventRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private OutboxEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String type = "test." + UUID.randomUUID();
+    private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+    private OutboxRelay relay;
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE event_type = ?", type);
+    }
+
+    @Test
+    void relay_ShouldDeliverEachEventOnceAndDeleteIt() {
+        relay = relay(3, new Recording("recording"));
+        String key = type + ":1";
+
+        boolean[] stored = inTransaction(() -> new boolean[] {
+                outbox.publish(type, 1L, key, Map.of("n", 7)),
+                outbox.publish(type, 1L, key, Map.of("n", 8))});
+        assertTrue(stored[0]);
+        assertFalse(stored[1]);
+
+        relay.relay();
+        await(() -> eventRepository.findByIdempotencyKey(key).isEmpty());
+
+        assertEquals(1, received.size());
+        assertEquals(key, received.get(0).idempotencyKey());
+        assertEquals(7, received.get(0).payload().get("n").asInt());
+        assertEquals(1, received.get(0).attempt());
+    }
+
+    @Test
+    void relay_ShouldRetryOnlyTheSubscribersThatFailed() {
+        AtomicInteger flakyCalls = new AtomicInteger();
+        relay = relay(3, new Recording("recording"), new Recording("flaky") {
+            @Override
+            public void handle(OutboxMessage message) {
+                if (flakyCalls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("not yet");
+                }
+            }
+        });
+        String key = type + ":2";
+        inTransaction(() -> outbox.publish(type, 2L, key, Map.of()));
+
+        relay.relay();
+        await(() -> relay.getRetriedCount() == 1);
+        assertEquals(OutboxEventStatus.PENDING, eventRepository.findByIdempotencyKey(key).orElseThrow().getStatus());
+
+        relay.relay();
+        await(() -> eventRepository.findByIdempotencyKey(key).isEmpty());
+
+        assertEquals(1, received.size());
+        assertEquals(2, flakyCalls.get());
+    }
+
+    @Test
+    void relay_ShouldGiveUpAfterMaxAttempts() {
+        relay = relay(1, new Recording("broken") {
+            @Override
+            public void handle(OutboxMessage message) {
+                throw new IllegalStateException("always");
+            }
+        });
+        String key = type + ":3";
+        inTransaction(() -> outbox.publish(type, 3L, key, Map.of()));
+
+        relay.relay();
+        await(() -> relay.getFailedCount() == 1);
+
+        assertEquals(OutboxEventStatus.FAILED, eventRepository.findByIdempotencyKey(key).orElseThrow().getStatus());
+        assertEquals(0, relay.relay());
+    }
+
+    @Test
+    void publish_ShouldRequireTheCallersTransaction() {
+        relay = relay(1);
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outbox.publish(type, 4L, type + ":4", Map.of()));
+    }
+
+    private OutboxRelay relay(int maxAttempts, OutboxSubscriber... subscribers) {
+        return new OutboxRelay(jdbcTemplate, transactionManager, objectMapper, List.of(subscribers),
+                1, 4, 10, 60_000, 0, maxAttempts);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private class Recording implements OutboxSubscriber {
+        private final String name;
+
+        Recording(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean handles(String eventType) {
+            return type.equals(eventType);
+        }
+
+        @Override
+        public void handle(OutboxMessage message) {
+            received.add(message);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.touchgrass.infrastructure.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthRateLimitFilterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String ip = "10.0.0." + (int) (Math.random() * 250);
+    private final String user = "limited_" + UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rate_limit_counters WHERE bucket_key LIKE ?", "%" + user + "%");
+    }
+
+    @Test
+    void login_ShouldRejectPerIdentifierAndStillPassTheBodyOn() throws Exception {
+        AuthRateLimitFilter filter = filter(new RateLimiter(new NoSharedRateCounter(), 1000, 60_000));
+        String body = "{\"password\":\"secret\",\"username\":\"  " + user.toUpperCase() + "\"}";
+
+        for (int i = 0; i < 2; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = login(filter, "10.1.0." + i, body, chain);
+            assertEquals(200, response.getStatus());
+            HttpServletRequest passed = (HttpServletRequest) chain.getRequest();
+            assertEquals(body, StreamUtils.copyToString(passed.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = login(filter, "10.1.0.9", "{\"username\":\"" + user + "\"}", chain);
+        assertEquals(429, response.getStatus());
+        assertTrue(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertNull(chain.getRequest());
+        assertEquals(1, filter.getRejectedByIdentifierCount());
+        assertEquals(0, filter.getRejectedByIpCount());
+    }
+
+    @Test
+    void register_ShouldRejectPerIpOnly() throws Exception {
+        AuthRateLimitFilter filter = filter(new RateLimiter(new NoSharedRateCounter(), 1000, 60_000));
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = request("/api/auth/register", ip, "{\"username\":\"u" + i + "\"}");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(i < 2 ? 200 : 429, response.getStatus());
+        }
+        assertEquals(1, filter.getRejectedByIpCount());
+
+        MockHttpServletRequest other = request("/api/auth/login", ip, "{}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(other, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void sharedCounter_ShouldLimitAcrossInstancesAfterSync() {
+        JdbcSharedRateCounter first = new JdbcSharedRateCounter(jdbcTemplate, 2);
+        JdbcSharedRateCounter second = new JdbcSharedRateCounter(jdbcTemplate, 2);
+        RateLimiter firstLimiter = new RateLimiter(first, 1000, 60_000);
+        RateLimiter secondLimiter = new RateLimiter(second, 1000, 60_000);
+        RateLimit limit = RateLimit.of(4, 600_000);
+        String key = "login:id:" + user;
+
+        assertEquals(0, firstLimiter.tryAcquire(key, limit));
+        assertEquals(0, firstLimiter.tryAcquire(key, limit));
+        assertEquals(0, firstLimiter.tryAcquire(key, limit));
+        assertEquals(0, secondLimiter.tryAcquire(key, limit));
+        first.sync();
+        second.sync();
+        first.sync();
+
+        // Each instance's own bucket has room, but together they have used up the window.
+        long waitInMs = secondLimiter.tryAcquire(key, limit);
+        assertTrue(waitInMs > 0);
+        assertTrue(firstLimiter.tryAcquire(key, limit) > 0);
+        Long hits = jdbcTemplate.queryForObject(
+                "SELECT SUM(hits) FROM rate_limit_counters WHERE bucket_key = ?", Long.class, key);
+        assertNotNull(hits);
+        assertEquals(4, hits.longValue());
+    }
+
+    private AuthRateLimitFilter filter(RateLimiter rateLimiter) {
+        return new AuthRateLimitFilter(rateLimiter, objectMapper, 100, 60_000, 2, 60_000, 2, 60_000);
+    }
+
+    private MockHttpServletResponse login(AuthRateLimitFilter filter, String remoteAddr, String body,
+            MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/auth/login", remoteAddr, body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String remoteAddr, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.touchgrass.infrastructure.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.security.MessageDigest;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TransferBuffersTest {
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final CountDownLatch resume = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newSingleThreadExecutor();
+
+    private final TransferBuffers buffers = new TransferBuffers(1, 1024, 256, 200, 2);
+
+    @AfterEach
+    void tearDown() {
+        resume.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void transfer_ShouldNotHoldABufferWhileWaitingOnTheSource() throws Exception {
+        Future<Long> slow = callers.submit(() -> buffers.transfer(Channels.newChannel(new StallingStream()),
+                Channels.newChannel(new ByteArrayOutputStream()), sha256(), 1024));
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, buffers.getAvailable());
+
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        long copied = buffers.transfer(Channels.newChannel(new ByteArrayInputStream(content)),
+                Channels.newChannel(target), sha256(), 1024);
+
+        assertEquals(content.length, copied);
+        assertArrayEquals(content, target.toByteArray());
+
+        resume.countDown();
+        assertEquals(2, slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1, buffers.getAvailable());
+        assertEquals(0, buffers.getRejectedCount());
+    }
+
+    private static MessageDigest sha256() throws Exception {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    /** Sends one byte, then stalls like a slow client until released. */
+    private class StallingStream extends InputStream {
+        private int sent;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (sent == 1) {
+                stalled.countDown();
+                try {
+                    resume.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            if (sent == 2) {
+                return -1;
+            }
+            b[off] = 1;
+            sent++;
+            return 1;
+        }
+    }
+}
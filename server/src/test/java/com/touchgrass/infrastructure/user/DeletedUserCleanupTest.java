@@ -0,0 +1,141 @@
+package com.touchgrass.infrastructure.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.touchgrass.domain.auth.model.RefreshToken;
+import com.touchgrass.domain.auth.repository.RefreshTokenRepository;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitCompletion;
+import com.touchgrass.domain.habit.model.HabitFrequency;
+import com.touchgrass.domain.habit.repository.HabitCompletionRepository;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.domain.social.model.Friendship;
+import com.touchgrass.domain.social.model.FriendshipStatus;
+import com.touchgrass.domain.social.repository.FriendshipRepository;
+import com.touchgrass.domain.upload.model.Upload;
+import com.touchgrass.domain.upload.repository.UploadRepository;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.model.UserEvents;
+import com.touchgrass.domain.user.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DeletedUserCleanupTest {
+
+    @Autowired
+    private DeletedUserCleanup cleanup;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitCompletionRepository completionRepository;
+
+    @Autowired
+    private FriendshipRepository friendshipRepository;
+
+    @Autowired
+    private UploadRepository uploadRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User deleted;
+    private User friend;
+
+    @BeforeEach
+    void setUp() {
+        deleted = user("deleted_");
+        friend = user("remaining_");
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanup.cleanUp(friend.getId());
+        userRepository.deleteById(friend.getId());
+    }
+
+    @Test
+    void cleanUp_ShouldRemoveEverythingTheUserLeftBehind() {
+        Long userId = deleted.getId();
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(userId)
+                .name("Walk outside")
+                .frequency(HabitFrequency.DAILY)
+                .timeZone("UTC")
+                .build());
+        Upload photo = uploadRepository.save(Upload.completed(UUID.randomUUID().toString(), userId, "image/jpeg",
+                "0".repeat(64), 100));
+        HabitCompletion completion = completionRepository.save(
+                new HabitCompletion(userId, habit.getId(), Instant.now(), null, photo.getId()));
+        friendshipRepository.save(new Friendship(userId, friend.getId(), FriendshipStatus.ACCEPTED));
+        friendshipRepository.save(new Friendship(friend.getId(), userId, FriendshipStatus.ACCEPTED));
+        jdbcTemplate.update("INSERT INTO social_stats (user_id, friend_count, has_pulled_posts) VALUES (?, 1, FALSE)",
+                userId);
+        jdbcTemplate.update("INSERT INTO social_stats (user_id, friend_count, has_pulled_posts) VALUES (?, 1, FALSE)",
+                friend.getId());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO timeline_entries (owner_id, completion_id, author_id, created_at) "
+                + "VALUES (?, ?, ?, ?)", friend.getId(), completion.getId(), userId, now);
+        refreshTokenRepository.save(new RefreshToken(UUID.randomUUID().toString(), userId,
+                UUID.randomUUID().toString(), 0, LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+        userRepository.deleteById(userId);
+
+        assertTrue(cleanup.handles(UserEvents.DELETED));
+        assertTrue(cleanup.cleanUp(userId) > 0);
+
+        assertEquals(0, count("habits", "user_id", userId));
+        assertEquals(0, count("habit_completions", "user_id", userId));
+        assertEquals(0, count("friendships", "user_id", userId));
+        assertEquals(0, count("friendships", "friend_id", userId));
+        assertEquals(0, count("timeline_entries", "author_id", userId));
+        assertEquals(0, count("uploads", "user_id", userId));
+        assertEquals(0, count("refresh_tokens", "user_id", userId));
+        assertEquals(0, count("social_stats", "user_id", userId));
+        assertEquals(0, friendCount(friend.getId()));
+
+        // Delivered again: nothing left to delete, and the friend isn't counted down twice.
+        assertEquals(0, cleanup.cleanUp(userId));
+        assertEquals(0, friendCount(friend.getId()));
+    }
+
+    private User user(String prefix) {
+        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(prefix + uniqueId)
+                .email(prefix + uniqueId + "@example.com")
+                .password("password")
+                .isAdmin(false)
+                .build());
+    }
+
+    private int count(String table, String column, Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?",
+                Integer.class, userId);
+    }
+
+    private long friendCount(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT friend_count FROM social_stats WHERE user_id = ?", Long.class,
+                userId);
+    }
+}
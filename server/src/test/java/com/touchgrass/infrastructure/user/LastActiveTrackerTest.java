@@ -0,0 +1,102 @@
+package com.touchgrass.infrastructure.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LastActiveTrackerTest {
+
+    @Autowired
+    private LastActiveTracker lastActiveTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username("tracked_" + uniqueId)
+                .email("tracked_" + uniqueId + "@example.com")
+                .password("password")
+                .isAdmin(false)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void flush_ShouldWriteLatestTouchWithoutChangingUpdatedAt() {
+        LocalDateTime updatedAt = userRepository.findById(user.getId()).orElseThrow().getUpdatedAt();
+        LocalDateTime earlier = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMinutes(5);
+        LocalDateTime later = earlier.plusMinutes(1);
+
+        lastActiveTracker.touch(user.getId(), later);
+        lastActiveTracker.touch(user.getId(), earlier);
+        assertNull(userRepository.findById(user.getId()).orElseThrow().getLastActive());
+
+        lastActiveTracker.flush();
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(later, reloaded.getLastActive());
+        assertEquals(updatedAt, reloaded.getUpdatedAt());
+    }
+
+    @Test
+    void flush_ShouldNotMoveLastActiveBackwards() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        lastActiveTracker.touch(user.getId(), now);
+        lastActiveTracker.flush();
+        lastActiveTracker.touch(user.getId(), now.minusHours(1));
+        lastActiveTracker.flush();
+
+        assertEquals(now, userRepository.findById(user.getId()).orElseThrow().getLastActive());
+    }
+
+    @Test
+    void touch_ShouldDropNewUsersRatherThanFlushWhenFull() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        lastActiveTracker.flush();
+        Object maxPending = ReflectionTestUtils.getField(lastActiveTracker, "maxPending");
+        ReflectionTestUtils.setField(lastActiveTracker, "maxPending", 1);
+        try {
+            lastActiveTracker.touch(user.getId(), now.minusMinutes(1));
+            long droppedBefore = lastActiveTracker.getDroppedCount();
+
+            lastActiveTracker.touch(user.getId() + 1_000_000, now);
+            lastActiveTracker.touch(user.getId(), now);
+
+            assertEquals(droppedBefore + 1, lastActiveTracker.getDroppedCount());
+            assertEquals(1, lastActiveTracker.pendingCount());
+            // Nothing was written on the touching thread.
+            assertNull(userRepository.findById(user.getId()).orElseThrow().getLastActive());
+
+            lastActiveTracker.flush();
+            assertEquals(now, userRepository.findById(user.getId()).orElseThrow().getLastActive());
+        } finally {
+            ReflectionTestUtils.setField(lastActiveTracker, "maxPending", maxPending);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.touchgrass.interfaces.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.touchgrass.application.user.dto.UserTransferFormat;
+import com.touchgrass.application.user.service.UserDirectoryService;
+import com.touchgrass.application.user.service.UserTransferService;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AdminUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDirectoryService directoryService;
+
+    @Autowired
+    private UserTransferService transferService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String tag;
+    private String passwordHash;
+    private List<User> tagged;
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        tag = "dir" + UUID.randomUUID().toString().substring(0, 8);
+        passwordHash = passwordEncoder.encode("password");
+        tagged = List.of(
+                userRepository.save(user(tag + "_a", false)),
+                userRepository.save(user(tag + "_b", false)),
+                userRepository.save(user(tag + "_c", false)));
+        adminToken = jwtTokenProvider.generateToken(userRepository.save(user("admin_" + tag, true)));
+        userToken = jwtTokenProvider.generateToken(tagged.get(0));
+    }
+
+    private User user(String username, boolean admin) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password(passwordHash)
+                .isAdmin(admin)
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users - Should page through users matching a prefix, oldest first")
+    void listUsers_ShouldPageByKeyset() throws Exception {
+        String body = mockMvc.perform(get("/api/admin/users?q=" + tag + "&limit=2")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(tagged.get(0).getId()))
+                .andExpect(jsonPath("$.data.items[1].username").value(tagged.get(1).getUsername()))
+                .andExpect(jsonPath("$.data.items[0].password").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).path("data").path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/admin/users?q=" + tag + "&limit=2&after=" + cursor)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(tagged.get(2).getId()))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+
+        // Matches email prefixes too, and treats LIKE wildcards literally.
+        mockMvc.perform(get("/api/admin/users?q=" + tag + "_b@")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(jsonPath("$.data.items.length()").value(1));
+        mockMvc.perform(get("/api/admin/users?q=" + tag.substring(0, 3) + "%")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(jsonPath("$.data.items.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users - Should reject non-admins and malformed cursors")
+    void listUsers_ShouldRejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/admin/users")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/admin/users?after=not-a-cursor")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users/export - Should stream every matching user as NDJSON")
+    void exportUsers_ShouldStreamNdjson() throws Exception {
+        mockMvc.perform(get("/api/admin/users/export")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/users/export?q=" + tag)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        // The response body is written on another thread, outside this test's transaction.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(directoryService.export(tag, out)).isEqualTo(3);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode row = objectMapper.readTree(lines[i]);
+            assertThat(row.path("id").asLong()).isEqualTo(tagged.get(i).getId());
+            assertThat(row.has("password")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/users/bulk - Should import valid NDJSON rows and report the rest by line")
+    void importUsers_ShouldReportRowErrorsWithoutAborting() throws Exception {
+        String hash = passwordEncoder.encode("restored-password");
+        String body = String.join("\n",
+                "{\"username\":\"" + tag + "_d\",\"email\":\"" + tag + "_d@example.com\",\"password\":\"secret1\"}",
+                "{\"username\":\"" + tag + "_e\",\"email\":\"" + tag + "_e@example.com\",\"passwordHash\":\"" + hash
+                        + "\",\"isAdmin\":true}",
+                "{\"username\":\"" + tag + "_f\",\"email\":\"not-an-email\",\"password\":\"secret1\"}",
+                "",
+                "{\"username\":\"" + tag + "_a\",\"email\":\"" + tag + "_x@example.com\",\"password\":\"secret1\"}",
+                "{\"username\":\"" + tag + "_g\",\"email\":\"" + tag + "_d@example.com\",\"password\":\"secret1\"}",
+                "{not json");
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .header("Authorization", "Bearer " + userToken)
+                .content(body))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/admin/users/bulk?format=ndjson")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.failed").value(4))
+                .andExpect(jsonPath("$.data.errors[0].line").value(3))
+                .andExpect(jsonPath("$.data.errors[0].field").value("email"))
+                .andExpect(jsonPath("$.data.errors[1].line").value(5))
+                .andExpect(jsonPath("$.data.errors[1].field").value("username"))
+                .andExpect(jsonPath("$.data.errors[2].line").value(6))
+                .andExpect(jsonPath("$.data.errors[2].field").value("email"))
+                .andExpect(jsonPath("$.data.errors[3].line").value(7));
+
+        User hashed = userRepository.findByUsername(tag + "_d").orElseThrow();
+        assertThat(passwordEncoder.matches("secret1", hashed.getPassword())).isTrue();
+        User restored = userRepository.findByUsername(tag + "_e").orElseThrow();
+        assertThat(restored.getPassword()).isEqualTo(hash);
+        assertThat(restored.isAdmin()).isTrue();
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/users/bulk - Should import CSV by header name, including quoted fields")
+    void importUsers_ShouldReadCsv() throws Exception {
+        String body = "email,username,password,firstName,dateOfBirth\r\n"
+                + tag + "_h@example.com," + tag + "_h,secret1,\"Smith, \"\"Jo\"\"\",1990-02-03\r\n"
+                + tag + "_i@example.com," + tag + "_i,secret1,,03/02/1990\r\n";
+
+        mockMvc.perform(post("/api/admin/users/bulk?format=csv")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.errors[0].line").value(3))
+                .andExpect(jsonPath("$.data.errors[0].field").value("dateOfBirth"));
+
+        User imported = userRepository.findByUsername(tag + "_h").orElseThrow();
+        assertThat(imported.getFirstName()).isEqualTo("Smith, \"Jo\"");
+
+        mockMvc.perform(post("/api/admin/users/bulk?format=xml")
+                .header("Authorization", "Bearer " + adminToken)
+                .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users/bulk - Should export users in a form that can be imported again")
+    void exportAllUsers_ShouldRoundTrip() throws Exception {
+        mockMvc.perform(get("/api/admin/users/bulk?format=csv")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentType("text/csv"));
+
+        // The response body is written on another thread, outside this test's transaction.
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        transferService.export(UserTransferFormat.CSV, csv);
+        assertThat(csv.toString(StandardCharsets.UTF_8))
+                .startsWith("id,username,email,passwordHash,")
+                .contains(tagged.get(1).getUsername() + "," + tagged.get(1).getEmail() + "," + passwordHash + ",");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        transferService.export(UserTransferFormat.NDJSON, ndjson);
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines()
+                .filter(line -> line.contains(tag + "_"))
+                .toList();
+        assertThat(lines).hasSize(3);
+
+        userRepository.deleteAll(tagged);
+        userRepository.flush();
+        String backup = String.join("\n", lines);
+        mockMvc.perform(post("/api/admin/users/bulk")
+                .header("Authorization", "Bearer " + adminToken)
+                .content(backup))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(3));
+        User restored = userRepository.findByUsername(tagged.get(0).getUsername()).orElseThrow();
+        assertThat(restored.getCreatedAt()).isCloseTo(tagged.get(0).getCreatedAt(), within(1, ChronoUnit.MILLIS));
+    }
+}
@@ -0,0 +1,275 @@
+package com.touchgrass.interfaces.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User existingUser;
+    private String uniqueId;
+
+    @BeforeEach
+    void setUp() {
+        uniqueId = UUID.randomUUID().toString().substring(0, 8);
+
+        existingUser = User.builder()
+                .username("existing_" + uniqueId)
+                .email("existing_" + uniqueId + "@example.com")
+                .password(passwordEncoder.encode("password"))
+                .firstName("Existing")
+                .lastName("User")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .isAdmin(false)
+                .build();
+        existingUser = userRepository.save(existingUser);
+    }
+
+    private String registerJson(String username, String email) {
+        return "{\"username\": \"" + username + "\", \"email\": \"" + email
+                + "\", \"password\": \"password\", \"firstName\": \"New\", \"lastName\": \"User\"}";
+    }
+
+    @Nested
+    @DisplayName("Register Endpoint")
+    class RegisterEndpoint {
+        @Test
+        @DisplayName("POST /api/auth/register - Should create user and issue a token for it")
+        void register_ShouldCreateUserAndIssueToken() throws Exception {
+            String username = "new_" + uniqueId;
+
+            String response = mockMvc.perform(post("/api/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(registerJson(username, "new_" + uniqueId + "@example.com")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.username").value(username))
+                    .andReturn().getResponse().getContentAsString();
+
+            User created = userRepository.findByUsername(username).orElseThrow();
+            String token = JsonPath.read(response, "$.data.token");
+            assertEquals(created.getId(), jwtTokenProvider.validate(token).toAuthenticatedUser().id());
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/register - Should reject a taken username")
+        void register_ShouldRejectDuplicateUsername() throws Exception {
+            mockMvc.perform(post("/api/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(registerJson(existingUser.getUsername(), "other_" + uniqueId + "@example.com")))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message")
+                            .value("This username is already taken. Please choose a different one."));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/register - Should reject a registered email")
+        void register_ShouldRejectDuplicateEmail() throws Exception {
+            mockMvc.perform(post("/api/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(registerJson("other_" + uniqueId, existingUser.getEmail())))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(
+                            "This email is already registered. Please use a different email or try logging in."));
+        }
+    }
+
+    @Nested
+    @DisplayName("Login Endpoint")
+    class LoginEndpoint {
+        @Test
+        @DisplayName("POST /api/auth/login - Should accept username or email")
+        void login_ShouldAcceptUsernameOrEmail() throws Exception {
+            for (String identifier : new String[] { existingUser.getUsername(), existingUser.getEmail() }) {
+                mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + identifier + "\", \"password\": \"password\"}"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.username").value(existingUser.getUsername()));
+            }
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/login - Should reject unknown users")
+        void login_ShouldRejectUnknownUser() throws Exception {
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\": \"missing_" + uniqueId + "\", \"password\": \"password\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid username or password"));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/login - Should accept a user registered after a failed lookup")
+        void login_ShouldSucceedAfterRegisteringMissingUser() throws Exception {
+            String username = "late_" + uniqueId;
+            String login = "{\"username\": \"" + username + "\", \"password\": \"password\"}";
+
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(login))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(post("/api/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(registerJson(username, username + "@example.com")))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(login))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Endpoint")
+    class RefreshEndpoint {
+        @Test
+        @DisplayName("POST /api/auth/refresh - Should rotate the refresh token and issue a new access token")
+        void refresh_ShouldRotateTheRefreshToken() throws Exception {
+            String refreshToken = JsonPath.read(login(), "$.data.refreshToken");
+
+            String response = refresh(refreshToken)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.username").value(existingUser.getUsername()))
+                    .andReturn().getResponse().getContentAsString();
+
+            String accessToken = JsonPath.read(response, "$.data.token");
+            String nextRefreshToken = JsonPath.read(response, "$.data.refreshToken");
+            assertNotEquals(refreshToken, nextRefreshToken);
+            assertEquals(existingUser.getId(), jwtTokenProvider.validate(accessToken).toAuthenticatedUser().id());
+
+            refresh(nextRefreshToken).andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/refresh - Should hand out the same successor to a retry within the grace period")
+        void refresh_ShouldRepeatTheRotationForARetry() throws Exception {
+            String refreshToken = JsonPath.read(login(), "$.data.refreshToken");
+            String first = JsonPath.read(refresh(refreshToken).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.data.refreshToken");
+
+            refresh(refreshToken)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.refreshToken").value(first));
+            refresh(first).andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/refresh - Should treat a rotated token as reused once the grace period is over")
+        void refresh_ShouldRevokeOnReuseAfterTheGracePeriod() throws Exception {
+            String refreshToken = JsonPath.read(login(), "$.data.refreshToken");
+            String rotated = refresh(refreshToken).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            jdbcTemplate.update("UPDATE refresh_tokens SET rotated_at = ? WHERE user_id = ? AND rotated_at IS NOT NULL",
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)), existingUser.getId());
+
+            refresh(refreshToken).andExpect(status().isUnauthorized());
+            refresh(JsonPath.read(rotated, "$.data.refreshToken")).andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/refresh - Should revoke the family and the user's tokens when a token is reused")
+        void refresh_ShouldRevokeEverythingOnReuse() throws Exception {
+            String refreshToken = JsonPath.read(login(), "$.data.refreshToken");
+            String successor = JsonPath.read(refresh(refreshToken).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.data.refreshToken");
+            String rotated = refresh(successor).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            int credentialVersion = userRepository.findCredentialVersionById(existingUser.getId()).orElseThrow();
+
+            // Within the grace period, but its successor has been used since.
+            refresh(refreshToken)
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.error").value("INVALID_REFRESH_TOKEN"));
+
+            refresh(JsonPath.read(rotated, "$.data.refreshToken")).andExpect(status().isUnauthorized());
+            assertEquals(credentialVersion + 1,
+                    userRepository.findCredentialVersionById(existingUser.getId()).orElseThrow());
+            mockMvc.perform(get("/api/users/me")
+                    .header("Authorization", "Bearer " + JsonPath.read(rotated, "$.data.token")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/logout - Should revoke the refresh token")
+        void logout_ShouldRevokeTheRefreshToken() throws Exception {
+            String refreshToken = JsonPath.read(login(), "$.data.refreshToken");
+
+            mockMvc.perform(post("/api/auth/logout")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"refreshToken\": \"" + refreshToken + "\"}"))
+                    .andExpect(status().isNoContent());
+
+            refresh(refreshToken).andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/refresh - Should reject an unknown token")
+        void refresh_ShouldRejectUnknownToken() throws Exception {
+            refresh("not-a-refresh-token").andExpect(status().isUnauthorized());
+        }
+
+        private String login() throws Exception {
+            return mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\": \"" + existingUser.getUsername() + "\", \"password\": \"password\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        }
+
+        private ResultActions refresh(String refreshToken) throws Exception {
+            return mockMvc.perform(post("/api/auth/refresh")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"refreshToken\": \"" + refreshToken + "\"}"));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.touchgrass.interfaces.rest;
+
+import static com.touchgrass.interfaces.rest.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+import com.touchgrass.application.social.service.FriendshipService;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitFrequency;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.domain.social.repository.FriendshipRepository;
+import com.touchgrass.domain.upload.model.Upload;
+import com.touchgrass.domain.upload.repository.UploadRepository;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.social.HighFanoutAuthors;
+import com.touchgrass.infrastructure.social.TimelineFanout;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private UploadRepository uploadRepository;
+
+    @Autowired
+    private FriendshipService friendshipService;
+
+    @Autowired
+    private FriendshipRepository friendshipRepository;
+
+    @Autowired
+    private TimelineFanout timelineFanout;
+
+    @Autowired
+    private HighFanoutAuthors highFanoutAuthors;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private User author;
+    private User reader;
+    private String authorToken;
+    private String readerToken;
+    private Habit habit;
+    private String uploadId;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(user("author"));
+        reader = userRepository.save(user("reader"));
+        authorToken = jwtTokenProvider.generateToken(author);
+        readerToken = jwtTokenProvider.generateToken(reader);
+        befriend(author, reader);
+
+        habit = habitRepository.saveAndFlush(Habit.builder()
+                .userId(author.getId())
+                .name("Walk outside")
+                .frequency(HabitFrequency.DAILY)
+                .build());
+        uploadId = uploadRepository.save(Upload.completed(UUID.randomUUID().toString(), author.getId(),
+                "image/png", "ab".repeat(32), 1000)).getId();
+    }
+
+    @AfterTransaction
+    void resetHighFanoutAuthors() {
+        highFanoutAuthors.refresh();
+    }
+
+    private void befriend(User first, User second) {
+        friendshipService.addFriend(first.getId(), second.getId());
+        friendshipService.addFriend(second.getId(), first.getId());
+    }
+
+    /** Posts a photo completion and delivers it on this thread, returning the number of timelines reached. */
+    private long[] postPhoto() throws Exception {
+        String body = mockMvc.perform(post("/api/habits/" + habit.getId() + "/completions")
+                .header("Authorization", "Bearer " + authorToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"uploadId\":\"" + uploadId + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long completionId = ((Number) JsonPath.read(body, "$.data.completion.id")).longValue();
+        return new long[] {completionId, timelineFanout.fanOut(author.getId(), completionId)};
+    }
+
+    @Test
+    @DisplayName("GET /api/feed - Should page through friends' photo posts newest first")
+    void timeline_ShouldPageNewestFirst() throws Exception {
+        long first = postPhoto()[0];
+        long second = postPhoto()[0];
+        long[] third = postPhoto();
+        assertEquals(2, third[1], "the author's and the reader's timelines");
+
+        String page = mockMvc.perform(get("/api/feed?limit=2")
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(third[0]))
+                .andExpect(jsonPath("$.data.items[0].author.username").value(author.getUsername()))
+                .andExpect(jsonPath("$.data.items[0].habitName").value("Walk outside"))
+                .andExpect(jsonPath("$.data.items[0].photoVariants.feed")
+                        .value("/api/uploads/" + uploadId + "/variants/feed"))
+                .andExpect(jsonPath("$.data.items[1].id").value(second))
+                .andExpect(jsonPath("$.data.nextCursor").value(second))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/feed?limit=2&before=" + JsonPath.read(page, "$.data.nextCursor"))
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(first))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/feed - Should pull posts from authors with too many friends to push to")
+    void timeline_ShouldPullHighFanoutAuthors() throws Exception {
+        befriend(author, userRepository.save(user("fan")));
+        befriend(author, userRepository.save(user("fan")));
+        highFanoutAuthors.refresh();
+
+        long[] posted = postPhoto();
+        assertEquals(1, posted[1], "only the author's own timeline");
+
+        mockMvc.perform(get("/api/feed")
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(posted[0]));
+    }
+
+    @Test
+    @DisplayName("GET /api/feed - Should keep pulling posts made while the author had too many friends")
+    void timeline_ShouldFollowEachPostsOwnDelivery() throws Exception {
+        User fan = userRepository.save(user("fan"));
+        befriend(author, fan);
+        befriend(author, userRepository.save(user("fan")));
+        highFanoutAuthors.refresh();
+        long pulled = postPhoto()[0];
+
+        friendshipService.removeFriend(author.getId(), fan.getId());
+        highFanoutAuthors.refresh();
+        long[] pushed = postPhoto();
+        assertEquals(3, pushed[1], "the author's and both remaining friends' timelines");
+
+        mockMvc.perform(get("/api/feed")
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(pushed[0]))
+                .andExpect(jsonPath("$.data.items[1].id").value(pulled));
+    }
+
+    @Test
+    @DisplayName("GET /api/feed - Should backfill an author's recent posts for a new friend")
+    void timeline_ShouldBackfillNewFriends() throws Exception {
+        long posted = postPhoto()[0];
+        User newFriend = userRepository.save(user("newcomer"));
+        befriend(author, newFriend);
+
+        assertEquals(1, timelineFanout.backfill(newFriend.getId(), author.getId()));
+        assertEquals(0, timelineFanout.backfill(newFriend.getId(), author.getId()), "already delivered");
+
+        mockMvc.perform(get("/api/feed")
+                .header("Authorization", "Bearer " + jwtTokenProvider.generateToken(newFriend)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id").value(posted));
+    }
+
+    @Test
+    @DisplayName("GET /api/feed - Should drop a former friend's posts")
+    void timeline_ShouldDropFormerFriends() throws Exception {
+        postPhoto();
+
+        mockMvc.perform(delete("/api/friends/" + author.getId())
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/feed")
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/feed - Should neither deliver nor show posts once the friendship has ended")
+    void timeline_ShouldIgnoreDeliveriesRacingAnUnfriend() throws Exception {
+        long[] delivered = postPhoto();
+        assertEquals(2, delivered[1]);
+
+        // As if the unfriend committed between a delivery reading the friend list and writing to it.
+        friendshipRepository.findByUserIdAndFriendId(reader.getId(), author.getId())
+                .ifPresent(friendshipRepository::delete);
+        friendshipRepository.findByUserIdAndFriendId(author.getId(), reader.getId())
+                .ifPresent(friendshipRepository::delete);
+        friendshipRepository.flush();
+
+        assertEquals(1, postPhoto()[1], "only the author's own timeline");
+        assertEquals(0, timelineFanout.backfill(reader.getId(), author.getId()));
+        mockMvc.perform(get("/api/feed")
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(0));
+        mockMvc.perform(get("/api/feed")
+                .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2));
+    }
+}
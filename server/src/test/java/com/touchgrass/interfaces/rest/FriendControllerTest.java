@@ -0,0 +1,111 @@
+package com.touchgrass.interfaces.rest;
+
+import static com.touchgrass.interfaces.rest.TestUsers.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class FriendControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private User alice;
+    private User bob;
+    private String aliceToken;
+    private String bobToken;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(user("alice"));
+        bob = userRepository.save(user("bob"));
+        aliceToken = jwtTokenProvider.generateToken(alice);
+        bobToken = jwtTokenProvider.generateToken(bob);
+    }
+
+    @Test
+    @DisplayName("POST /api/friends/{id} - Should send a request that the other user accepts by adding back")
+    void addFriend_ShouldRequestThenAccept() throws Exception {
+        mockMvc.perform(post("/api/friends/" + bob.getId())
+                .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("REQUESTED"));
+
+        mockMvc.perform(get("/api/friends?status=RECEIVED")
+                .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].userId").value(alice.getId()));
+
+        mockMvc.perform(post("/api/friends/" + alice.getId())
+                .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("ACCEPTED"));
+
+        mockMvc.perform(get("/api/friends")
+                .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value(bob.getUsername()))
+                .andExpect(jsonPath("$.data[0].status").value("ACCEPTED"));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/friends/{id} - Should end the friendship for both users")
+    void removeFriend_ShouldRemoveBothSides() throws Exception {
+        mockMvc.perform(post("/api/friends/" + bob.getId()).header("Authorization", "Bearer " + aliceToken));
+        mockMvc.perform(post("/api/friends/" + alice.getId()).header("Authorization", "Bearer " + bobToken));
+
+        mockMvc.perform(delete("/api/friends/" + alice.getId())
+                .header("Authorization", "Bearer " + bobToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/friends")
+                .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(delete("/api/friends/" + bob.getId())
+                .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("FRIENDSHIP_NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("POST /api/friends/{id} - Should reject yourself and unknown users")
+    void addFriend_ShouldRejectInvalidTargets() throws Exception {
+        mockMvc.perform(post("/api/friends/" + alice.getId())
+                .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+
+        mockMvc.perform(post("/api/friends/" + Long.MAX_VALUE)
+                .header("Authorization", "Bearer " + aliceToken))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("USER_NOT_FOUND"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.touchgrass.interfaces.rest;
+
+import static com.touchgrass.interfaces.rest.TestUsers.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+import com.touchgrass.domain.habit.model.Habit;
+import com.touchgrass.domain.habit.model.HabitFrequency;
+import com.touchgrass.domain.habit.repository.HabitRepository;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class HabitControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private User owner;
+    private String ownerToken;
+    private String otherToken;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        ownerToken = jwtTokenProvider.generateToken(owner);
+        otherToken = jwtTokenProvider.generateToken(userRepository.save(user("other")));
+    }
+
+    private Habit saveHabit() {
+        return habitRepository.saveAndFlush(Habit.builder()
+                .userId(owner.getId())
+                .name("Walk outside")
+                .frequency(HabitFrequency.DAILY)
+                .build());
+    }
+
+    @Nested
+    @DisplayName("Habit Endpoints (/api/habits)")
+    class HabitEndpoints {
+        @Test
+        @DisplayName("POST /api/habits - Should create a habit with an empty streak")
+        void createHabit_ShouldCreateHabit() throws Exception {
+            mockMvc.perform(post("/api/habits")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Walk outside\",\"frequency\":\"WEEKLY\",\"timeZone\":\"Europe/London\"}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.frequency").value("WEEKLY"))
+                    .andExpect(jsonPath("$.data.timeZone").value("Europe/London"))
+                    .andExpect(jsonPath("$.data.currentStreak").value(0))
+                    .andExpect(jsonPath("$.data.due").value(true));
+        }
+
+        @Test
+        @DisplayName("POST /api/habits - Should reject an unknown time zone")
+        void createHabit_ShouldRejectUnknownTimeZone() throws Exception {
+            mockMvc.perform(post("/api/habits")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Walk outside\",\"frequency\":\"DAILY\",\"timeZone\":\"Mars/Olympus\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+
+        @Test
+        @DisplayName("GET /api/habits/{id} - Should not expose another user's habit")
+        void getHabit_ShouldReturnNotFoundForOtherUser() throws Exception {
+            Habit habit = saveHabit();
+
+            mockMvc.perform(get("/api/habits/" + habit.getId())
+                    .header("Authorization", "Bearer " + otherToken))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error").value("HABIT_NOT_FOUND"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Completion Endpoints (/api/habits/{id}/completions)")
+    class CompletionEndpoints {
+        @Test
+        @DisplayName("POST /api/habits/{id}/completions - Should advance the streak once per day")
+        void completeHabit_ShouldAdvanceStreak() throws Exception {
+            Habit habit = saveHabit();
+            String yesterday = Instant.now().minus(1, ChronoUnit.DAYS).toString();
+
+            mockMvc.perform(post("/api/habits/" + habit.getId() + "/completions")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"completedAt\":\"" + yesterday + "\",\"note\":\"Park loop\"}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.streakAdvanced").value(true))
+                    .andExpect(jsonPath("$.data.habit.currentStreak").value(1));
+
+            mockMvc.perform(post("/api/habits/" + habit.getId() + "/completions")
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.habit.currentStreak").value(2))
+                    .andExpect(jsonPath("$.data.habit.longestStreak").value(2))
+                    .andExpect(jsonPath("$.data.habit.due").value(false));
+
+            mockMvc.perform(get("/api/habits/" + habit.getId() + "/completions")
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(2))
+                    .andExpect(jsonPath("$.data[1].note").value("Park loop"));
+        }
+
+        @Test
+        @DisplayName("POST /api/habits/{id}/completions - Should attach an uploaded photo")
+        void completeHabit_ShouldAttachPhoto() throws Exception {
+            Habit habit = saveHabit();
+            String upload = mockMvc.perform(post("/api/uploads")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .content(new byte[] {1, 2, 3}))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            String uploadId = JsonPath.read(upload, "$.data.id");
+
+            mockMvc.perform(post("/api/habits/" + habit.getId() + "/completions")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"uploadId\":\"" + uploadId + "\"}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.completion.photoUrl").value("/api/uploads/" + uploadId + "/content"));
+
+            mockMvc.perform(post("/api/habits/" + habit.getId() + "/completions")
+                    .header("Authorization", "Bearer " + otherToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"uploadId\":\"" + uploadId + "\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST /api/habits/{id}/completions - Should reject completions in the future")
+        void completeHabit_ShouldRejectFutureCompletion() throws Exception {
+            Habit habit = saveHabit();
+            String tomorrow = Instant.now().plus(1, ChronoUnit.DAYS).toString();
+
+            mockMvc.perform(post("/api/habits/" + habit.getId() + "/completions")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"completedAt\":\"" + tomorrow + "\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.touchgrass.interfaces.rest;
+
+import java.util.UUID;
+
+import com.touchgrass.domain.user.model.User;
+
+/** Unsaved users with unique usernames and emails, for tests that share one database. */
+final class TestUsers {
+    private TestUsers() {
+    }
+
+    static User user(String prefix) {
+        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
+        return User.builder()
+                .username(prefix + "_" + uniqueId)
+                .email(prefix + "_" + uniqueId + "@example.com")
+                .password("password")
+                .build();
+    }
+}
@@ -0,0 +1,305 @@
+package com.touchgrass.interfaces.rest;
+
+import static com.touchgrass.interfaces.rest.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.UUID;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+import com.touchgrass.application.upload.service.ImageVariantService;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class UploadControllerTest {
+    // Matches uploads.chunk-size in application-test.yml
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    private String ownerToken;
+    private String otherToken;
+
+    @BeforeEach
+    void setUp() {
+        ownerToken = jwtTokenProvider.generateToken(userRepository.save(user("owner")));
+        otherToken = jwtTokenProvider.generateToken(userRepository.save(user("other")));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        // Variants are stored by content hash and the test store outlives a run, so make each image unique.
+        image.setRGB(0, 0, new Random().nextInt());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    @Nested
+    @DisplayName("Single-request uploads (POST /api/uploads)")
+    class SingleRequest {
+        @Test
+        @DisplayName("Should store a raw body and serve it back to its owner")
+        void upload_ShouldStoreRawBody() throws Exception {
+            byte[] photo = randomBytes(100_000);
+
+            String body = mockMvc.perform(post("/api/uploads")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.IMAGE_PNG)
+                    .content(photo))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.sha256").value(sha256(photo)))
+                    .andExpect(jsonPath("$.data.size").value(photo.length))
+                    .andReturn().getResponse().getContentAsString();
+            String url = JsonPath.read(body, "$.data.url");
+
+            byte[] served = mockMvc.perform(get(url)
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertArrayEquals(photo, served);
+
+            mockMvc.perform(get(url)
+                    .header("Authorization", "Bearer " + otherToken))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should accept a multipart file and dedupe identical content")
+        void upload_ShouldDedupeMultipart() throws Exception {
+            byte[] photo = randomBytes(20_000);
+            MockMultipartFile file = new MockMultipartFile("file", "walk.jpg", "image/jpeg", photo);
+
+            mockMvc.perform(multipart("/api/uploads").file(file)
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.sha256").value(sha256(photo)));
+
+            mockMvc.perform(multipart("/api/uploads").file(file)
+                    .header("Authorization", "Bearer " + otherToken))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.sha256").value(sha256(photo)));
+        }
+
+        @Test
+        @DisplayName("Should reject content that is not an image")
+        void upload_ShouldRejectNonImage() throws Exception {
+            mockMvc.perform(post("/api/uploads")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .content("not a photo"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+
+        @Test
+        @DisplayName("Should reject image formats no variants can be made of")
+        void upload_ShouldRejectUnrenderableImage() throws Exception {
+            mockMvc.perform(post("/api/uploads")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType("image/heic")
+                    .content(randomBytes(1000)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Chunked uploads (/api/uploads/sessions)")
+    class Chunked {
+        @Test
+        @DisplayName("Should resume, verify checksums and assemble chunks in order")
+        void session_ShouldAssembleChunks() throws Exception {
+            byte[] photo = randomBytes(CHUNK_SIZE * 2 + 1000);
+            byte[][] chunks = {
+                    Arrays.copyOfRange(photo, 0, CHUNK_SIZE),
+                    Arrays.copyOfRange(photo, CHUNK_SIZE, CHUNK_SIZE * 2),
+                    Arrays.copyOfRange(photo, CHUNK_SIZE * 2, photo.length)
+            };
+
+            String created = mockMvc.perform(post("/api/uploads/sessions")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"contentType\":\"image/jpeg\",\"totalSize\":" + photo.length + "}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.chunkCount").value(3))
+                    .andReturn().getResponse().getContentAsString();
+            String session = "/api/uploads/sessions/" + JsonPath.read(created, "$.data.id");
+
+            putChunk(session, 1, chunks[1], sha256(chunks[1]))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.receivedChunks[0]").value(1));
+
+            putChunk(session, 0, chunks[0], sha256(chunks[1]))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("CHECKSUM_MISMATCH"));
+
+            mockMvc.perform(post(session + "/complete")
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.error").value("UPLOAD_INCOMPLETE"));
+
+            putChunk(session, 2, chunks[2], sha256(chunks[2])).andExpect(status().isOk());
+            putChunk(session, 0, chunks[0], sha256(chunks[0]))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.receivedChunks.length()").value(3));
+
+            String completed = mockMvc.perform(post(session + "/complete")
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.sha256").value(sha256(photo)))
+                    .andReturn().getResponse().getContentAsString();
+
+            byte[] served = mockMvc.perform(get((String) JsonPath.read(completed, "$.data.url"))
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertArrayEquals(photo, served);
+        }
+
+        @Test
+        @DisplayName("Should reject a chunk of the wrong length")
+        void session_ShouldRejectShortChunk() throws Exception {
+            String created = mockMvc.perform(post("/api/uploads/sessions")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"contentType\":\"image/png\",\"totalSize\":" + (CHUNK_SIZE * 2) + "}"))
+                    .andReturn().getResponse().getContentAsString();
+            String session = "/api/uploads/sessions/" + JsonPath.read(created, "$.data.id");
+            byte[] shortChunk = randomBytes(CHUNK_SIZE - 1);
+
+            putChunk(session, 0, shortChunk, sha256(shortChunk))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+
+        private ResultActions putChunk(String session, int index, byte[] chunk,
+                String checksum) throws Exception {
+            return mockMvc.perform(put(session + "/chunks/" + index)
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .header(UploadController.CHUNK_CHECKSUM_HEADER, checksum)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .content(chunk));
+        }
+    }
+
+    @Nested
+    @DisplayName("Image variants (GET /api/uploads/{id}/variants/{variant})")
+    class Variants {
+        @Test
+        @DisplayName("Should serve resized JPEGs to any user once generated")
+        void variants_ShouldBeServedOnceGenerated() throws Exception {
+            byte[] photo = png(2000, 1000);
+            String body = mockMvc.perform(post("/api/uploads")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.IMAGE_PNG)
+                    .content(photo))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            String thumbnailUrl = JsonPath.read(body, "$.data.variants.thumbnail");
+
+            mockMvc.perform(get(thumbnailUrl)
+                    .header("Authorization", "Bearer " + otherToken))
+                    .andExpect(status().isNotFound())
+                    .andExpect(header().exists("Retry-After"));
+
+            assertTrue(imageVariantService.process(sha256(photo)));
+
+            byte[] thumbnail = mockMvc.perform(get(thumbnailUrl)
+                    .header("Authorization", "Bearer " + otherToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "image/jpeg"))
+                    .andReturn().getResponse().getContentAsByteArray();
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+            assertEquals(160, image.getWidth());
+            assertEquals(80, image.getHeight());
+
+            mockMvc.perform(get(JsonPath.<String>read(body, "$.data.variants.full"))
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Should answer 404 without Retry-After when content can't be decoded")
+        void variants_ShouldNotBeRetriedForUndecodableContent() throws Exception {
+            byte[] photo = randomBytes(5_000);
+            String body = mockMvc.perform(post("/api/uploads")
+                    .header("Authorization", "Bearer " + ownerToken)
+                    .contentType(MediaType.IMAGE_PNG)
+                    .content(photo))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertTrue(imageVariantService.process(sha256(photo)));
+
+            mockMvc.perform(get(JsonPath.<String>read(body, "$.data.variants.feed"))
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isNotFound())
+                    .andExpect(header().doesNotExist("Retry-After"));
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for an unknown variant name")
+        void variants_ShouldRejectUnknownVariant() throws Exception {
+            mockMvc.perform(get("/api/uploads/" + UUID.randomUUID() + "/variants/poster")
+                    .header("Authorization", "Bearer " + ownerToken))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,7 +31,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.touchgrass.domain.user.model.User;
 import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.CredentialVersionCache;
 import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.metrics.DbStatementMetricsFilter;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -50,6 +53,9 @@ class UserControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CredentialVersionCache credentialVersionCache;
+
     private User testUser;
     private User adminUser;
     private String userToken;
@@ -106,6 +112,34 @@ class UserControllerTest {
                     .andExpect(jsonPath("$.data.id").value(testUser.getId()));
         }
 
+        @Test
+        @DisplayName("GET /api/users/me - Should report the statements it executed")
+        void getUserDetails_ShouldReportDbStatements() throws Exception {
+            String coldStatements = mockMvc.perform(get("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(DbStatementMetricsFilter.HEADER);
+            assertTrue(Long.parseLong(coldStatements) > 0);
+
+            // Second request is served from the credential-version and user caches.
+            mockMvc.perform(get("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(DbStatementMetricsFilter.HEADER, "0"));
+        }
+
+        @Test
+        @DisplayName("GET /api/users/me - Should return 401 when credentials have been revoked")
+        void getUserDetails_ShouldReturnUnauthorizedAfterRevocation() throws Exception {
+            testUser.revokeCredentials();
+            userRepository.saveAndFlush(testUser);
+            credentialVersionCache.invalidate(testUser.getId());
+
+            mockMvc.perform(get("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isUnauthorized());
+        }
+
         @Test
         @DisplayName("GET /api/users/me - Should return 401 when not authenticated")
         void getUserDetails_ShouldReturnUnauthorized() throws Exception {
@@ -168,6 +202,58 @@ class UserControllerTest {
             assertEquals("UpdatedLastName", userInNewTransaction.getLastName());
         }
 
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        @DisplayName("PATCH /api/users/me - Should bump the version only when something changed")
+        void updateUser_ShouldSkipWriteForNoOpPatch() throws Exception {
+            long initialVersion = testUser.getVersion();
+
+            mockMvc.perform(patch("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"first_name\": \"Test\", \"lastName\": \"User\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.firstName").value("Test"));
+            assertEquals(initialVersion, userRepository.findById(testUser.getId()).orElseThrow().getVersion());
+
+            mockMvc.perform(patch("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"first_name\": \"Changed\"}"))
+                    .andExpect(status().isOk());
+            assertEquals(initialVersion + 1, userRepository.findById(testUser.getId()).orElseThrow().getVersion());
+        }
+
+        @Test
+        @DisplayName("PATCH /api/users/me - Should expose variant URLs for an uploaded avatar")
+        void updateUser_ShouldExposeAvatarVariants() throws Exception {
+            mockMvc.perform(patch("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"avatar_url\": \"/api/uploads/abc-123/content\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.avatarVariants.thumbnail").value("/api/uploads/abc-123/variants/thumbnail"))
+                    .andExpect(jsonPath("$.data.avatarVariants.full").value("/api/uploads/abc-123/variants/full"));
+
+            mockMvc.perform(patch("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"avatar_url\": \"https://example.com/me.png\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.avatarVariants").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("PATCH /api/users/me - Should return 400 for an invalid field value")
+        void updateUser_ShouldRejectInvalidDate() throws Exception {
+            mockMvc.perform(patch("/api/users/me")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"date_of_birth\": \"not-a-date\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+        }
+
         @Test
         @DisplayName("PATCH /api/users/me - Should return 401 when not authenticated")
         void updateUser_ShouldReturnUnauthorized() throws Exception {
@@ -257,6 +343,25 @@ class UserControllerTest {
             assertEquals("UpdatedLastName", userInNewTransaction.getLastName());
         }
 
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        @DisplayName("GET /api/users/{id} - Should not serve a cached profile after it is updated")
+        void getUserById_ShouldReflectUpdate() throws Exception {
+            mockMvc.perform(get("/api/users/" + testUser.getId())
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(jsonPath("$.data.firstName").value("Test"));
+
+            mockMvc.perform(patch("/api/users/" + testUser.getId())
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"first_name\": \"Cached\"}"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/users/" + testUser.getId())
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(jsonPath("$.data.firstName").value("Cached"));
+        }
+
         @Test
         @DisplayName("PATCH /api/users/{id} - Should return 403 when authenticated as non-admin")
         void updateUserById_ShouldReturnForbidden() throws Exception {
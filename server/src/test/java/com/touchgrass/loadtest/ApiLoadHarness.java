@@ -0,0 +1,306 @@
+package com.touchgrass.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.touchgrass.TouchgrassServerApplication;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+import com.touchgrass.infrastructure.metrics.DbStatementMetricsFilter;
+import com.touchgrass.loadtest.Thresholds.Metric;
+
+/**
+ * Offline end-to-end load test. Boots the server on H2 (the {@code loadtest}
+ * profile), seeds {@code loadtest.users} accounts, replays a weighted mix of
+ * login, register, {@code GET /api/users/me} and admin
+ * {@code PATCH /api/users/{id}} from {@code loadtest.concurrency} closed-loop
+ * clients, and reports per endpoint:
+ * throughput, p50/p95/p99 latency, JDBC statements per request (from the
+ * server's {@code X-DB-Statements} header) and heap allocated per request on
+ * the server.
+ *
+ * The run fails if any limit in {@code loadtest.thresholds} (default
+ * {@code loadtest/thresholds.properties} on the test classpath) is broken.
+ * Statement and allocation counts are machine-independent and are the limits
+ * meant to catch regressions in CI; latency and throughput limits are loose.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.duration-seconds=60 -Dloadtest.mix=me=50,patch-user=50
+ * </pre>
+ */
+public final class ApiLoadHarness {
+    private static final String PASSWORD = "password";
+
+    enum Endpoint {
+        LOGIN("login"),
+        REGISTER("register"),
+        ME("me"),
+        PATCH_USER("patch-user");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + key);
+        }
+    }
+
+    private final URI baseUri;
+    private final List<User> users;
+    private final List<String> tokens;
+    private final String adminToken;
+    private final Map<Endpoint, Integer> mix;
+    private final int totalWeight;
+    private final AtomicLong registrations = new AtomicLong();
+    private final long runId = System.currentTimeMillis();
+
+    private ApiLoadHarness(URI baseUri, List<User> users, List<String> tokens, String adminToken,
+            Map<Endpoint, Integer> mix) {
+        this.baseUri = baseUri;
+        this.users = users;
+        this.tokens = tokens;
+        this.adminToken = adminToken;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int userCount = Integer.getInteger("loadtest.users", 200);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        Map<Endpoint, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+                "login=10,register=2,me=70,patch-user=18"));
+        Thresholds thresholds = Thresholds.load(System.getProperty("loadtest.thresholds",
+                "loadtest/thresholds.properties"));
+
+        ServerSideMetrics metrics = new ServerSideMetrics();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TouchgrassServerApplication.class)
+                .profiles("loadtest")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + Boolean.getBoolean("loadtest.virtual-threads"))
+                .initializers(ctx -> {
+                    ctx.getBeanFactory().registerSingleton("loadTestMetricsFilter", metrics.filter());
+                })
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ApiLoadHarness harness = seed(context, URI.create("http://localhost:" + port), userCount, mix);
+
+            harness.run(concurrency, warmup);
+            metrics.reset();
+            Map<Endpoint, EndpointResult> results = harness.run(concurrency, duration);
+
+            List<String> violations = report(results, metrics, duration, thresholds);
+            if (!violations.isEmpty()) {
+                violations.forEach(violation -> System.out.println("THRESHOLD FAILED: " + violation));
+                throw new IllegalStateException(violations.size() + " load test threshold(s) violated");
+            }
+            System.out.println("All load test thresholds passed");
+        }
+    }
+
+    private static ApiLoadHarness seed(ConfigurableApplicationContext context, URI baseUri, int userCount,
+            Map<Endpoint, Integer> mix) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(User.builder()
+                    .username("load_" + i)
+                    .email("load_" + i + "@example.com")
+                    .password(passwordHash)
+                    .firstName("Load")
+                    .lastName("User")
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+        User admin = userRepository.save(User.builder()
+                .username("load_admin")
+                .email("load_admin@example.com")
+                .password(passwordHash)
+                .isAdmin(true)
+                .build());
+
+        List<String> tokens = users.stream().map(tokenProvider::generateToken).toList();
+        return new ApiLoadHarness(baseUri, users, tokens, tokenProvider.generateToken(admin), mix);
+    }
+
+    private Map<Endpoint, EndpointResult> run(int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        Map<Endpoint, ConcurrentLinkedQueue<LatencySamples>> samples = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, LongAdder> statements = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            samples.put(endpoint, new ConcurrentLinkedQueue<>());
+            errors.put(endpoint, new LongAdder());
+            statements.put(endpoint, new LongAdder());
+        }
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    Map<Endpoint, LatencySamples> local = new EnumMap<>(Endpoint.class);
+                    for (Endpoint endpoint : Endpoint.values()) {
+                        local.put(endpoint, new LatencySamples());
+                    }
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = pickEndpoint();
+                        HttpRequest request = request(endpoint);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.get(endpoint).increment();
+                            }
+                            response.headers().firstValueAsLong(DbStatementMetricsFilter.HEADER)
+                                    .ifPresent(statements.get(endpoint)::add);
+                        } catch (Exception e) {
+                            errors.get(endpoint).increment();
+                        }
+                        local.get(endpoint).add(System.nanoTime() - start);
+                    }
+                    local.forEach((endpoint, recorded) -> samples.get(endpoint).add(recorded));
+                });
+            }
+        } finally {
+            client.close();
+        }
+
+        Map<Endpoint, EndpointResult> results = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : mix.keySet()) {
+            results.put(endpoint, new EndpointResult(LatencySamples.merge(samples.get(endpoint)),
+                    errors.get(endpoint).sum(), statements.get(endpoint).sum()));
+        }
+        return results;
+    }
+
+    private Endpoint pickEndpoint() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(users.size());
+        return switch (endpoint) {
+            case LOGIN -> json(post("/api/auth/login", endpoint), String.format(
+                    "{\"username\":\"%s\",\"password\":\"%s\"}", users.get(index).getUsername(), PASSWORD));
+            case REGISTER -> {
+                String username = "reg_" + runId + "_" + registrations.incrementAndGet();
+                yield json(post("/api/auth/register", endpoint), String.format(
+                        "{\"username\":\"%s\",\"email\":\"%s@example.com\",\"password\":\"%s\","
+                                + "\"firstName\":\"Load\",\"lastName\":\"User\",\"dateOfBirth\":\"1990-01-01\"}",
+                        username, username, PASSWORD));
+            }
+            case ME -> HttpRequest.newBuilder(baseUri.resolve("/api/users/me"))
+                    .header(ServerSideMetrics.ENDPOINT_HEADER, endpoint.key)
+                    .header("Authorization", "Bearer " + tokens.get(index))
+                    .GET()
+                    .build();
+            case PATCH_USER -> HttpRequest.newBuilder(baseUri.resolve("/api/users/" + users.get(index).getId()))
+                    .header(ServerSideMetrics.ENDPOINT_HEADER, endpoint.key)
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"first_name\":\"Load" + random.nextInt(1000) + "\"}"))
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder post(String path, Endpoint endpoint) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header(ServerSideMetrics.ENDPOINT_HEADER, endpoint.key)
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String body) {
+        return builder.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static List<String> report(Map<Endpoint, EndpointResult> results, ServerSideMetrics metrics,
+            Duration duration, Thresholds thresholds) {
+        List<String> violations = new ArrayList<>();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%-11s %9s %9s %9s %9s %9s %8s %10s %11s %11s%n", "endpoint", "requests", "req/s",
+                "p50 ms", "p95 ms", "p99 ms", "errors", "db stmt/r", "alloc B/r", "alloc MB/s");
+        results.forEach((endpoint, result) -> {
+            ServerSideMetrics.Counters counters = metrics.counters(endpoint.key);
+            long requests = result.latencies().count();
+            double throughput = requests / seconds;
+            double errorRate = requests == 0 ? 0 : result.errors() / (double) requests;
+            double bytesPerRequest = counters.bytesPerRequest();
+            double statementsPerRequest = requests == 0 ? 0 : result.statements() / (double) requests;
+            System.out.printf("%-11s %9d %9.1f %9.2f %9.2f %9.2f %8d %10.2f %11.0f %11.1f%n", endpoint.key,
+                    requests, throughput, result.latencies().percentileMillis(50),
+                    result.latencies().percentileMillis(95), result.latencies().percentileMillis(99),
+                    result.errors(), statementsPerRequest, bytesPerRequest,
+                    bytesPerRequest < 0 ? -1 : bytesPerRequest * throughput / 1_000_000);
+
+            thresholds.check(endpoint.key, Metric.THROUGHPUT, throughput, violations);
+            thresholds.check(endpoint.key, Metric.P50, result.latencies().percentileMillis(50), violations);
+            thresholds.check(endpoint.key, Metric.P95, result.latencies().percentileMillis(95), violations);
+            thresholds.check(endpoint.key, Metric.P99, result.latencies().percentileMillis(99), violations);
+            thresholds.check(endpoint.key, Metric.ERROR_RATE, errorRate, violations);
+            thresholds.check(endpoint.key, Metric.DB_STATEMENTS, statementsPerRequest, violations);
+            thresholds.check(endpoint.key, Metric.ALLOC_BYTES, bytesPerRequest, violations);
+        });
+        return violations;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.of(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no positive weights");
+        }
+        return weights;
+    }
+
+    private record EndpointResult(LatencySamples latencies, long errors, long statements) {
+    }
+}
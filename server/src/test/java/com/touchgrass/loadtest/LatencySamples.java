@@ -0,0 +1,47 @@
+package com.touchgrass.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Growable array of latency samples in nanoseconds. Each worker records into
+ * its own instance; {@link #merge(Collection)} combines them for reporting.
+ */
+final class LatencySamples {
+    private long[] samples = new long[1024];
+    private int count;
+
+    void add(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    int count() {
+        return count;
+    }
+
+    static LatencySamples merge(Collection<LatencySamples> parts) {
+        LatencySamples merged = new LatencySamples();
+        merged.samples = new long[Math.max(1, parts.stream().mapToInt(LatencySamples::count).sum())];
+        for (LatencySamples part : parts) {
+            System.arraycopy(part.samples, 0, merged.samples, merged.count, part.count);
+            merged.count += part.count;
+        }
+        Arrays.sort(merged.samples, 0, merged.count);
+        return merged;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds; only meaningful on a merged
+     * (sorted) instance.
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return samples[Math.max(0, index)] / 1_000_000.0;
+    }
+}
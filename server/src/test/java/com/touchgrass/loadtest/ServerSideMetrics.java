@@ -0,0 +1,81 @@
+package com.touchgrass.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-endpoint heap allocation, measured on the server's request thread.
+ * Requests are attributed by the {@value #ENDPOINT_HEADER} header the harness
+ * sends. (Statement counts come back in the server's own
+ * {@code X-DB-Statements} header.)
+ */
+final class ServerSideMetrics {
+    static final String ENDPOINT_HEADER = "X-Load-Endpoint";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Counters> countersByEndpoint = new ConcurrentHashMap<>();
+
+    Counters counters(String endpoint) {
+        return countersByEndpoint.computeIfAbsent(endpoint, name -> new Counters());
+    }
+
+    void reset() {
+        countersByEndpoint.clear();
+    }
+
+    FilterRegistrationBean<OncePerRequestFilter> filter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(
+                new OncePerRequestFilter() {
+                    @Override
+                    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                            FilterChain chain) throws ServletException, IOException {
+                        String endpoint = request.getHeader(ENDPOINT_HEADER);
+                        if (endpoint == null) {
+                            chain.doFilter(request, response);
+                            return;
+                        }
+                        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                        try {
+                            chain.doFilter(request, response);
+                        } finally {
+                            long allocatedAfter = THREADS.getCurrentThreadAllocatedBytes();
+                            Counters counters = counters(endpoint);
+                            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                                counters.allocatedBytes.add(allocatedAfter - allocatedBefore);
+                                counters.allocationSamples.increment();
+                            }
+                        }
+                    }
+                });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static final class Counters {
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder allocationSamples = new LongAdder();
+
+        /**
+         * Mean bytes allocated per request, or -1 if the JVM could not measure
+         * it (e.g. on virtual threads).
+         */
+        double bytesPerRequest() {
+            long samples = allocationSamples.sum();
+            return samples == 0 ? -1 : allocatedBytes.sum() / (double) samples;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.touchgrass.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+import com.touchgrass.TouchgrassServerApplication;
+
+/**
+ * Compares platform-thread and virtual-thread request execution under the
+ * {@code loadtest} profile. For each mode it boots the server on a random
+ * port, opens {@code loadtest.connections} concurrent keep-alive clients that
+ * alternate {@code GET /api/users/me} and a no-op {@code PATCH /api/users/me}
+ * (one JDBC read each), and prints throughput and latency percentiles.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.touchgrass.loadtest.ThreadModeLoadDriver -Dloadtest.connections=5000 -Dloadtest.duration-seconds=30
+ * </pre>
+ *
+ * Client and server share the JVM, so absolute numbers are pessimistic; the
+ * comparison between modes is what this is for. Both ends of every connection
+ * live in this process, so {@code ulimit -n} must exceed twice the connection
+ * count.
+ */
+public final class ThreadModeLoadDriver {
+    private static final int USERS = 100;
+    private static final int CLIENTS = 16;
+
+    private ThreadModeLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.getInteger("loadtest.connections", 5000);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        String[] modes = System.getProperty("loadtest.modes", "platform,virtual").split(",");
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %10s %12s %10s %10s %10s %8s",
+                "mode", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext context = start(mode.trim())) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                URI baseUri = URI.create("http://localhost:" + port);
+                List<String> tokens = registerUsers(baseUri);
+
+                run(baseUri, tokens, connections, warmup);
+                Result result = run(baseUri, tokens, connections, duration);
+                LatencySamples latencies = result.latencies();
+                report.add(String.format("%-10s %10d %12.1f %10.2f %10.2f %10.2f %8d",
+                        mode.trim(), latencies.count(), latencies.count() / (double) duration.toSeconds(),
+                        latencies.percentileMillis(50), latencies.percentileMillis(99),
+                        latencies.percentileMillis(100), result.errors()));
+            }
+        }
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        return new SpringApplicationBuilder(TouchgrassServerApplication.class)
+                .profiles("loadtest")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL")
+                .run();
+    }
+
+    private static List<String> registerUsers(URI baseUri) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String body = String.format(
+                    "{\"username\":\"load_%d\",\"email\":\"load_%d@example.com\",\"password\":\"password\","
+                            + "\"firstName\":\"Load\",\"lastName\":\"User\",\"dateOfBirth\":\"1990-01-01\"}",
+                    i, i);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Registration failed: " + response.body());
+            }
+            tokens.add(JsonPath.read(response.body(), "$.data.token"));
+        }
+        return tokens;
+    }
+
+    private static Result run(URI baseUri, List<String> tokens, int connections, Duration duration)
+            throws InterruptedException {
+        HttpClient[] clients = new HttpClient[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+        }
+
+        URI meUri = baseUri.resolve("/api/users/me");
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        ConcurrentLinkedQueue<LatencySamples> latencies = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                int worker = i;
+                workers.submit(() -> {
+                    HttpClient client = clients[worker % CLIENTS];
+                    String authorization = "Bearer " + tokens.get(worker % tokens.size());
+                    HttpRequest get = HttpRequest.newBuilder(meUri)
+                            .header("Authorization", authorization)
+                            .GET()
+                            .build();
+                    HttpRequest patch = HttpRequest.newBuilder(meUri)
+                            .header("Authorization", authorization)
+                            .header("Content-Type", "application/json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"first_name\":\"Load\"}"))
+                            .build();
+
+                    LatencySamples samples = new LatencySamples();
+                    boolean sendGet = true;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(sendGet ? get : patch,
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        samples.add(System.nanoTime() - start);
+                        sendGet = !sendGet;
+                    }
+                    latencies.add(samples);
+                });
+            }
+        }
+
+        for (HttpClient client : clients) {
+            client.close();
+        }
+        return new Result(LatencySamples.merge(latencies), errors.sum());
+    }
+
+    private record Result(LatencySamples latencies, long errors) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.touchgrass.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Pass/fail limits loaded from a properties file of
+ * {@code <endpoint>.<metric>=<limit>} entries. {@code throughput} is a lower
+ * bound in requests per second; every other metric is an upper bound.
+ */
+final class Thresholds {
+    enum Metric {
+        THROUGHPUT("throughput", false),
+        P50("p50-ms", true),
+        P95("p95-ms", true),
+        P99("p99-ms", true),
+        ERROR_RATE("error-rate", true),
+        DB_STATEMENTS("db-statements", true),
+        ALLOC_BYTES("alloc-bytes", true);
+
+        private final String key;
+        private final boolean upperBound;
+
+        Metric(String key, boolean upperBound) {
+            this.key = key;
+            this.upperBound = upperBound;
+        }
+    }
+
+    private final Properties limits;
+
+    private Thresholds(Properties limits) {
+        this.limits = limits;
+    }
+
+    static Thresholds load(String location) throws IOException {
+        Properties limits = new Properties();
+        Path path = Path.of(location);
+        try (InputStream in = Files.exists(path)
+                ? Files.newInputStream(path)
+                : Thresholds.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                throw new IOException("Thresholds file not found: " + location);
+            }
+            limits.load(in);
+        }
+        return new Thresholds(limits);
+    }
+
+    /**
+     * Adds a description to {@code violations} if the measured value breaks its
+     * limit. A metric without a configured limit always passes, as does an
+     * unmeasured (negative) value.
+     */
+    void check(String endpoint, Metric metric, double value, List<String> violations) {
+        String limit = limits.getProperty(endpoint + "." + metric.key);
+        if (limit == null || value < 0) {
+            return;
+        }
+        double bound = Double.parseDouble(limit.trim());
+        boolean failed = metric.upperBound ? value > bound : value < bound;
+        if (failed) {
+            violations.add(String.format("%s %s = %.2f, %s %s", endpoint, metric.key, value,
+                    metric.upperBound ? "max" : "min", limit.trim()));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.touchgrass.loadtest;
+
+import java.io.InputStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.touchgrass.TouchgrassServerApplication;
+import com.touchgrass.domain.user.model.User;
+import com.touchgrass.domain.user.repository.UserRepository;
+import com.touchgrass.infrastructure.auth.JwtTokenProvider;
+
+/**
+ * Sends {@code loadtest.uploads} concurrent single-request photo uploads of
+ * {@code loadtest.upload-size-mb} each and reports throughput, status codes,
+ * and peak heap and direct memory. The heap figure that matters is the peak
+ * live set (heap in use right after each GC): it should stay near the idle
+ * baseline however many uploads are in flight, because bodies are streamed
+ * through a fixed buffer pool rather than read into memory.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.touchgrass.loadtest.UploadLoadDriver -Dloadtest.uploads=500 -Dloadtest.upload-size-mb=10
+ * </pre>
+ *
+ * Client and server share the JVM, so the client's own send buffers are in
+ * the figures too.
+ */
+public final class UploadLoadDriver {
+    private static final int CLIENTS = 16;
+
+    private UploadLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int uploads = Integer.getInteger("loadtest.uploads", 500);
+        long size = Long.getLong("loadtest.upload-size-mb", 10) * 1024 * 1024;
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TouchgrassServerApplication.class)
+                .profiles("loadtest")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + System.getProperty("loadtest.virtual-threads", "true"))
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uploadUri = URI.create("http://localhost:" + port + "/api/uploads");
+            User user = context.getBean(UserRepository.class).save(User.builder()
+                    .username("upload_load")
+                    .email("upload_load@example.com")
+                    .password("unused")
+                    .build());
+            String authorization = "Bearer " + context.getBean(JwtTokenProvider.class).generateToken(user);
+
+            MemorySampler sampler = new MemorySampler();
+            System.gc();
+            long baseline = sampler.liveHeap();
+            Thread samplerThread = Thread.ofPlatform().daemon().start(sampler);
+
+            HttpClient[] clients = new HttpClient[CLIENTS];
+            for (int i = 0; i < CLIENTS; i++) {
+                clients[i] = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+            }
+
+            Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+            ConcurrentLinkedQueue<LatencySamples> latencies = new ConcurrentLinkedQueue<>();
+            long start = System.nanoTime();
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < uploads; i++) {
+                    int upload = i;
+                    workers.submit(() -> {
+                        HttpRequest request = HttpRequest.newBuilder(uploadUri)
+                                .header("Authorization", authorization)
+                                .header("Content-Type", "image/jpeg")
+                                .timeout(Duration.ofMinutes(10))
+                                .POST(HttpRequest.BodyPublishers.fromPublisher(
+                                        HttpRequest.BodyPublishers.ofInputStream(
+                                                () -> new PatternInputStream(size, upload)), size))
+                                .build();
+                        LatencySamples samples = new LatencySamples();
+                        long sent = System.nanoTime();
+                        int status;
+                        try {
+                            status = clients[upload % CLIENTS].send(request, HttpResponse.BodyHandlers.discarding())
+                                    .statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        samples.add(System.nanoTime() - sent);
+                        latencies.add(samples);
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sampler.stop();
+            samplerThread.join();
+            for (HttpClient client : clients) {
+                client.close();
+            }
+
+            LatencySamples merged = LatencySamples.merge(latencies);
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+            System.out.printf("uploads=%d size=%dMB seconds=%.1f throughput=%.1fMB/s p50=%.0fms p99=%.0fms%n",
+                    uploads, size >> 20, seconds, uploads * (size >> 20) / seconds,
+                    merged.percentileMillis(50), merged.percentileMillis(99));
+            System.out.println("statuses (-1 = client error): " + statusCounts);
+            System.out.printf("live heap: baseline=%dMB peak=%dMB; heap in use peak=%dMB; direct peak=%dMB%n",
+                    baseline >> 20, sampler.peakLiveHeap.get() >> 20, sampler.peakHeapInUse.get() >> 20,
+                    sampler.peakDirect.get() >> 20);
+        }
+    }
+
+    /** Samples heap and direct memory every 20ms until stopped. */
+    private static final class MemorySampler implements Runnable {
+        private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        private final BufferPoolMXBean direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .orElseThrow();
+        private final AtomicLong peakLiveHeap = new AtomicLong();
+        private final AtomicLong peakHeapInUse = new AtomicLong();
+        private final AtomicLong peakDirect = new AtomicLong();
+        private volatile boolean running = true;
+
+        @Override
+        public void run() {
+            while (running) {
+                peakLiveHeap.accumulateAndGet(liveHeap(), Math::max);
+                peakHeapInUse.accumulateAndGet(
+                        ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+                peakDirect.accumulateAndGet(direct.getMemoryUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        /** Heap in use just after the most recent collection of each pool. */
+        long liveHeap() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                MemoryUsage afterGc = pool.getCollectionUsage();
+                used += afterGc != null ? afterGc.getUsed() : pool.getUsage().getUsed();
+            }
+            return used;
+        }
+
+        void stop() {
+            running = false;
+        }
+    }
+
+    /** A deterministic, distinct byte sequence per upload, generated on the fly. */
+    private static final class PatternInputStream extends InputStream {
+        private final long length;
+        private final int seed;
+        private long position;
+
+        PatternInputStream(long length, int seed) {
+            this.length = length;
+            this.seed = seed;
+        }
+
+        @Override
+        public int read() {
+            return position < length ? next() : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) {
+            if (position >= length) {
+                return -1;
+            }
+            int n = (int) Math.min(count, length - position);
+            for (int i = 0; i < n; i++) {
+                buffer[offset + i] = (byte) next();
+            }
+            return n;
+        }
+
+        private int next() {
+            long x = (position++ + 1) * 0x9E3779B97F4A7C15L + seed;
+            return (int) (x ^ (x >>> 29)) & 0xFF;
+        }
+    }
+}
@@ -98,7 +98,7 @@ setup_dependencies() {
     
     if ! command_exists java; then
         echo -e "${YELLOW}Installing Java...${NC}"
-        brew install openjdk@17
+        brew install openjdk@21
     fi
     
     if ! command_exists flutter; then